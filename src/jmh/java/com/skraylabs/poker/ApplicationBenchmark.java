@@ -0,0 +1,46 @@
+package com.skraylabs.poker;
+
+import com.skraylabs.poker.model.BoardFormatException;
+import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.GameStateFactory;
+import com.skraylabs.poker.model.GameStateFormatException;
+import com.skraylabs.poker.model.PocketFormatException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the path that {@link Application} takes for one game: parse the input, calculate
+ * every player's outcome probabilities, and format them for output.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ApplicationBenchmark {
+
+  /**
+   * Game at the river, the turn and the flop.
+   */
+  @Param({"5d 8c Ah Qh 2h\n7h 2c\nAc Kd\n5s 5c", "5d 8c Ah Qh\n7h 2c\nAc Kd\n5s 5c",
+      "5d 8c Ah\n7h 2c\nAc Kd\n5s 5c"})
+  public String input;
+
+  @Benchmark
+  public String formatGame() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    return Application.formatGame(GameStateFactory.createGameStateFromString(input));
+  }
+}
@@ -0,0 +1,77 @@
+package com.skraylabs.poker;
+
+import com.skraylabs.poker.model.GameStateGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of batch mode on a {@link GameStateGenerator} corpus: a fixed, seeded mix of flop,
+ * turn and river games at a 6-player table, one of whose Pockets is unknown.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BatchPipelineBenchmark {
+
+  private static final long SEED = 20160501L;
+  private static final int GAMES_PER_STREET = 100;
+
+  @Param({"1", "4"})
+  public int workers;
+
+  private String corpus;
+  private PrintStream discard;
+
+  /**
+   * Generate the corpus.
+   *
+   * @throws IOException never; the corpus is written to memory
+   */
+  @Setup
+  public void setUp() throws IOException {
+    GameStateGenerator generator = new GameStateGenerator(SEED);
+    StringWriter output = new StringWriter();
+    for (int boardSize : new int[] {3, 4, 5}) {
+      generator.writeBatch(output, GAMES_PER_STREET, boardSize, 6, 1);
+    }
+    corpus = output.toString();
+    discard = new PrintStream(new OutputStream() {
+      @Override
+      public void write(int value) {}
+
+      @Override
+      public void write(byte[] bytes, int offset, int length) {}
+    });
+  }
+
+  /**
+   * Evaluate the whole corpus.
+   *
+   * @return whether every game state was valid
+   * @throws InterruptedException if the benchmark thread is interrupted
+   */
+  @Benchmark
+  public boolean process() throws InterruptedException {
+    return new BatchPipeline(workers).process(new StringReader(corpus), discard);
+  }
+}
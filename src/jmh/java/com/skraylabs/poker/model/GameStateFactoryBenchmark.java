@@ -0,0 +1,37 @@
+package com.skraylabs.poker.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of parsing a {@link GameState} with
+ * {@link GameStateFactory#createGameStateFromString(String)}, for a small and a full table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GameStateFactoryBenchmark {
+
+  @Param({"5d 8c Ah Qh\n7h 2c\nAc Kd\n5s 5c",
+      "5d 8c Ah Qh 2h\n7h 2c\nAc Kd\n5s 5c\n\n9s 9d\nTc Js\n3d 4d\n6h 6s\nKh Ks\n7c 8d"})
+  public String input;
+
+  @Benchmark
+  public GameState createGameStateFromString() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    return GameStateFactory.createGameStateFromString(input);
+  }
+}
@@ -0,0 +1,73 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.CardSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one player's board enumeration with
+ * {@link OutcomeCalculator#countOutcomes(int, long, long[], int, int, SuitSymmetry, long[])}, at
+ * each street, for every outcome at once. Enumeration is set up as {@link OutcomeCalculator} sets
+ * it up, suit symmetry included, but without the pre-flop lookup table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CountOutcomesBenchmark {
+
+  private static final int ALL_OUTCOMES = (1 << Outcome.values().length) - 1;
+  private static final int BOARD_SIZE = 5;
+
+  /**
+   * Board dealt so far; 5, 4, 3 or no cards.
+   */
+  @Param({"7h 8h 9c Qd 2s", "7h 8h 9c Qd", "7h 8h 9c", ""})
+  public String board;
+
+  private long hand;
+  private long[] deck;
+  private int cardsToDeal;
+  private SuitSymmetry symmetry;
+
+  /**
+   * Set up the hand and deck of the street.
+   *
+   * @throws CardFormatException never; the cards are constants
+   */
+  @Setup
+  public void setUp() throws CardFormatException {
+    long boardCards = CardSet.parse(board);
+    hand = boardCards | CardSet.parse("Th Jh");
+    deck = OutcomeCalculator.makeDeckOfUndealtCards(hand);
+    cardsToDeal = BOARD_SIZE - CardSet.size(boardCards);
+    symmetry = SuitSymmetry.of(hand);
+  }
+
+  /**
+   * Enumerate every board left to deal.
+   *
+   * @return number of boards on which the hand makes each outcome
+   */
+  @Benchmark
+  public long[] countOutcomes() {
+    long[] wins = new long[Outcome.values().length];
+    OutcomeCalculator.countOutcomes(ALL_OUTCOMES, hand, deck, 0, cardsToDeal, symmetry, wins);
+    return wins;
+  }
+}
@@ -0,0 +1,115 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.CardSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each {@link OutcomeChecker} predicate, and of
+ * {@link OutcomeChecker#outcomeFlags(long)}, on random 5- and 7-card hands.
+ *
+ * <p>
+ * Each invocation checks the next hand of a fixed, seeded table, so that branch prediction cannot
+ * learn a single hand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OutcomeCheckerBenchmark {
+
+  private static final int HAND_COUNT = 1024;
+
+  @Param({"5", "7"})
+  public int handSize;
+
+  private long[] hands;
+  private int next;
+
+  /**
+   * Deal the table of hands.
+   */
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    hands = new long[HAND_COUNT];
+    for (int i = 0; i < HAND_COUNT; ++i) {
+      long hand = CardSet.EMPTY;
+      while (CardSet.size(hand) < handSize) {
+        hand |= 1L << random.nextInt(CardSet.DECK_SIZE);
+      }
+      hands[i] = hand;
+    }
+  }
+
+  private OutcomeChecker nextChecker() {
+    next = (next + 1) & (HAND_COUNT - 1);
+    return new OutcomeChecker(hands[next]);
+  }
+
+  @Benchmark
+  public boolean hasTwoOfAKind() {
+    return nextChecker().hasTwoOfAKind();
+  }
+
+  @Benchmark
+  public boolean hasTwoPair() {
+    return nextChecker().hasTwoPair();
+  }
+
+  @Benchmark
+  public boolean hasThreeOfAKind() {
+    return nextChecker().hasThreeOfAKind();
+  }
+
+  @Benchmark
+  public boolean hasStraight() {
+    return nextChecker().hasStraight();
+  }
+
+  @Benchmark
+  public boolean hasFlush() {
+    return nextChecker().hasFlush();
+  }
+
+  @Benchmark
+  public boolean hasFullHouse() {
+    return nextChecker().hasFullHouse();
+  }
+
+  @Benchmark
+  public boolean hasFourOfAKind() {
+    return nextChecker().hasFourOfAKind();
+  }
+
+  @Benchmark
+  public boolean hasStraightFlush() {
+    return nextChecker().hasStraightFlush();
+  }
+
+  @Benchmark
+  public boolean hasRoyalFlush() {
+    return nextChecker().hasRoyalFlush();
+  }
+
+  @Benchmark
+  public int outcomeFlags() {
+    next = (next + 1) & (HAND_COUNT - 1);
+    return OutcomeChecker.outcomeFlags(hands[next]);
+  }
+}
@@ -2,13 +2,19 @@ package com.skraylabs.poker;
 
 import com.skraylabs.poker.model.BoardFormatException;
 import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.CompactGameState;
 import com.skraylabs.poker.model.GameState;
 import com.skraylabs.poker.model.GameStateFactory;
 import com.skraylabs.poker.model.GameStateFormatException;
+import com.skraylabs.poker.model.GameStateReader;
 import com.skraylabs.poker.model.Pocket;
 import com.skraylabs.poker.model.PocketFormatException;
+import com.skraylabs.poker.outcome.Equity;
+import com.skraylabs.poker.outcome.OpponentEquityCalculator;
 import com.skraylabs.poker.outcome.Outcome;
+import com.skraylabs.poker.outcome.OutcomeCache;
 import com.skraylabs.poker.outcome.OutcomeCalculator;
+import com.skraylabs.poker.outcome.SevenCardTable;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -19,6 +25,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -26,17 +33,53 @@ public class Application {
 
   static final String MSG_TOO_FEW_ARGS = "Too few arguments";
   static final String MSG_TOO_MANY_ARGS = "Too many arguments";
-  static final String MSG_USAGE = "Usage: PokerCalculator filepath";
+  static final String MSG_MISSING_FILEPATH = "Missing filepath";
+  static final String MSG_OPTION_NOT_APPLICABLE = "Option %s does not apply to this mode";
+  static final String MSG_USAGE =
+      "Usage: PokerCalculator [--batch [--workers=N] [--cache=BYTES] | --opponents]"
+          + " [--table=FILE] filepath\n"
+          + "       PokerCalculator --server=PORT [--workers=N] [--timeout=MILLISECONDS]"
+          + " [--cache=BYTES] [--table=FILE]";
   static final String MSG_INVALID_INPUT = "Input is formatted incorrectly";
+  static final String MSG_READ_FAILED = "Input could not be read";
+  static final String MSG_CALCULATION_FAILED = "Calculation failed";
   static final String MSG_FILE_NOT_OPENED = "File [%s] could not be opened";
+  static final String MSG_GAME = "Game %d:";
+  static final String MSG_INVALID_WORKERS = "Number of workers must be a positive integer";
+  static final String MSG_INVALID_PORT = "Port must be an integer in range [0, 65535]";
+  static final String MSG_INVALID_TIMEOUT = "Timeout must be a positive number of milliseconds";
+  static final String MSG_INVALID_CACHE = "Cache size must be a non-negative number of bytes";
+  static final String MSG_SERVER_NOT_STARTED = "Server could not listen on port %d";
+  static final String MSG_TABLE_NOT_LOADED = "Seven-card table [%s] could not be loaded";
+  static final String OPTION_BATCH = "--batch";
+  static final String OPTION_WORKERS = "--workers=";
+  static final String OPTION_SERVER = "--server=";
+  static final String OPTION_TIMEOUT = "--timeout=";
+  static final String OPTION_CACHE = "--cache=";
+  static final String OPTION_TABLE = "--table=";
+  static final String OPTION_OPPONENTS = "--opponents";
+  /**
+   * Seed of the random deals of {@link #OPTION_OPPONENTS} mode, so that a game is always reported
+   * with the same equity.
+   */
+  static final long OPPONENTS_SEED = 0L;
+  static final int MAX_PORT = 65535;
   static final int ERROR_CODE_BAD_ARGS = 1;
   static final int ERROR_INVALID_INPUT = 2;
   static final int ERROR_FILE_NOT_OPENED = 3;
+  static final int ERROR_SERVER_NOT_STARTED = 4;
 
   private static Application app;
 
   private String errorMessage;
   private String filepath;
+  private boolean batch;
+  private boolean opponents;
+  private int workers = Runtime.getRuntime().availableProcessors();
+  private int port = -1;
+  private long timeoutMillis = CalculationServer.DEFAULT_TIMEOUT_MILLIS;
+  private long cacheBytes = OutcomeCache.DEFAULT_BYTE_BUDGET;
+  private String tablePath;
 
   /**
    * Access the filepath where Application will attempt to read input from.
@@ -52,10 +95,80 @@ public class Application {
     app.execute(args);
   }
 
+  /**
+   * Access whether Application reads many game states from its input file, rather than one.
+   *
+   * @return true if the input file is read in batch mode
+   */
+  public boolean isBatch() {
+    return batch;
+  }
+
+  /**
+   * Access whether Application reports the equity of known players against random opponents,
+   * rather than outcome probabilities.
+   *
+   * @return true if every player whose Pocket is unknown is treated as a random opponent
+   */
+  public boolean isOpponents() {
+    return opponents;
+  }
+
+  /**
+   * Access the port Application listens on in server mode.
+   *
+   * @return port number; or -1 if Application does not run as a server
+   */
+  public int getPort() {
+    return port;
+  }
+
+  public long getTimeoutMillis() {
+    return timeoutMillis;
+  }
+
+  /**
+   * Access the byte budget of the {@link OutcomeCache} used in batch or server mode.
+   *
+   * @return estimated size of cached results, in bytes; 0 if results are not cached
+   */
+  public long getCacheBytes() {
+    return cacheBytes;
+  }
+
+  /**
+   * Access the file of the {@link SevenCardTable} that seven-card hands are looked up in.
+   *
+   * @return path to the table file; or {@code null} if hands are evaluated without a table
+   */
+  public String getTablePath() {
+    return tablePath;
+  }
+
+  /**
+   * Access the number of threads that calculate outcome probabilities in batch or server mode.
+   *
+   * @return number of worker threads; by default, the number of available processors
+   */
+  public int getWorkers() {
+    return workers;
+  }
+
   /**
    * Execute application
    *
-   * @param args should be exactly 1 string specifying the input filepath to read from.
+   * @param args should be exactly 1 string specifying the input filepath to read from, optionally
+   *        preceded by {@link #OPTION_BATCH} to read a batch of game states separated by
+   *        {@link GameStateReader#DELIMITER} lines, and by {@link #OPTION_WORKERS} followed by
+   *        the number of threads to evaluate the batch on. Alternatively, {@link #OPTION_SERVER}
+   *        followed by a port number, and optionally {@link #OPTION_WORKERS} and
+   *        {@link #OPTION_TIMEOUT}, to run a {@link CalculationServer} instead of reading a file.
+   *        In both batch and server mode, {@link #OPTION_CACHE} followed by a number of bytes sets
+   *        the budget of the {@link OutcomeCache}. In any mode, {@link #OPTION_TABLE} followed by
+   *        a filepath maps a {@link SevenCardTable} to look seven-card hands up in. In single-game
+   *        mode, {@link #OPTION_OPPONENTS} reports the equity of each known player against random
+   *        opponents in the unknown seats. An option that does not apply to the selected mode is
+   *        rejected.
    */
   public void execute(String... args) {
     if (!validate(args)) {
@@ -63,9 +176,14 @@ public class Application {
       System.out.println(MSG_USAGE);
       exit(ERROR_CODE_BAD_ARGS);
       return;
+    } else if (tablePath != null && !loadTable()) {
+      return;
+    } else if (port >= 0) {
+      executeServer();
+      return;
     } else {
       // Create input stream from filepath
-      this.filepath = args[0];
+      this.filepath = args[args.length - 1];
       InputStream input = null;
       try {
         input = createInputStream();
@@ -76,6 +194,11 @@ public class Application {
         return;
       }
 
+      if (batch) {
+        executeBatch(input);
+        return;
+      }
+
       // Process input from file into a GameState
       BufferedReader reader = new BufferedReader(new InputStreamReader(input));
       String inputString = reader.lines().collect(Collectors.joining("\n"));
@@ -92,16 +215,7 @@ public class Application {
       }
 
       // Calculate outcome probabilities and print output
-      OutcomeCalculator calculator = new OutcomeCalculator(gameState);
-      Pocket[] pockets = gameState.getPockets();
-      for (int i = 0; i < pockets.length; ++i) {
-        Pocket pocket = pockets[i];
-        if (pocket != null) {
-          System.out.println(String.format("Player %d:", i + 1));
-          System.out.println(formatOutputForPlayer(calculator, i));
-          System.out.println();
-        }
-      }
+      System.out.print(opponents ? formatEquity(gameState) : formatGame(gameState));
 
       // Close input stream
       if (input != null) {
@@ -114,6 +228,130 @@ public class Application {
     }
   }
 
+  /**
+   * Helper method to evaluate a batch of game states on a {@link BatchPipeline}, and print the
+   * outcome probabilities of each one in input order. A game state that is formatted incorrectly,
+   * cannot be read, or whose calculation fails, is reported and skipped; the application then
+   * exits with {@link #ERROR_INVALID_INPUT} once every other game state has been processed.
+   *
+   * @param input stream of game states separated by {@link GameStateReader#DELIMITER} lines
+   */
+  private void executeBatch(InputStream input) {
+    boolean valid;
+    try {
+      BatchPipeline pipeline = new BatchPipeline(workers, createCache());
+      valid = pipeline.process(new InputStreamReader(input), System.out);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    if (!valid) {
+      exit(ERROR_INVALID_INPUT);
+    }
+  }
+
+  /**
+   * Helper method to run a {@link CalculationServer} until the process is stopped.
+   */
+  private void executeServer() {
+    try (CalculationServer server =
+        new CalculationServer(port, workers, timeoutMillis, createCache())) {
+      System.out.println(String.format(CalculationServer.MSG_LISTENING, server.getPort()));
+      server.serve();
+    } catch (IOException e) {
+      errorMessage = String.format(MSG_SERVER_NOT_STARTED, port);
+      System.out.println(errorMessage);
+      exit(ERROR_SERVER_NOT_STARTED);
+    }
+  }
+
+  /**
+   * Helper method to map the seven-card table. Will report the failure and exit with
+   * {@link #ERROR_FILE_NOT_OPENED} if it cannot be mapped.
+   *
+   * @return true if the table is loaded, false otherwise
+   */
+  private boolean loadTable() {
+    try {
+      SevenCardTable.load(tablePath);
+      return true;
+    } catch (IOException e) {
+      errorMessage = String.format(MSG_TABLE_NOT_LOADED, tablePath);
+      System.out.println(errorMessage);
+      exit(ERROR_FILE_NOT_OPENED);
+      return false;
+    }
+  }
+
+  /**
+   * Helper method to create the cache of batch or server mode.
+   *
+   * @return a cache with a budget of {@link #getCacheBytes()}; or {@code null} if it is 0
+   */
+  private OutcomeCache createCache() {
+    return cacheBytes > 0 ? new OutcomeCache(cacheBytes) : null;
+  }
+
+  /**
+   * Helper method to calculate and format the showdown equity of every player whose Pocket is
+   * known, against a random opponent in each seat whose Pocket is unknown.
+   *
+   * @param gameState game to evaluate
+   * @return formatted string describing the win, tie and pot share percentages of each known
+   *         player
+   */
+  static String formatEquity(GameState gameState) {
+    Equity[] equities = new OpponentEquityCalculator(gameState, OPPONENTS_SEED)
+        .equityForKnownPlayers();
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < equities.length; ++i) {
+      Equity equity = equities[i];
+      if (equity != null) {
+        builder.append(String.format("Player %d:\n", i + 1));
+        builder.append(String.format("Win: %d%%\n", Math.round(100 * equity.getWinPercentage())));
+        builder.append(String.format("Tie: %d%%\n", Math.round(100 * equity.getTiePercentage())));
+        builder.append(String.format("Share: %d%%\n", Math.round(100 * equity.getPotShare())));
+        builder.append("\n");
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Helper method to calculate and format the outcome probabilities of every player in a game.
+   *
+   * @param gameState game to evaluate
+   * @return formatted string describing the probability for each poker hand, for each player
+   */
+  static String formatGame(GameState gameState) {
+    return formatGame(gameState, null);
+  }
+
+  /**
+   * Helper method to look up or calculate, and format, the outcome probabilities of every player
+   * in a game.
+   *
+   * @param gameState game to evaluate
+   * @param cache cache to look probabilities up in; {@code null} to always calculate them
+   * @return formatted string describing the probability for each poker hand, for each player
+   */
+  static String formatGame(GameState gameState, OutcomeCache cache) {
+    List<Map<Outcome, Double>> probabilities = cache == null
+        ? new OutcomeCalculator(gameState).allOutcomesForAllPlayers()
+        : cache.allOutcomesForAllPlayers(CompactGameState.fromGameState(gameState));
+    Pocket[] pockets = gameState.getPockets();
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < pockets.length; ++i) {
+      Pocket pocket = pockets[i];
+      if (pocket != null) {
+        builder.append(String.format("Player %d:\n", i + 1));
+        builder.append(formatOutput(probabilities.get(i)));
+        builder.append("\n\n");
+      }
+    }
+    return builder.toString();
+  }
+
   /**
    * Terminate execution with a given error code.
    *
@@ -131,17 +369,117 @@ public class Application {
    * @return true if valid, false otherwise
    */
   private boolean validate(String[] args) {
+    boolean server = false;
+    boolean batchMode = false;
+    for (String arg : args) {
+      server |= arg.startsWith(OPTION_SERVER);
+      batchMode |= OPTION_BATCH.equals(arg);
+    }
     boolean result = true;
     if (args.length < 1) {
       errorMessage = MSG_TOO_FEW_ARGS;
       result = false;
-    } else if (args.length > 1) {
+    }
+    // Every argument must be an option, apart from the filepath that ends them unless serving
+    int optionCount = server ? args.length : args.length - 1;
+    for (int i = 0; result && i < optionCount; ++i) {
+      result = parseOption(args[i]) && appliesToMode(args[i], server, batchMode);
+    }
+    if (result && !server && args[args.length - 1].startsWith("--")) {
+      errorMessage = MSG_MISSING_FILEPATH;
+      result = false;
+    }
+    return result;
+  }
+
+  /**
+   * Helper method to check that a command line option applies to the selected mode. Will set
+   * errorMessage to an appropriate value if it does not.
+   *
+   * @param option command line option that parsed successfully
+   * @param server true if Application runs as a server
+   * @param batchMode true if Application reads a batch of game states
+   * @return true if the option applies, false otherwise
+   */
+  private boolean appliesToMode(String option, boolean server, boolean batchMode) {
+    boolean result = true;
+    if (OPTION_BATCH.equals(option)) {
+      result = !server;
+    } else if (option.startsWith(OPTION_WORKERS) || option.startsWith(OPTION_CACHE)) {
+      result = server || batchMode;
+    } else if (option.startsWith(OPTION_TIMEOUT)) {
+      result = server;
+    } else if (OPTION_OPPONENTS.equals(option)) {
+      result = !server && !batchMode;
+    }
+    if (!result) {
+      errorMessage = String.format(MSG_OPTION_NOT_APPLICABLE, option);
+    }
+    return result;
+  }
+
+  /**
+   * Helper method to parse one command line option. Will set errorMessage to an appropriate value
+   * if parsing fails.
+   *
+   * @param option command line argument preceding the filepath
+   * @return true if valid, false otherwise
+   */
+  private boolean parseOption(String option) {
+    boolean result = true;
+    if (OPTION_BATCH.equals(option)) {
+      batch = true;
+    } else if (option.startsWith(OPTION_WORKERS)) {
+      workers = (int) parseNumber(option.substring(OPTION_WORKERS.length()), Integer.MAX_VALUE);
+      if (workers < 1) {
+        errorMessage = MSG_INVALID_WORKERS;
+        result = false;
+      }
+    } else if (option.startsWith(OPTION_SERVER)) {
+      port = (int) parseNumber(option.substring(OPTION_SERVER.length()), MAX_PORT);
+      if (port < 0) {
+        errorMessage = MSG_INVALID_PORT;
+        result = false;
+      }
+    } else if (option.startsWith(OPTION_TIMEOUT)) {
+      timeoutMillis = parseNumber(option.substring(OPTION_TIMEOUT.length()), Long.MAX_VALUE);
+      if (timeoutMillis < 1) {
+        errorMessage = MSG_INVALID_TIMEOUT;
+        result = false;
+      }
+    } else if (option.startsWith(OPTION_CACHE)) {
+      cacheBytes = parseNumber(option.substring(OPTION_CACHE.length()), Long.MAX_VALUE);
+      if (cacheBytes < 0) {
+        errorMessage = MSG_INVALID_CACHE;
+        result = false;
+      }
+    } else if (option.startsWith(OPTION_TABLE)) {
+      tablePath = option.substring(OPTION_TABLE.length());
+    } else if (OPTION_OPPONENTS.equals(option)) {
+      opponents = true;
+    } else {
       errorMessage = MSG_TOO_MANY_ARGS;
       result = false;
     }
     return result;
   }
 
+  /**
+   * Helper method to parse the value of a numeric option.
+   *
+   * @param value text following the option name
+   * @param max largest acceptable value
+   * @return the value; or -1 if it is not a number in range [0, {@code max}]
+   */
+  private static long parseNumber(String value, long max) {
+    try {
+      long result = Long.parseLong(value);
+      return result >= 0 && result <= max ? result : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
   /**
    * Helper method to create an input stream from which to read game state.
    *
@@ -169,7 +507,20 @@ public class Application {
    * @return formatted string describing the probability for each poker hand
    */
   static String formatOutputForPlayer(OutcomeCalculator calculator, int playerIndex) {
-    Map<Outcome, Double> probabilities = calculator.allOutcomesForAPlayer(playerIndex);
+    return formatOutput(calculator.allOutcomesForAPlayer(playerIndex));
+  }
+
+  /**
+   * Helper method to format calculated output values for a player.
+   *
+   * <p>
+   * Probability is expressed as percentages rounded to the nearest ones place. -- e.g. 0.855 is
+   * formatted as "86%"
+   *
+   * @param probabilities probability of each kind of poker hand for the player
+   * @return formatted string describing the probability for each poker hand
+   */
+  static String formatOutput(Map<Outcome, Double> probabilities) {
     StringBuilder builder = new StringBuilder();
 
     long probability = Math.round(100 * probabilities.get(Outcome.ROYAL_FLUSH));
@@ -0,0 +1,221 @@
+package com.skraylabs.poker;
+
+import com.skraylabs.poker.model.BoardFormatException;
+import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.GameStateFormatException;
+import com.skraylabs.poker.model.GameStateReader;
+import com.skraylabs.poker.model.PocketFormatException;
+import com.skraylabs.poker.outcome.OutcomeCache;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Evaluates a batch of game states as a pipeline of three stages: one thread parses game states,
+ * a number of worker threads calculate and format their outcome probabilities, and the calling
+ * thread prints the results.
+ *
+ * <p>
+ * Stages are connected by bounded queues, so a fast stage blocks rather than buffering without
+ * limit when the next stage falls behind. Workers finish out of order; each game state carries a
+ * sequence number, and results are printed in input order. At most {@link #getCapacity()} game
+ * states are in flight at a time, counting those waiting to be printed.
+ */
+class BatchPipeline {
+
+  /**
+   * Game states that may be in flight for each worker.
+   */
+  static final int CAPACITY_PER_WORKER = 4;
+
+  private final int workers;
+  private final int capacity;
+  private final OutcomeCache cache;
+
+  /**
+   * A game state on its way through the pipeline, or a signal that a stage has finished if
+   * {@code sequence} is negative.
+   */
+  private static class Job {
+    final int sequence;
+    final GameState gameState;
+    String output;
+    boolean valid;
+
+    Job(int sequence, GameState gameState) {
+      this.sequence = sequence;
+      this.gameState = gameState;
+    }
+  }
+
+  private static final Job END = new Job(-1, null);
+
+  /**
+   * Initializing constructor for a pipeline with {@link #CAPACITY_PER_WORKER} game states in
+   * flight for each worker.
+   *
+   * @param workers number of threads that calculate outcome probabilities; at least 1
+   */
+  BatchPipeline(int workers) {
+    this(workers, null);
+  }
+
+  /**
+   * Initializing constructor for a pipeline with {@link #CAPACITY_PER_WORKER} game states in
+   * flight for each worker, whose workers share a cache of outcome probabilities.
+   *
+   * @param workers number of threads that calculate outcome probabilities; at least 1
+   * @param cache cache to look probabilities up in; {@code null} to always calculate them
+   */
+  BatchPipeline(int workers, OutcomeCache cache) {
+    if (workers < 1) {
+      throw new IllegalArgumentException("Parameter \"workers\" must be at least 1.");
+    }
+    this.workers = workers;
+    this.capacity = workers * CAPACITY_PER_WORKER;
+    this.cache = cache;
+  }
+
+  int getWorkers() {
+    return workers;
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Read game states from {@code input} and print the outcome probabilities of each one to
+   * {@code output}, in input order. A game state that is formatted incorrectly, or whose
+   * calculation fails, is reported in place of its probabilities.
+   *
+   * @param input stream of game states separated by {@link GameStateReader#DELIMITER} lines
+   * @param output stream to print to
+   * @return {@code true} if every game state was formatted correctly and calculated;
+   *         {@code false} otherwise
+   * @throws InterruptedException if the calling thread is interrupted while waiting for results
+   */
+  boolean process(Reader input, PrintStream output) throws InterruptedException {
+    BlockingQueue<Job> parsed = new ArrayBlockingQueue<>(capacity + workers);
+    BlockingQueue<Job> calculated = new ArrayBlockingQueue<>(capacity + workers);
+    Semaphore inFlight = new Semaphore(capacity);
+    ExecutorService threads = Executors.newFixedThreadPool(workers + 1);
+    try {
+      threads.execute(() -> parse(input, parsed, inFlight));
+      for (int i = 0; i < workers; ++i) {
+        threads.execute(() -> calculate(parsed, calculated));
+      }
+      return print(calculated, output, inFlight);
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  /**
+   * Helper method for the first stage: read game states and queue them in input order, then
+   * queue one {@link #END} signal for each worker. The signals are queued even if reading fails
+   * unexpectedly, so that the pipeline still drains; the failure is then reported in place of the
+   * next game state, and its cause is printed to standard error.
+   */
+  private void parse(Reader input, BlockingQueue<Job> parsed, Semaphore inFlight) {
+    int sequence = 0;
+    try {
+      try (GameStateReader reader = new GameStateReader(input)) {
+        while (true) {
+          inFlight.acquire();
+          Job job;
+          try {
+            GameState gameState = reader.next();
+            if (gameState == null) {
+              break;
+            }
+            job = new Job(reader.getCount(), gameState);
+          } catch (CardFormatException | BoardFormatException | PocketFormatException
+              | GameStateFormatException exception) {
+            job = new Job(reader.getCount(), null);
+            job.output = String.format("%s\n%s\n\n", Application.MSG_INVALID_INPUT,
+                exception.getMessage());
+          }
+          parsed.put(job);
+          sequence = job.sequence;
+        }
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+        Job job = new Job(sequence + 1, null);
+        job.output = String.format("%s\n%s\n\n", Application.MSG_READ_FAILED, e);
+        parsed.put(job);
+      } finally {
+        for (int i = 0; i < workers; ++i) {
+          parsed.put(END);
+        }
+      }
+    } catch (IOException e) {
+      // Could not close input stream.
+    } catch (InterruptedException e) {
+      // Pipeline is shutting down.
+    }
+  }
+
+  /**
+   * Helper method for the second stage: calculate and format the outcome probabilities of queued
+   * game states until an {@link #END} signal is taken, then pass the signal on. A calculation that
+   * fails is reported in place of its probabilities, and its cause is printed to standard error.
+   */
+  private void calculate(BlockingQueue<Job> parsed, BlockingQueue<Job> calculated) {
+    try {
+      for (Job job = parsed.take(); job != END; job = parsed.take()) {
+        if (job.gameState != null) {
+          try {
+            job.output = Application.formatGame(job.gameState, cache);
+            job.valid = true;
+          } catch (RuntimeException e) {
+            e.printStackTrace();
+            job.output = String.format("%s\n%s\n\n", Application.MSG_CALCULATION_FAILED, e);
+          }
+        }
+        calculated.put(job);
+      }
+      calculated.put(END);
+    } catch (InterruptedException e) {
+      // Pipeline is shutting down.
+    }
+  }
+
+  /**
+   * Helper method for the last stage: print results in sequence order, holding back any that
+   * arrive early, until every worker has signalled {@link #END}. Every result of a worker is
+   * queued before its END signal, so none can arrive after the last one.
+   */
+  private boolean print(BlockingQueue<Job> calculated, PrintStream output, Semaphore inFlight)
+      throws InterruptedException {
+    Map<Integer, Job> early = new HashMap<>();
+    int next = 1;
+    int ended = 0;
+    boolean valid = true;
+    while (ended < workers) {
+      Job job = calculated.take();
+      if (job == END) {
+        ++ended;
+        continue;
+      }
+      early.put(job.sequence, job);
+      for (job = early.remove(next); job != null; job = early.remove(next)) {
+        output.println(String.format(Application.MSG_GAME, job.sequence));
+        output.print(job.output);
+        valid &= job.valid;
+        ++next;
+        inFlight.release();
+      }
+    }
+    return valid;
+  }
+}
@@ -0,0 +1,266 @@
+package com.skraylabs.poker;
+
+import com.skraylabs.poker.model.BoardFormatException;
+import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.GameStateFormatException;
+import com.skraylabs.poker.model.GameStateReader;
+import com.skraylabs.poker.model.PocketFormatException;
+import com.skraylabs.poker.outcome.OutcomeCache;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Long-running server that calculates outcome probabilities for game states sent over TCP, so
+ * that the cost of starting the JVM and warming it up is paid once rather than per query.
+ *
+ * <p>
+ * The protocol is line based. A client sends a game state in the format read by
+ * {@link com.skraylabs.poker.model.GameStateFactory#createGameStateFromString(String)}, followed by
+ * a line holding only {@link GameStateReader#DELIMITER}. The server answers with the same output as
+ * single-game mode, or with {@link Application#MSG_INVALID_INPUT}, {@link #MSG_TIMEOUT} or
+ * {@link #MSG_FAILED}, again followed by a delimiter line. A connection may carry any number of
+ * requests, and is closed by the client.
+ *
+ * <p>
+ * Every connection is served on its own thread, and calculations run on a fixed pool of worker
+ * threads. A request may wait for a worker for up to the timeout, and its calculation may then
+ * run for up to the timeout again, so time spent waiting is not taken from the calculation. A
+ * request that is not started, or whose calculation does not finish, in time is answered with
+ * {@link #MSG_TIMEOUT}; a calculation that is running is abandoned by interrupting its worker.
+ */
+public class CalculationServer implements Closeable {
+
+  /**
+   * Time allowed for a calculation by default, in milliseconds.
+   */
+  public static final long DEFAULT_TIMEOUT_MILLIS = 10000L;
+
+  static final String MSG_TIMEOUT = "Calculation timed out";
+  static final String MSG_FAILED = "Calculation failed";
+  static final String MSG_LISTENING = "Listening on port %d";
+
+  /**
+   * Pause after a failure to accept a connection, in milliseconds, so that a failure that
+   * persists, such as running out of file descriptors, does not keep a core busy.
+   */
+  static final long ACCEPT_BACKOFF_MILLIS = 100L;
+
+  private final ServerSocket serverSocket;
+  private final int workers;
+  private final long timeoutMillis;
+  private final OutcomeCache cache;
+  private final ExecutorService calculations;
+  private final ExecutorService connections = Executors.newCachedThreadPool();
+  private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Initializing constructor. Binds the server to a port of the loopback address; connections are
+   * accepted once {@link #serve()} is called.
+   *
+   * @param port port to listen on; 0 to pick any free port
+   * @param workers number of threads that calculate outcome probabilities; at least 1
+   * @param timeoutMillis time allowed for each calculation, in milliseconds; at least 1
+   * @throws IOException if the port cannot be bound
+   */
+  public CalculationServer(int port, int workers, long timeoutMillis) throws IOException {
+    this(port, workers, timeoutMillis, null);
+  }
+
+  /**
+   * Initializing constructor for a server whose workers share a cache of outcome probabilities.
+   * Binds the server to a port of the loopback address; connections are accepted once
+   * {@link #serve()} is called.
+   *
+   * @param port port to listen on; 0 to pick any free port
+   * @param workers number of threads that calculate outcome probabilities; at least 1
+   * @param timeoutMillis time allowed for each calculation, in milliseconds; at least 1
+   * @param cache cache to look probabilities up in; {@code null} to always calculate them
+   * @throws IOException if the port cannot be bound
+   */
+  public CalculationServer(int port, int workers, long timeoutMillis, OutcomeCache cache)
+      throws IOException {
+    if (workers < 1) {
+      throw new IllegalArgumentException("Parameter \"workers\" must be at least 1.");
+    }
+    if (timeoutMillis < 1) {
+      throw new IllegalArgumentException("Parameter \"timeoutMillis\" must be at least 1.");
+    }
+    this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    this.workers = workers;
+    this.timeoutMillis = timeoutMillis;
+    this.cache = cache;
+    this.calculations = Executors.newFixedThreadPool(workers);
+  }
+
+  /**
+   * Access the port the server listens on.
+   *
+   * @return local port number
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  public int getWorkers() {
+    return workers;
+  }
+
+  public long getTimeoutMillis() {
+    return timeoutMillis;
+  }
+
+  /**
+   * Access the cache of outcome probabilities, e.g. for its statistics.
+   *
+   * @return cache shared by the workers; or {@code null} if results are not cached
+   */
+  public OutcomeCache getCache() {
+    return cache;
+  }
+
+  /**
+   * Accept connections and serve each one on its own thread, until the server is closed or the
+   * calling thread is interrupted. After a failure to accept a connection, waits
+   * {@link #ACCEPT_BACKOFF_MILLIS} before trying again.
+   */
+  public void serve() {
+    while (!serverSocket.isClosed()) {
+      Socket client;
+      try {
+        client = serverSocket.accept();
+      } catch (IOException e) {
+        if (serverSocket.isClosed()) {
+          break;
+        }
+        // Connection was aborted before it was accepted, or the host is short of resources
+        try {
+          Thread.sleep(ACCEPT_BACKOFF_MILLIS);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+        continue;
+      }
+      clients.add(client);
+      connections.execute(() -> handle(client));
+    }
+  }
+
+  /**
+   * Stop accepting connections, close every open connection and stop every calculation.
+   */
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    for (Socket client : clients) {
+      client.close();
+    }
+    connections.shutdownNow();
+    calculations.shutdownNow();
+  }
+
+  /**
+   * Helper method that answers every request of one connection, in order, until the client closes
+   * it.
+   *
+   * @param client connected socket
+   */
+  private void handle(Socket client) {
+    try (Socket socket = client;
+        GameStateReader reader = new GameStateReader(
+            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter writer = new PrintWriter(new BufferedWriter(
+            new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)))) {
+      while (true) {
+        String response;
+        try {
+          GameState gameState = reader.next();
+          if (gameState == null) {
+            break;
+          }
+          response = calculate(gameState);
+        } catch (CardFormatException | BoardFormatException | PocketFormatException
+            | GameStateFormatException exception) {
+          response = String.format("%s\n%s\n", Application.MSG_INVALID_INPUT,
+              exception.getMessage());
+        }
+        writer.print(response);
+        writer.print(GameStateReader.DELIMITER + "\n");
+        writer.flush();
+        if (writer.checkError()) {
+          break;
+        }
+      }
+    } catch (SocketException e) {
+      // Connection was reset by the client, or closed by the server
+    } catch (IOException e) {
+      // Could not close connection.
+    } finally {
+      clients.remove(client);
+    }
+  }
+
+  /**
+   * Helper method that calculates and formats the outcome probabilities of a game on a worker
+   * thread. Waits at most {@link #getTimeoutMillis()} for a worker to start the calculation, then
+   * at most {@link #getTimeoutMillis()} for it to finish; a calculation that takes longer is
+   * cancelled.
+   *
+   * @param gameState game to evaluate
+   * @return formatted outcome probabilities, or a message explaining why there are none
+   */
+  private String calculate(GameState gameState) {
+    CountDownLatch started = new CountDownLatch(1);
+    Future<String> result = calculations.submit(() -> format(gameState, started));
+    try {
+      if (!started.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        // Every worker stayed busy
+        result.cancel(true);
+        return MSG_TIMEOUT + "\n";
+      }
+      return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      result.cancel(true);
+      return MSG_TIMEOUT + "\n";
+    } catch (ExecutionException e) {
+      return MSG_FAILED + "\n";
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      return MSG_FAILED + "\n";
+    }
+  }
+
+  /**
+   * Helper method that signals that a calculation has started, then calculates and formats the
+   * outcome probabilities of its game.
+   *
+   * @param gameState game to evaluate
+   * @param started latch to count down once the calculation starts
+   * @return formatted outcome probabilities
+   */
+  private String format(GameState gameState, CountDownLatch started) {
+    started.countDown();
+    return Application.formatGame(gameState, cache);
+  }
+}
@@ -1,18 +1,33 @@
 package com.skraylabs.poker.model;
 
 /**
- * A playing card.
+ * A playing card. Cards are immutable, so one instance of each of the 52 cards (see
+ * {@link #of(Rank, Suit)}) can be shared everywhere instead of being copied.
  */
 public class Card {
+  /**
+   * The 52 shared cards, indexed by {@link CardUtils#numberFromCard(Card)}.
+   */
+  private static final Card[] CARDS = new Card[CardSet.DECK_SIZE];
+
+  static {
+    for (Suit suit : Suit.values()) {
+      for (Rank rank : Rank.values()) {
+        Card card = new Card(rank, suit);
+        CARDS[card.hashCode()] = card;
+      }
+    }
+  }
+
   /**
    * Playing card rank (A, K, Q, J, 10-2).
    */
-  Rank rank;
+  final Rank rank;
 
   /**
    * Playing card suit (Spades, Hearts, Diamond, Clubs).
    */
-  Suit suit;
+  final Suit suit;
 
   /**
    * Constructor.
@@ -25,6 +40,27 @@ public class Card {
     this.suit = suit;
   }
 
+  /**
+   * Get the shared instance of a card. No card is allocated.
+   *
+   * @param rank non-null playing card rank
+   * @param suit non-null playing card suit
+   * @return the one shared {@link Card} with {@code rank} and {@code suit}
+   */
+  public static Card of(Rank rank, Suit suit) {
+    return CARDS[suit.ordinal() * CardSet.RANKS_PER_SUIT + rank.ordinal()];
+  }
+
+  /**
+   * Get the shared instance of a card by number.
+   *
+   * @param number integer in range [0, 51], as given by {@link CardUtils#numberFromCard(Card)}
+   * @return the one shared {@link Card} with that number
+   */
+  static Card of(int number) {
+    return CARDS[number];
+  }
+
   /**
    * Copy constructor.
    *
@@ -42,6 +78,9 @@ public class Card {
    */
   @Override
   public boolean equals(Object object) {
+    if (object == this) {
+      return true;
+    }
     boolean result = false;
     if (object instanceof Card) {
       Card card = (Card) object;
@@ -52,10 +91,18 @@ public class Card {
     return result;
   }
 
+  /**
+   * Hash code based on rank and suit ordinals: for a card with non-null rank and suit, this is its
+   * {@link CardUtils#numberFromCard(Card)}, so no two distinct cards collide.
+   *
+   * @return integer in range [0, 51], or -1 if rank or suit is null
+   */
   @Override
   public int hashCode() {
-    String hashString = CardFactory.createStringFromCard(this);
-    return hashString.hashCode();
+    if (rank == null || suit == null) {
+      return -1;
+    }
+    return suit.ordinal() * CardSet.RANKS_PER_SUIT + rank.ordinal();
   }
 
   /**
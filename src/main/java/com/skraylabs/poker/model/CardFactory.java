@@ -7,6 +7,20 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class CardFactory {
 
+  /**
+   * String representation of each card, indexed by {@link CardUtils#numberFromCard(Card)}.
+   */
+  private static final String[] CARD_STRINGS = new String[CardSet.DECK_SIZE];
+
+  static {
+    for (Suit suit : Suit.values()) {
+      for (Rank rank : Rank.values()) {
+        CARD_STRINGS[CardUtils.numberFromCard(Card.of(rank, suit))] =
+            new String(new char[] {toChar(rank), toChar(suit)});
+      }
+    }
+  }
+
   /**
    * Creates a {@link Card} object given a two-character string (e.g. "2c" for the Two of Clubs).
    *
@@ -38,7 +52,7 @@ public class CardFactory {
    * </ul>
    *
    * @param card two-character string representation of a card
-   * @return a new {@link Card}
+   * @return the shared {@link Card} instance; see {@link Card#of(Rank, Suit)}
    * @throws CardFormatException if {@code cardString} is formatted incorrectly.
    */
   public static Card createCardFromString(String card) throws CardFormatException {
@@ -69,7 +83,7 @@ public class CardFactory {
       // Re-throw with 2-char string
       throw new CardFormatException(cardStripped);
     }
-    return new Card(rank, suit);
+    return Card.of(rank, suit);
   }
 
   /**
@@ -82,11 +96,7 @@ public class CardFactory {
     if (card == null || card.rank == null || card.suit == null) {
       throw new IllegalArgumentException();
     }
-    // Assign rank
-    char rank = toChar(card.rank);
-    // Assign suit
-    char suit = toChar(card.suit);
-    return String.format("%s%s", rank, suit);
+    return CARD_STRINGS[CardUtils.numberFromCard(card)];
   }
 
   /**
@@ -0,0 +1,219 @@
+package com.skraylabs.poker.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Helper methods for treating a {@code long} as a set of up to 52 distinct {@link Card}s.
+ *
+ * <p>
+ * Each card occupies the bit given by {@link CardUtils#numberFromCard(Card)}, so a set is laid out
+ * as four 13-bit suit fields (Spades, Hearts, Diamonds, Clubs from the lowest bits up). Within a
+ * suit field bit 0 is the Ace and bit 12 is the Two, matching the order of {@link Rank}.
+ *
+ * <p>
+ * Sets are plain primitives: combining, testing and counting cards never allocates.
+ */
+public class CardSet {
+
+  /**
+   * A set containing no cards.
+   */
+  public static final long EMPTY = 0L;
+
+  /**
+   * Number of cards in a full deck.
+   */
+  public static final int DECK_SIZE = 52;
+
+  /**
+   * Number of ranks (and bits) in each suit field.
+   */
+  public static final int RANKS_PER_SUIT = 13;
+
+  /**
+   * A set containing all 52 cards.
+   */
+  public static final long FULL_DECK = (1L << DECK_SIZE) - 1;
+
+  /**
+   * Mask selecting the 13 rank bits of a single suit field.
+   */
+  public static final int RANK_MASK = (1 << RANKS_PER_SUIT) - 1;
+
+  /**
+   * Number of suits, and of suit fields in a set.
+   */
+  public static final int SUITS = 4;
+
+  /**
+   * Number of ways to relabel the suits of a set: every ordering of the four suits.
+   */
+  public static final int SUIT_PERMUTATION_COUNT = 24;
+
+  /**
+   * Every ordering of the four suits: {@code SUIT_PERMUTATIONS[i][suit]} is the suit that
+   * {@code suit} is relabeled as by the i-th permutation.
+   */
+  private static final int[][] SUIT_PERMUTATIONS = permutations(SUITS);
+
+  /**
+   * Create a set containing a single card.
+   *
+   * @param card non-null card with non-null rank and suit
+   * @return set containing only {@code card}
+   */
+  public static long of(Card card) {
+    return 1L << CardUtils.numberFromCard(card);
+  }
+
+  /**
+   * Create a set from a collection of cards. Duplicate cards are only counted once.
+   *
+   * @param cards non-null collection of non-null cards
+   * @return set containing every card in {@code cards}
+   */
+  public static long fromCards(Collection<Card> cards) {
+    long result = EMPTY;
+    for (Card card : cards) {
+      result |= of(card);
+    }
+    return result;
+  }
+
+  /**
+   * Create a set from card strings separated by whitespace, e.g. {@code "Ah Kh Qh"}. Each card is
+   * formatted as for {@link CardFactory#createCardFromString(String)}.
+   *
+   * @param cards card strings; may be empty
+   * @return set containing every card in {@code cards}
+   * @throws CardFormatException if a card string is formatted incorrectly
+   */
+  public static long parse(String cards) throws CardFormatException {
+    long result = EMPTY;
+    for (String card : cards.trim().split("\\s+")) {
+      if (!card.isEmpty()) {
+        result |= of(CardFactory.createCardFromString(card));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Create a collection of cards from a set. Cards are ordered by {@link CardUtils#numberFromCard}.
+   *
+   * @param cards set of cards
+   * @return a new collection holding each card in {@code cards}
+   */
+  public static Collection<Card> toCards(long cards) {
+    Collection<Card> result = new ArrayList<>(size(cards));
+    for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+      result.add(CardUtils.cardFromNumber(Long.numberOfTrailingZeros(remaining)));
+    }
+    return result;
+  }
+
+  /**
+   * Count the cards in a set.
+   *
+   * @param cards set of cards
+   * @return number of cards in {@code cards}
+   */
+  public static int size(long cards) {
+    return Long.bitCount(cards);
+  }
+
+  /**
+   * Test whether a set contains a card.
+   *
+   * @param cards set of cards
+   * @param card non-null card with non-null rank and suit
+   * @return {@code true} if {@code card} is in {@code cards}; {@code false} otherwise
+   */
+  public static boolean contains(long cards, Card card) {
+    return (cards & of(card)) != 0;
+  }
+
+  /**
+   * Extract the ranks held in a single suit.
+   *
+   * @param cards set of cards
+   * @param suit suit index in range [0, 3] -- i.e. a {@link Suit} ordinal
+   * @return 13-bit mask where bit <i>n</i> is set if the {@link Rank} with ordinal <i>n</i> is held
+   *         in {@code suit}
+   */
+  public static int ranksOfSuit(long cards, int suit) {
+    return (int) (cards >>> (RANKS_PER_SUIT * suit)) & RANK_MASK;
+  }
+
+  /**
+   * Collect the ranks that appear at least {@code number} times in a set -- e.g. for {@code number}
+   * = 2, every rank that forms at least a pair.
+   *
+   * @param cards set of cards
+   * @param number an integer in range [1, 4]
+   * @return 13-bit mask where bit <i>n</i> is set if the {@link Rank} with ordinal <i>n</i> appears
+   *         {@code number} or more times
+   */
+  public static int ranksWithCount(long cards, int number) {
+    int spades = ranksOfSuit(cards, 0);
+    int hearts = ranksOfSuit(cards, 1);
+    int diamonds = ranksOfSuit(cards, 2);
+    int clubs = ranksOfSuit(cards, 3);
+    switch (number) {
+      case 1:
+        return spades | hearts | diamonds | clubs;
+      case 2:
+        return (spades & hearts) | (diamonds & clubs) | ((spades | hearts) & (diamonds | clubs));
+      case 3:
+        return (spades & hearts & (diamonds | clubs)) | (diamonds & clubs & (spades | hearts));
+      case 4:
+        return spades & hearts & diamonds & clubs;
+      default:
+        throw new IllegalArgumentException("Parameter \"number\" must be in range [1, 4].");
+    }
+  }
+
+  /**
+   * Relabel the suits of a set of cards.
+   *
+   * @param cards set of cards
+   * @param permutation index of a suit permutation, in range [0, {@link #SUIT_PERMUTATION_COUNT});
+   *        permutation 0 leaves every suit unchanged
+   * @return set holding the same ranks as {@code cards}, in relabeled suits
+   */
+  public static long relabel(long cards, int permutation) {
+    int[] suits = SUIT_PERMUTATIONS[permutation];
+    long result = EMPTY;
+    for (int suit = 0; suit < SUITS; ++suit) {
+      result |= (long) ranksOfSuit(cards, suit) << (suits[suit] * RANKS_PER_SUIT);
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that lists every ordering of a number of items.
+   *
+   * @param count number of items
+   * @return {@code count}! orderings of the numbers 0 to {@code count - 1}; the identity first
+   */
+  private static int[][] permutations(int count) {
+    if (count == 0) {
+      return new int[][] {{}};
+    }
+    int[][] shorter = permutations(count - 1);
+    int[][] result = new int[shorter.length * count][];
+    int next = 0;
+    for (int[] permutation : shorter) {
+      // Insert the last item at every position, from the end back
+      for (int position = count - 1; position >= 0; --position) {
+        int[] longer = new int[count];
+        for (int i = 0, j = 0; i < count; ++i) {
+          longer[i] = i == position ? count - 1 : permutation[j++];
+        }
+        result[next++] = longer;
+      }
+    }
+    return result;
+  }
+}
@@ -84,7 +84,8 @@ public class CardUtils {
 
 
   /**
-   * Helper that returns a card based on a number in the range [0, 51].
+   * Helper that returns a card based on a number in the range [0, 51]. The card is the shared
+   * instance from {@link Card#of(Rank, Suit)}; nothing is allocated.
    *
    * @param number integer in range [0, 51]
    * @return a Card
@@ -93,73 +94,12 @@ public class CardUtils {
     if (number < 0 || number > 51) {
       throw new IllegalArgumentException("Parameter \"number\" must be in range [0, 51]");
     }
-    Card result = new Card(null, null);
-    // Assign suit
-    switch (number / 13) {
-      case 0:
-        result.suit = Suit.SPADES;
-        break;
-      case 1:
-        result.suit = Suit.HEARTS;
-        break;
-      case 2:
-        result.suit = Suit.DIAMONDS;
-        break;
-      case 3:
-        result.suit = Suit.CLUBS;
-        break;
-      default:
-        throw new RuntimeException("Logic error!");
-    }
-    // Assign rank
-    switch (number % 13) {
-      case 0:
-        result.rank = Rank.ACE;
-        break;
-      case 1:
-        result.rank = Rank.KING;
-        break;
-      case 2:
-        result.rank = Rank.QUEEN;
-        break;
-      case 3:
-        result.rank = Rank.JACK;
-        break;
-      case 4:
-        result.rank = Rank.TEN;
-        break;
-      case 5:
-        result.rank = Rank.NINE;
-        break;
-      case 6:
-        result.rank = Rank.EIGHT;
-        break;
-      case 7:
-        result.rank = Rank.SEVEN;
-        break;
-      case 8:
-        result.rank = Rank.SIX;
-        break;
-      case 9:
-        result.rank = Rank.FIVE;
-        break;
-      case 10:
-        result.rank = Rank.FOUR;
-        break;
-      case 11:
-        result.rank = Rank.THREE;
-        break;
-      case 12:
-        result.rank = Rank.TWO;
-        break;
-      default:
-        throw new RuntimeException("Logic error!");
-    }
-    return result;
+    return Card.of(number);
   }
 
   /**
-   * Helper method that does the inverse of {@link #cardFromNumber(int)}.
+   * Helper method that does the inverse of {@link #cardFromNumber(int)}. Suits take up 13 numbers
+   * each, in {@link Suit} order, and ranks are numbered within a suit in {@link Rank} order.
    *
    * @param card to convert to a number
    * @return number corresponding to card; integer in range [0, 51]
@@ -170,67 +110,7 @@ public class CardUtils {
     } else if (card.rank == null || card.suit == null) {
       throw new IllegalArgumentException("Parameter \"card\" must have non-null rank and suit!");
     }
-    int number = 0;
-    switch (card.suit) {
-      case SPADES:
-        number = 13 * 0;
-        break;
-      case HEARTS:
-        number = 13 * 1;
-        break;
-      case DIAMONDS:
-        number = 13 * 2;
-        break;
-      case CLUBS:
-        number = 13 * 3;
-        break;
-      default:
-        throw new RuntimeException("Logic error!");
-    }
-    switch (card.rank) {
-      case ACE:
-        number += 0;
-        break;
-      case KING:
-        number += 1;
-        break;
-      case QUEEN:
-        number += 2;
-        break;
-      case JACK:
-        number += 3;
-        break;
-      case TEN:
-        number += 4;
-        break;
-      case NINE:
-        number += 5;
-        break;
-      case EIGHT:
-        number += 6;
-        break;
-      case SEVEN:
-        number += 7;
-        break;
-      case SIX:
-        number += 8;
-        break;
-      case FIVE:
-        number += 9;
-        break;
-      case FOUR:
-        number += 10;
-        break;
-      case THREE:
-        number += 11;
-        break;
-      case TWO:
-        number += 12;
-        break;
-      default:
-        throw new RuntimeException("Logic error!");
-    }
-    return number;
+    return card.suit.ordinal() * CardSet.RANKS_PER_SUIT + card.rank.ordinal();
   }
 
 }
@@ -0,0 +1,250 @@
+package com.skraylabs.poker.model;
+
+import java.util.Arrays;
+
+/**
+ * An immutable {@link GameState} held as {@link CardSet} masks: one for the board, one for each
+ * player's pocket, and one for dead cards -- cards that are out of play without being on the board
+ * or in a known pocket.
+ *
+ * <p>
+ * Accessors return primitives, so nothing is copied or allocated when reading a state, and a state
+ * can be shared freely between threads. Cards are held as sets: the order in which they were dealt
+ * to the board or a pocket is not kept.
+ */
+public final class CompactGameState {
+
+  private final long board;
+  private final long[] pockets;
+  /**
+   * Bit <i>n</i> is set if player <i>n</i> has a {@link Pocket}, known or not.
+   */
+  private final int players;
+  private final long deadCards;
+  private final long dealtCards;
+
+  private CompactGameState(long board, long[] pockets, int players, long deadCards) {
+    this.board = board;
+    this.pockets = pockets;
+    this.players = players;
+    this.deadCards = deadCards;
+    long dealt = board | deadCards;
+    for (long pocket : pockets) {
+      dealt |= pocket;
+    }
+    this.dealtCards = dealt;
+  }
+
+  /**
+   * Create a state from card masks.
+   *
+   * @param board {@link CardSet} of 0, 3, 4 or 5 board cards
+   * @param pockets {@link CardSet} of each player's pocket cards: at most
+   *        {@link GameState#MAX_PLAYERS} sets of 0 to 2 cards. A player whose set is empty has no
+   *        {@link Pocket}.
+   * @param deadCards {@link CardSet} of cards that are out of play
+   * @return a new state
+   * @throws IllegalArgumentException if there are too many cards in the board, in a pocket or
+   *         players, or if a card is used twice
+   */
+  public static CompactGameState of(long board, long[] pockets, long deadCards) {
+    int players = 0;
+    for (int i = 0; i < pockets.length; ++i) {
+      if (pockets[i] != CardSet.EMPTY) {
+        players |= 1 << i;
+      }
+    }
+    return create(board, pockets, players, deadCards);
+  }
+
+  /**
+   * Convert a {@link GameState}. The state has no dead cards.
+   *
+   * @param gameState non-null state to convert
+   * @return a new state with the same board and pockets as {@code gameState}
+   */
+  public static CompactGameState fromGameState(GameState gameState) {
+    long board = CardSet.fromCards(CardUtils.collectCards(gameState.getBoard()));
+    Pocket[] gamePockets = gameState.getPockets();
+    long[] pockets = new long[gamePockets.length];
+    int players = 0;
+    for (int i = 0; i < gamePockets.length; ++i) {
+      if (gamePockets[i] != null) {
+        pockets[i] = CardSet.fromCards(CardUtils.collectCards(gamePockets[i]));
+        players |= 1 << i;
+      }
+    }
+    return create(board, pockets, players, CardSet.EMPTY);
+  }
+
+  /**
+   * Helper method that validates card masks and creates a state from them.
+   */
+  private static CompactGameState create(long board, long[] pockets, int players,
+      long deadCards) {
+    if (pockets.length > GameState.MAX_PLAYERS) {
+      throw new IllegalArgumentException(String.format(
+          "Parameter \"pockets\" must hold at most %d pockets.", GameState.MAX_PLAYERS));
+    }
+    int boardSize = CardSet.size(board);
+    if (boardSize != 0 && (boardSize < 3 || boardSize > 5)) {
+      throw new IllegalArgumentException("Parameter \"board\" must hold 0, 3, 4 or 5 cards.");
+    }
+    long used = board;
+    if ((used & deadCards) != 0) {
+      throw new IllegalArgumentException("Parameter \"deadCards\" must not hold board cards.");
+    }
+    used |= deadCards;
+    long[] copy = new long[GameState.MAX_PLAYERS];
+    for (int i = 0; i < pockets.length; ++i) {
+      if (CardSet.size(pockets[i]) > 2) {
+        throw new IllegalArgumentException("Each pocket must hold at most 2 cards.");
+      } else if ((used & pockets[i]) != 0) {
+        throw new IllegalArgumentException("Each card must be dealt at most once.");
+      }
+      used |= pockets[i];
+      copy[i] = pockets[i];
+    }
+    return new CompactGameState(board, copy, players, deadCards);
+  }
+
+  /**
+   * Convert back to a {@link GameState}. Dead cards have no place in a GameState and are left out.
+   * Board and pocket cards are dealt in {@link CardSet} order.
+   *
+   * @return a new GameState with the same board and pockets as this state
+   */
+  public GameState toGameState() {
+    GameState result = new GameState();
+    Card[] boardCards = CardSet.toCards(board).toArray(new Card[5]);
+    result.setBoard(
+        new Board(boardCards[0], boardCards[1], boardCards[2], boardCards[3], boardCards[4]));
+    for (int i = 0; i < GameState.MAX_PLAYERS; ++i) {
+      if (hasPocket(i)) {
+        Card[] pocketCards = CardSet.toCards(pockets[i]).toArray(new Card[2]);
+        result.setPocketForPlayer(i, new Pocket(pocketCards[0], pocketCards[1]));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Create a copy of this state with more cards out of play.
+   *
+   * @param cards {@link CardSet} of cards to add to the dead cards; must not already be dealt
+   * @return a new state
+   */
+  public CompactGameState withDeadCards(long cards) {
+    return create(board, pockets, players, deadCards | cards);
+  }
+
+  /**
+   * Relabel the suits of this state so that every state that differs from it only by suit labels
+   * becomes equal to it. Outcome probabilities do not depend on suit labels, so the canonical
+   * state of a game has the same outcomes as the game itself, player for player.
+   *
+   * <p>
+   * Of the 24 relabelings of this state, the canonical one has the lowest board mask, then the
+   * lowest pocket masks in player order, then the lowest dead card mask.
+   *
+   * @return the canonical relabeling of this state; possibly this state itself
+   */
+  public CompactGameState canonical() {
+    int best = 0;
+    for (int i = 1; i < CardSet.SUIT_PERMUTATION_COUNT; ++i) {
+      if (compareRelabelings(i, best) < 0) {
+        best = i;
+      }
+    }
+    long[] relabeledPockets = new long[GameState.MAX_PLAYERS];
+    for (int i = 0; i < GameState.MAX_PLAYERS; ++i) {
+      relabeledPockets[i] = CardSet.relabel(pockets[i], best);
+    }
+    CompactGameState result = new CompactGameState(CardSet.relabel(board, best), relabeledPockets,
+        players, CardSet.relabel(deadCards, best));
+    return result.equals(this) ? this : result;
+  }
+
+  public long getBoard() {
+    return board;
+  }
+
+  public int getBoardSize() {
+    return CardSet.size(board);
+  }
+
+  /**
+   * Accessor: pocket cards of a player.
+   *
+   * @param playerIndex index of Player. A number in range [0, 9].
+   * @return {@link CardSet} of the player's pocket cards; empty if the player has no known cards
+   */
+  public long getPocket(int playerIndex) {
+    return pockets[playerIndex];
+  }
+
+  /**
+   * Check whether a player has a {@link Pocket}, i.e. whether the player takes part in the game.
+   *
+   * @param playerIndex index of Player. A number in range [0, 9].
+   * @return {@code true} if the player has a Pocket, even an unknown one; {@code false} otherwise
+   */
+  public boolean hasPocket(int playerIndex) {
+    return (players & (1 << playerIndex)) != 0;
+  }
+
+  public long getDeadCards() {
+    return deadCards;
+  }
+
+  /**
+   * Accessor: every card that may not be dealt any more.
+   *
+   * @return {@link CardSet} of board, pocket and dead cards
+   */
+  public long getDealtCards() {
+    return dealtCards;
+  }
+
+  /**
+   * Helper method that compares two relabelings of this state in canonical order: by board mask,
+   * then by pocket masks in player order, then by dead card mask.
+   *
+   * @param permutation index of one suit permutation, see {@link CardSet#relabel(long, int)}
+   * @param otherPermutation index of another suit permutation
+   * @return a negative number, zero or a positive number as the state relabeled by
+   *         {@code permutation} comes before, is equal to or comes after the state relabeled by
+   *         {@code otherPermutation}
+   */
+  private int compareRelabelings(int permutation, int otherPermutation) {
+    int result = Long.compare(CardSet.relabel(board, permutation),
+        CardSet.relabel(board, otherPermutation));
+    for (int i = 0; result == 0 && i < GameState.MAX_PLAYERS; ++i) {
+      result = Long.compare(CardSet.relabel(pockets[i], permutation),
+          CardSet.relabel(pockets[i], otherPermutation));
+    }
+    if (result == 0) {
+      result = Long.compare(CardSet.relabel(deadCards, permutation),
+          CardSet.relabel(deadCards, otherPermutation));
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (!(object instanceof CompactGameState)) {
+      return false;
+    }
+    CompactGameState that = (CompactGameState) object;
+    return this.board == that.board && this.players == that.players
+        && this.deadCards == that.deadCards && Arrays.equals(this.pockets, that.pockets);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Long.hashCode(board);
+    result = 31 * result + Arrays.hashCode(pockets);
+    result = 31 * result + players;
+    return 31 * result + Long.hashCode(deadCards);
+  }
+}
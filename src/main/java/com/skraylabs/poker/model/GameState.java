@@ -17,6 +17,11 @@ public class GameState {
    */
   private Pocket[] pockets = new Pocket[MAX_PLAYERS];
 
+  /**
+   * Number of seats given a Pocket so far, including seats whose Pocket is unknown.
+   */
+  private int playerCount;
+
   /**
    * Default constructor.
    */
@@ -59,11 +64,21 @@ public class GameState {
     return result;
   }
 
+  /**
+   * Accessor: get the number of players, including players whose Pocket is unknown. A player whose
+   * Pocket is {@code null} but who is seated below another player counts as unknown.
+   *
+   * @return one more than the highest index that a Pocket, or an unknown Pocket, was set for
+   */
+  public int getPlayerCount() {
+    return playerCount;
+  }
+
   /**
    * Modifier: set Pocket cards for a specified player.
    *
    * @param playerIndex a value in range [0, 9]. Specify player for which to assign pocket cards.
-   * @param pocket Pocket value to assign.
+   * @param pocket Pocket value to assign; {@code null} to seat a player whose cards are unknown.
    */
   void setPocketForPlayer(int playerIndex, Pocket pocket) {
     if (playerIndex < 0 || MAX_PLAYERS <= playerIndex) {
@@ -72,5 +87,6 @@ public class GameState {
               playerIndex, MAX_PLAYERS - 1));
     }
     pockets[playerIndex] = pocket;
+    playerCount = Math.max(playerCount, playerIndex + 1);
   }
 }
@@ -0,0 +1,154 @@
+package com.skraylabs.poker.model;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of random, valid {@link GameState} input, for reproducible benchmark and test
+ * workloads.
+ *
+ * <p>
+ * Game states are written in the format read by
+ * {@link GameStateFactory#createGameStateFromString(String)}, with every card formatted by
+ * {@link CardFactory#createStringFromCard(Card)}. Cards are dealt from a single shuffled deck, so
+ * no card appears twice in a game state. A generator created with the same seed produces the same
+ * sequence of game states on any machine.
+ */
+public class GameStateGenerator {
+
+  private static final int POCKET_SIZE = 2;
+  private static final int MAX_BOARD_SIZE = 5;
+
+  private final SplittableRandom random;
+  private final int[] deck = new int[CardSet.DECK_SIZE];
+
+  /**
+   * Initializing constructor.
+   *
+   * @param seed seed of the random game states
+   */
+  public GameStateGenerator(long seed) {
+    this.random = new SplittableRandom(seed);
+    for (int i = 0; i < deck.length; ++i) {
+      deck[i] = i;
+    }
+  }
+
+  /**
+   * Generate the next game state.
+   *
+   * @param boardSize number of board cards: 0 (pre-flop), 3 (flop), 4 (turn) or 5 (river)
+   * @param players number of players; a number in range [1, 10]
+   * @param unknownPockets number of players whose Pocket is unknown, picked at random; a number in
+   *        range [0, {@code players - 1}], so that at least one Pocket is known
+   * @return a game state formatted as input, without a trailing line break
+   */
+  public String generate(int boardSize, int players, int unknownPockets) {
+    // Sanity check
+    if (boardSize != 0 && (boardSize < 3 || boardSize > MAX_BOARD_SIZE)) {
+      throw new IllegalArgumentException("Parameter \"boardSize\" must be 0, 3, 4 or 5.");
+    }
+    if (players < 1 || players > GameState.MAX_PLAYERS) {
+      throw new IllegalArgumentException(
+          String.format("Parameter \"players\" must be in range [1, %d].", GameState.MAX_PLAYERS));
+    }
+    if (unknownPockets < 0 || unknownPockets >= players) {
+      throw new IllegalArgumentException(
+          "Parameter \"unknownPockets\" must be in range [0, players - 1].");
+    }
+
+    // Pick the unknown seats one at a time, each uniformly among the seats still known
+    int unknownSeats = 0;
+    for (int i = 0; i < unknownPockets; ++i) {
+      int seat = random.nextInt(players - i);
+      // Skip over seats that are already unknown
+      for (int j = 0; j <= seat; ++j) {
+        if ((unknownSeats & (1 << j)) != 0) {
+          ++seat;
+        }
+      }
+      unknownSeats |= 1 << seat;
+    }
+
+    // Deal from the top of a partially shuffled deck
+    int dealt = 0;
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < boardSize; ++i) {
+      appendCard(builder, dealt++, i > 0);
+    }
+    for (int seat = 0; seat < players; ++seat) {
+      builder.append('\n');
+      if ((unknownSeats & (1 << seat)) == 0) {
+        for (int i = 0; i < POCKET_SIZE; ++i) {
+          appendCard(builder, dealt++, i > 0);
+        }
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Generate a batch of game states and write them, separated by
+   * {@link GameStateReader#DELIMITER} lines.
+   *
+   * @param output stream to write to
+   * @param count number of game states
+   * @param boardSize number of board cards of each game state: 0, 3, 4 or 5
+   * @param players number of players in each game state; a number in range [1, 10]
+   * @param unknownPockets number of unknown Pockets in each game state
+   * @throws IOException if the game states cannot be written
+   */
+  public void writeBatch(Writer output, int count, int boardSize, int players, int unknownPockets)
+      throws IOException {
+    for (int i = 0; i < count; ++i) {
+      output.write(generate(boardSize, players, unknownPockets));
+      output.write('\n');
+      output.write(GameStateReader.DELIMITER);
+      output.write('\n');
+    }
+  }
+
+  /**
+   * Helper method that deals one card from the deck and appends it to a game state.
+   *
+   * @param builder game state being built
+   * @param position number of cards dealt so far; the card is picked from the rest of the deck
+   * @param separate whether to write a space before the card
+   */
+  private void appendCard(StringBuilder builder, int position, boolean separate) {
+    int pick = position + random.nextInt(deck.length - position);
+    int card = deck[pick];
+    deck[pick] = deck[position];
+    deck[position] = card;
+    if (separate) {
+      builder.append(' ');
+    }
+    builder.append(CardFactory.createStringFromCard(Card.of(card)));
+  }
+
+  /**
+   * Write a batch of random game states to a file, for use with batch mode.
+   *
+   * @param args exactly 6 strings: seed, number of game states, board size, number of players,
+   *        number of unknown Pockets, and the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void main(String... args) throws IOException {
+    if (args.length != 6) {
+      System.out.println(
+          "Usage: GameStateGenerator seed count boardSize players unknownPockets filepath");
+      return;
+    }
+    GameStateGenerator generator = new GameStateGenerator(Long.parseLong(args[0]));
+    try (Writer output = new BufferedWriter(
+        new OutputStreamWriter(new FileOutputStream(args[5]), StandardCharsets.UTF_8))) {
+      generator.writeBatch(output, Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+          Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.skraylabs.poker.model;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a sequence of {@link GameState} objects from a character stream, one at a time.
+ *
+ * <p>
+ * Each GameState is formatted as described in
+ * {@link GameStateFactory#createGameStateFromString(String)}. Consecutive GameStates are separated
+ * by a line holding only {@link #DELIMITER}. Blank lines cannot separate them, since a blank line
+ * is already a valid pre-flop Board or unknown Pocket. A delimiter at the very end of the stream
+ * is optional.
+ *
+ * <p>
+ * Only the lines of the GameState being read are held in memory, so a stream of any length can be
+ * read.
+ */
+public class GameStateReader implements Closeable {
+
+  /**
+   * Line that separates one GameState from the next.
+   */
+  public static final String DELIMITER = "---";
+
+  private final BufferedReader reader;
+  private int count;
+  private boolean finished;
+
+  /**
+   * Initializing constructor.
+   *
+   * @param input stream to read GameStates from
+   */
+  public GameStateReader(Reader input) {
+    this.reader = input instanceof BufferedReader ? (BufferedReader) input
+        : new BufferedReader(input);
+  }
+
+  /**
+   * Read the next GameState. If it is formatted incorrectly, its lines are still consumed, so the
+   * GameState after it can be read by the next call. Once the stream cannot be read, no more
+   * GameStates are returned.
+   *
+   * @return the next GameState; or {@code null} if the end of the stream has been reached
+   * @throws CardFormatException if a Card in the GameState is formatted incorrectly
+   * @throws BoardFormatException if the Board of the GameState is formatted incorrectly
+   * @throws PocketFormatException if a Pocket in the GameState is formatted incorrectly
+   * @throws GameStateFormatException if the GameState has a general formatting issue, or if the
+   *         stream cannot be read
+   */
+  public GameState next() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    if (finished) {
+      return null;
+    }
+    StringBuilder input = new StringBuilder();
+    boolean empty = true;
+    try {
+      String line = reader.readLine();
+      while (line != null && !DELIMITER.equals(line.trim())) {
+        if (!empty) {
+          input.append('\n');
+        }
+        input.append(line);
+        empty = false;
+        line = reader.readLine();
+      }
+      if (line == null) {
+        finished = true;
+        if (empty) {
+          return null;
+        }
+      }
+    } catch (IOException e) {
+      finished = true;
+      ++count;
+      throw new GameStateFormatException(GameStateFormatException.MSG_DEFAULT, e);
+    }
+    ++count;
+    return GameStateFactory.createGameStateFromString(input.toString());
+  }
+
+  /**
+   * Access the number of GameStates read so far, including those formatted incorrectly.
+   *
+   * @return number of calls to {@link #next()} that did not reach the end of the stream
+   */
+  public int getCount() {
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
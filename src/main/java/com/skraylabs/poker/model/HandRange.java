@@ -0,0 +1,345 @@
+package com.skraylabs.poker.model;
+
+import java.util.Arrays;
+
+/**
+ * A range of pocket cards that a player may hold: a set of two-card combos, each with a weight
+ * that says how often the player holds it.
+ *
+ * <p>
+ * Combos are kept as primitive arrays: {@link #getCombo(int)} is a two-card {@link CardSet}, and
+ * {@link #getWeight(int)} its weight in units of 1 / {@link #WEIGHT_UNITS}. A range holds every
+ * combo at most once, and never a combo of weight 0.
+ */
+public class HandRange {
+
+  /**
+   * Weight of a combo that is always held.
+   */
+  public static final int WEIGHT_UNITS = 1000;
+
+  private static final int SUITS = 4;
+
+  private final long[] combos;
+  private final int[] weights;
+
+  private HandRange(long[] combos, int[] weights) {
+    this.combos = combos;
+    this.weights = weights;
+  }
+
+  /**
+   * Create a range from range notation.
+   *
+   * <p>
+   * Notation is a comma-separated list of hands, each optionally followed by a colon and a weight
+   * in range [0, 1], e.g. {@code "QQ+, AKs, KQo:0.5, 76s-54s"}. A hand is one of:
+   * <ul>
+   * <li>a pair, such as {@code QQ}, or a hand class, such as {@code AKs} (suited), {@code AKo}
+   * (offsuit) or {@code AK} (both);</li>
+   * <li>a pair or hand class followed by {@code +}: every pair from it up to Aces, e.g.
+   * {@code QQ+}; or every kicker from it up to the rank below the first card, e.g.
+   * {@code ATs+};</li>
+   * <li>two pairs or hand classes of the same kind, joined by {@code -}: every pair between them,
+   * e.g. {@code QQ-99}; every kicker between them, e.g. {@code KTo-K8o}; or every hand class
+   * between them with the same gap, e.g. {@code 76s-54s};</li>
+   * <li>a specific combo of two cards, such as {@code AsKs}.</li>
+   * </ul>
+   * A combo that is listed more than once takes the weight it is given last, so that a weight of 0
+   * removes it.
+   *
+   * @param notation range notation
+   * @return a new range
+   * @throws RangeFormatException if {@code notation} is formatted incorrectly, or holds no combos
+   */
+  public static HandRange parse(String notation) throws RangeFormatException {
+    if (notation == null) {
+      throw new RangeFormatException();
+    }
+    // Weight of every combo, indexed by the CardSet bits of its lower and higher card
+    int[] grid = new int[CardSet.DECK_SIZE * CardSet.DECK_SIZE];
+    for (String part : notation.split(",", -1)) {
+      String token = part.trim();
+      int weight = WEIGHT_UNITS;
+      int colon = token.indexOf(':');
+      if (colon >= 0) {
+        weight = parseWeight(token.substring(colon + 1).trim(), token);
+        token = token.substring(0, colon).trim();
+      }
+      try {
+        addHand(token, weight, grid);
+      } catch (CardFormatException e) {
+        throw new RangeFormatException(token);
+      }
+    }
+
+    int count = 0;
+    for (int weight : grid) {
+      if (weight > 0) {
+        ++count;
+      }
+    }
+    if (count == 0) {
+      throw new RangeFormatException(notation);
+    }
+    long[] combos = new long[count];
+    int[] weights = new int[count];
+    count = 0;
+    for (int i = 0; i < grid.length; ++i) {
+      if (grid[i] > 0) {
+        combos[count] = (1L << (i / CardSet.DECK_SIZE)) | (1L << (i % CardSet.DECK_SIZE));
+        weights[count++] = grid[i];
+      }
+    }
+    return new HandRange(combos, weights);
+  }
+
+  /**
+   * Create a range that holds a single combo.
+   *
+   * @param pocket {@link CardSet} of two pocket cards
+   * @return a new range holding {@code pocket} with weight {@link #WEIGHT_UNITS}
+   */
+  public static HandRange of(long pocket) {
+    if (CardSet.size(pocket) != 2) {
+      throw new IllegalArgumentException("Parameter \"pocket\" must hold exactly 2 cards.");
+    }
+    return new HandRange(new long[] {pocket}, new int[] {WEIGHT_UNITS});
+  }
+
+  /**
+   * Remove every combo that holds a card that is already dealt, e.g. to the board.
+   *
+   * @param cards {@link CardSet} of cards that no combo may hold
+   * @return a new range holding the combos of this range that share no card with {@code cards};
+   *         possibly empty
+   */
+  public HandRange without(long cards) {
+    int count = 0;
+    long[] keptCombos = new long[combos.length];
+    int[] keptWeights = new int[weights.length];
+    for (int i = 0; i < combos.length; ++i) {
+      if ((combos[i] & cards) == 0) {
+        keptCombos[count] = combos[i];
+        keptWeights[count++] = weights[i];
+      }
+    }
+    return new HandRange(Arrays.copyOf(keptCombos, count), Arrays.copyOf(keptWeights, count));
+  }
+
+  /**
+   * Accessor: number of distinct combos.
+   *
+   * @return number of combos, regardless of their weights
+   */
+  public int size() {
+    return combos.length;
+  }
+
+  /**
+   * Accessor: number of combos, counting each by its weight.
+   *
+   * @return sum of the weights, in combos; e.g. 6 for {@code "AA"} and 3 for {@code "AA:0.5"}
+   */
+  public double getWeightedSize() {
+    long result = 0;
+    for (int weight : weights) {
+      result += weight;
+    }
+    return ((double) result) / WEIGHT_UNITS;
+  }
+
+  public long getCombo(int index) {
+    return combos[index];
+  }
+
+  public int getWeight(int index) {
+    return weights[index];
+  }
+
+  /**
+   * Accessor: get a copy of every combo.
+   *
+   * @return {@link CardSet} of each combo
+   */
+  public long[] getCombos() {
+    return combos.clone();
+  }
+
+  /**
+   * Accessor: get a copy of every weight.
+   *
+   * @return weight of each combo, indexed like {@link #getCombos()}, in units of 1 /
+   *         {@link #WEIGHT_UNITS}
+   */
+  public int[] getWeights() {
+    return weights.clone();
+  }
+
+  /**
+   * Helper method that parses the weight of a hand.
+   *
+   * @param input weight: a number in range [0, 1]
+   * @param token whole hand, for error reporting
+   * @return weight in units of 1 / {@link #WEIGHT_UNITS}
+   * @throws RangeFormatException if {@code input} is not a number in range [0, 1]
+   */
+  private static int parseWeight(String input, String token) throws RangeFormatException {
+    double weight;
+    try {
+      weight = Double.parseDouble(input);
+    } catch (NumberFormatException e) {
+      throw new RangeFormatException(token);
+    }
+    if (!(weight >= 0 && weight <= 1)) {
+      throw new RangeFormatException(token);
+    }
+    return (int) Math.round(weight * WEIGHT_UNITS);
+  }
+
+  /**
+   * Helper method that sets the weight of every combo of a hand.
+   *
+   * @param hand a pair, hand class, range of them, or specific combo
+   * @param weight weight to set
+   * @param grid weights of the range so far
+   * @throws CardFormatException if a card or rank of {@code hand} is formatted incorrectly
+   * @throws RangeFormatException if {@code hand} is formatted incorrectly otherwise
+   */
+  private static void addHand(String hand, int weight, int[] grid)
+      throws CardFormatException, RangeFormatException {
+    if (hand.length() == 4 && Character.isLowerCase(hand.charAt(1))) {
+      // Specific combo
+      int first = CardUtils.numberFromCard(CardFactory.createCardFromString(hand.substring(0, 2)));
+      int second = CardUtils.numberFromCard(CardFactory.createCardFromString(hand.substring(2)));
+      if (first == second) {
+        throw new RangeFormatException(hand);
+      }
+      setWeight(first, second, weight, grid);
+      return;
+    }
+
+    int dash = hand.indexOf('-');
+    if (dash >= 0) {
+      HandClass from = HandClass.parse(hand.substring(0, dash).trim());
+      HandClass to = HandClass.parse(hand.substring(dash + 1).trim());
+      if (from.kind != to.kind || from.isPair() != to.isPair()) {
+        throw new RangeFormatException(hand);
+      }
+      if (from.isPair()) {
+        addPairs(Math.min(from.high, to.high), Math.max(from.high, to.high), weight, grid);
+      } else if (from.high == to.high) {
+        addKickers(from.high, Math.min(from.low, to.low), Math.max(from.low, to.low), from.kind,
+            weight, grid);
+      } else if (from.low - from.high == to.low - to.high) {
+        HandClass top = from.high < to.high ? from : to;
+        HandClass bottom = from.high < to.high ? to : from;
+        for (int step = 0; top.high + step <= bottom.high; ++step) {
+          addClass(top.high + step, top.low + step, from.kind, weight, grid);
+        }
+      } else {
+        throw new RangeFormatException(hand);
+      }
+    } else if (hand.endsWith("+")) {
+      HandClass from = HandClass.parse(hand.substring(0, hand.length() - 1).trim());
+      if (from.isPair()) {
+        addPairs(0, from.high, weight, grid);
+      } else {
+        addKickers(from.high, from.high + 1, from.low, from.kind, weight, grid);
+      }
+    } else {
+      HandClass single = HandClass.parse(hand);
+      addClass(single.high, single.low, single.kind, weight, grid);
+    }
+  }
+
+  /**
+   * Helper method that sets the weight of every combo of a run of pairs. Ranks are
+   * {@link Rank#ordinal()} values, so a lower number is a higher rank.
+   */
+  private static void addPairs(int firstRank, int lastRank, int weight, int[] grid) {
+    for (int rank = firstRank; rank <= lastRank; ++rank) {
+      addClass(rank, rank, (char) 0, weight, grid);
+    }
+  }
+
+  /**
+   * Helper method that sets the weight of every combo of a run of kickers under one rank. Ranks
+   * are {@link Rank#ordinal()} values, so a lower number is a higher rank.
+   */
+  private static void addKickers(int high, int firstLow, int lastLow, char kind, int weight,
+      int[] grid) {
+    for (int low = firstLow; low <= lastLow; ++low) {
+      addClass(high, low, kind, weight, grid);
+    }
+  }
+
+  /**
+   * Helper method that sets the weight of every combo of a pair or hand class.
+   *
+   * @param high {@link Rank#ordinal()} of the higher card
+   * @param low {@link Rank#ordinal()} of the lower card; equal to {@code high} for a pair
+   * @param kind 's' for suited combos only, 'o' for offsuit combos only, or 0 for both
+   * @param weight weight to set
+   * @param grid weights of the range so far
+   */
+  private static void addClass(int high, int low, char kind, int weight, int[] grid) {
+    for (int suit = 0; suit < SUITS; ++suit) {
+      for (int otherSuit = 0; otherSuit < SUITS; ++otherSuit) {
+        boolean suited = suit == otherSuit;
+        if ((high == low && suit >= otherSuit) || (suited && kind == 'o')
+            || (!suited && kind == 's')) {
+          continue;
+        }
+        setWeight(suit * CardSet.RANKS_PER_SUIT + high, otherSuit * CardSet.RANKS_PER_SUIT + low,
+            weight, grid);
+      }
+    }
+  }
+
+  private static void setWeight(int card, int otherCard, int weight, int[] grid) {
+    grid[Math.min(card, otherCard) * CardSet.DECK_SIZE + Math.max(card, otherCard)] = weight;
+  }
+
+  /**
+   * A pair, or two ranks and whether their cards are suited, offsuit or either.
+   */
+  private static class HandClass {
+    /**
+     * {@link Rank#ordinal()} of the higher card.
+     */
+    final int high;
+    /**
+     * {@link Rank#ordinal()} of the lower card.
+     */
+    final int low;
+    final char kind;
+
+    HandClass(int high, int low, char kind) {
+      this.high = high;
+      this.low = low;
+      this.kind = kind;
+    }
+
+    boolean isPair() {
+      return high == low;
+    }
+
+    /**
+     * Parse a pair, such as {@code QQ}, or a hand class, such as {@code AKs}, {@code AKo} or
+     * {@code AK}. The ranks may be given in either order.
+     */
+    static HandClass parse(String input) throws CardFormatException, RangeFormatException {
+      if (input.length() < 2 || input.length() > 3) {
+        throw new RangeFormatException(input);
+      }
+      int first = CardFactory.parseRank(input.charAt(0)).ordinal();
+      int second = CardFactory.parseRank(input.charAt(1)).ordinal();
+      char kind = input.length() == 3 ? input.charAt(2) : 0;
+      if ((kind != 0 && kind != 's' && kind != 'o') || (first == second && kind != 0)) {
+        throw new RangeFormatException(input);
+      }
+      return new HandClass(Math.min(first, second), Math.max(first, second), kind);
+    }
+  }
+}
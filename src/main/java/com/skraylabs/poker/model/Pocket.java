@@ -32,23 +32,13 @@ public class Pocket {
   }
 
   /**
-   * Copy constructor.
+   * Copy constructor. {@link Card}s are immutable, so they are shared rather than copied.
    *
    * @param pocket non-null instance from which to copy attributes.
    */
   public Pocket(Pocket pocket) {
-    // Assign card1
-    if (pocket.card1 == null) {
-      this.card1 = null;
-    } else {
-      this.card1 = new Card(pocket.card1);
-    }
-    // Assign card2
-    if (pocket.card2 == null) {
-      this.card2 = null;
-    } else {
-      this.card2 = new Card(pocket.card2);
-    }
+    this.card1 = pocket.card1;
+    this.card2 = pocket.card2;
   }
 
   /**
@@ -0,0 +1,44 @@
+package com.skraylabs.poker.model;
+
+/**
+ * A checked exception thrown when a string cannot be resolved to the expected {@link HandRange}
+ * format.
+ */
+public class RangeFormatException extends PokerFormatException {
+
+  /**
+   * Generated serial ID.
+   */
+  private static final long serialVersionUID = 3306128417635920541L;
+
+  /**
+   * Default detail message used when the invalid string sample is not provided.
+   */
+  public static final String MSG_DEFAULT =
+      "The provided string could not be resolved to a hand range format.";
+
+  /**
+   * Detail message used when the invalid string sample is provided. Expects one String argument.
+   */
+  public static final String MSG_WITH_INVALID_STRING =
+      "The string <\"%s\"> could not be resolved to a hand range format.";
+
+  /**
+   * Default constructor.
+   */
+  public RangeFormatException() {
+    super(MSG_DEFAULT);
+  }
+
+  /**
+   * Initializing constructor.
+   *
+   * @param invalidString offending string
+   */
+  public RangeFormatException(String invalidString) {
+    super(formatMessageForInvalidString(MSG_DEFAULT, MSG_WITH_INVALID_STRING, invalidString));
+    if (invalidString != null) {
+      this.invalidString = invalidString;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.skraylabs.poker.outcome;
+
+/**
+ * A player's showdown results over every way the board can be completed: how often the player wins
+ * outright, how often the player ties for the best hand, and what share of the pot the player can
+ * expect.
+ */
+public class Equity {
+
+  /**
+   * Pot-share units per pot. Divisible by every player count from 1 to 10, so that a split pot is
+   * counted exactly.
+   */
+  static final long SHARE_UNITS = 2520;
+
+  private final long wins;
+  private final long ties;
+  private final long shareUnits;
+  private final long total;
+
+  /**
+   * Initializing constructor.
+   *
+   * @param wins number of boards on which the player wins outright
+   * @param ties number of boards on which the player ties for the best hand
+   * @param shareUnits sum of the player's pot share over every board, in {@link #SHARE_UNITS} per
+   *        pot
+   * @param total number of boards enumerated
+   */
+  Equity(long wins, long ties, long shareUnits, long total) {
+    this.wins = wins;
+    this.ties = ties;
+    this.shareUnits = shareUnits;
+    this.total = total;
+  }
+
+  public long getWins() {
+    return this.wins;
+  }
+
+  public long getTies() {
+    return this.ties;
+  }
+
+  public long getCountTotal() {
+    return this.total;
+  }
+
+  public double getWinPercentage() {
+    return ((double) this.wins) / this.total;
+  }
+
+  public double getTiePercentage() {
+    return ((double) this.ties) / this.total;
+  }
+
+  /**
+   * Expected share of the pot: 1 for every board won outright, and an equal split of the pot for
+   * every board tied, averaged over all boards.
+   *
+   * @return pot share in range [0, 1]
+   */
+  public double getPotShare() {
+    return ((double) this.shareUnits) / SHARE_UNITS / this.total;
+  }
+}
@@ -0,0 +1,87 @@
+package com.skraylabs.poker.outcome;
+
+/**
+ * A probability estimated from random samples: how often an event was seen, out of how many
+ * samples, and how precise that makes the estimate.
+ */
+public class Estimate {
+
+  /**
+   * Standard normal quantile for a two-sided 95% confidence interval.
+   */
+  private static final double Z_95 = 1.959963984540054;
+
+  private final long hits;
+  private final long samples;
+
+  /**
+   * Initializing constructor.
+   *
+   * @param hits number of samples in which the event happened
+   * @param samples number of samples drawn; must be positive
+   */
+  Estimate(long hits, long samples) {
+    this.hits = hits;
+    this.samples = samples;
+  }
+
+  public long getHits() {
+    return this.hits;
+  }
+
+  public long getSampleCount() {
+    return this.samples;
+  }
+
+  public double getProbability() {
+    return ((double) this.hits) / this.samples;
+  }
+
+  /**
+   * Standard error of {@link #getProbability()}: the standard deviation of a proportion measured
+   * over this many samples.
+   *
+   * @return standard error in range [0, 0.5]
+   */
+  public double getStandardError() {
+    double probability = getProbability();
+    return Math.sqrt(probability * (1 - probability) / this.samples);
+  }
+
+  /**
+   * Lower end of the 95% confidence interval of the probability. The Wilson score interval is used,
+   * which stays inside [0, 1] and does not collapse to a single point for events that were never,
+   * or always, seen.
+   *
+   * @return lower bound in range [0, {@link #getProbability()}]
+   */
+  public double getLowerBound() {
+    return this.hits == 0 ? 0 : Math.max(0, wilsonCenter() - wilsonHalfWidth());
+  }
+
+  /**
+   * Upper end of the 95% confidence interval of the probability; see {@link #getLowerBound()}.
+   *
+   * @return upper bound in range [{@link #getProbability()}, 1]
+   */
+  public double getUpperBound() {
+    return this.hits == this.samples ? 1 : Math.min(1, wilsonCenter() + wilsonHalfWidth());
+  }
+
+  private double wilsonCenter() {
+    double zz = Z_95 * Z_95 / this.samples;
+    return (getProbability() + zz / 2) / (1 + zz);
+  }
+
+  private double wilsonHalfWidth() {
+    double zz = Z_95 * Z_95 / this.samples;
+    double probability = getProbability();
+    return Z_95 / (1 + zz)
+        * Math.sqrt(probability * (1 - probability) / this.samples + zz / (4 * this.samples));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%f [%f, %f]", getProbability(), getLowerBound(), getUpperBound());
+  }
+}
@@ -0,0 +1,412 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.Card;
+import com.skraylabs.poker.model.CardSet;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Rank a hand of 5, 6 or 7 cards by the best five-card Poker hand it contains.
+ *
+ * <p>
+ * Every five-card hand falls into one of {@value #HAND_STRENGTHS} equivalence classes; hands in the
+ * same class tie at showdown. A hand's class is reported as a strength in range [1,
+ * {@value #HAND_STRENGTHS}], where a greater strength beats a lesser one: 1 is 7-5-4-3-2 of mixed
+ * suits, and {@value #HAND_STRENGTHS} is a Royal Flush.
+ *
+ * <p>
+ * Strengths are read from lookup tables that are built once, when the class is loaded:
+ * <ul>
+ * <li>a flush table, indexed by the rank field of a suit that holds five or more cards;</li>
+ * <li>a table for hands in which no rank repeats, indexed by their rank mask; and</li>
+ * <li>a rank-hash table for every other hand, indexed by a perfect hash of how many cards of each
+ * rank the hand holds.</li>
+ * </ul>
+ * Evaluating a hand does not allocate.
+ */
+public class HandEvaluator {
+
+  /**
+   * Number of distinct five-card hand strengths.
+   */
+  public static final int HAND_STRENGTHS = 7462;
+
+  /**
+   * Fewest cards that can be evaluated.
+   */
+  public static final int MIN_HAND_SIZE = 5;
+
+  /**
+   * Most cards that can be evaluated.
+   */
+  public static final int MAX_HAND_SIZE = 7;
+
+  private static final int RANKS = CardSet.RANKS_PER_SUIT;
+  private static final int MAX_OF_A_KIND = 4;
+  private static final int CATEGORIES = Outcome.STRAIGHT_FLUSH.ordinal() + 2;
+  private static final int CATEGORY_SHIFT = 4 * MIN_HAND_SIZE;
+  private static final Outcome[] OUTCOMES = Outcome.values();
+
+  /**
+   * Strength of a suit field holding five to seven cards, as the best Flush or Straight Flush.
+   */
+  private static final short[] FLUSH_STRENGTHS = new short[1 << RANKS];
+
+  /**
+   * Strength of a rank mask holding five to seven ranks, as the best Straight or High Card.
+   */
+  private static final short[] UNIQUE_STRENGTHS = new short[1 << RANKS];
+
+  /**
+   * Strength of every other hand, indexed by {@link #rankHash(int[], int)}.
+   */
+  private static final short[] RANK_HASH_STRENGTHS;
+
+  /**
+   * Number of ways that <i>n</i> ranks can hold <i>k</i> cards, indexed by [n][k].
+   */
+  private static final int[][] RANK_FILLS = new int[RANKS + 1][MAX_HAND_SIZE + 1];
+
+  /**
+   * Hash term for a rank holding <i>count</i> cards when <i>left</i> cards remain to be placed in
+   * it and the ranks after it. Indexed by {@link #rankOffsetIndex(int, int, int)}.
+   */
+  private static final int[] RANK_OFFSETS =
+      new int[RANKS * (MAX_HAND_SIZE + 1) * (MAX_OF_A_KIND + 1)];
+
+  /**
+   * First rank hash of each hand size.
+   */
+  private static final int[] RANK_HASH_BASES = new int[MAX_HAND_SIZE + 2];
+
+  /**
+   * Lowest strength of each {@link Outcome}, indexed by {@link Outcome#ordinal()}.
+   */
+  private static final int[] OUTCOME_FLOORS = new int[OUTCOMES.length];
+
+  /**
+   * Score of every five-card hand class, sorted; a class's strength is its index plus one.
+   */
+  private static final long[] SCORES = new long[HAND_STRENGTHS];
+
+  static {
+    buildRankHash();
+    buildScores();
+    RANK_HASH_STRENGTHS = new short[RANK_HASH_BASES[MAX_HAND_SIZE + 1]];
+    int[] counts = new int[RANKS];
+    for (int size = MIN_HAND_SIZE; size <= MAX_HAND_SIZE; ++size) {
+      fillRankHashStrengths(counts, 0, size, size);
+    }
+    for (int ranks = 0; ranks < FLUSH_STRENGTHS.length; ++ranks) {
+      int size = Integer.bitCount(ranks);
+      if (size >= MIN_HAND_SIZE && size <= MAX_HAND_SIZE) {
+        for (int rank = 0; rank < RANKS; ++rank) {
+          counts[rank] = (ranks >>> rank) & 1;
+        }
+        FLUSH_STRENGTHS[ranks] = (short) bestStrength(counts, true);
+        UNIQUE_STRENGTHS[ranks] = (short) bestStrength(counts, false);
+      }
+    }
+  }
+
+  /**
+   * Evaluate a set of cards.
+   *
+   * @param cards {@link CardSet} of 5, 6 or 7 cards
+   * @return strength of the best five-card hand in {@code cards}; an integer in range [1,
+   *         {@value #HAND_STRENGTHS}]
+   */
+  public static int evaluate(long cards) {
+    int size = Long.bitCount(cards);
+    if (size < MIN_HAND_SIZE || size > MAX_HAND_SIZE) {
+      throw new IllegalArgumentException(String.format(
+          "Parameter \"cards\" must hold from %d to %d cards.", MIN_HAND_SIZE, MAX_HAND_SIZE));
+    }
+    int spades = CardSet.ranksOfSuit(cards, 0);
+    int hearts = CardSet.ranksOfSuit(cards, 1);
+    int diamonds = CardSet.ranksOfSuit(cards, 2);
+    int clubs = CardSet.ranksOfSuit(cards, 3);
+    // With seven cards or fewer, a Flush leaves too few cards for a Full House or Four of a Kind
+    if (Integer.bitCount(spades) >= MIN_HAND_SIZE) {
+      return FLUSH_STRENGTHS[spades];
+    } else if (Integer.bitCount(hearts) >= MIN_HAND_SIZE) {
+      return FLUSH_STRENGTHS[hearts];
+    } else if (Integer.bitCount(diamonds) >= MIN_HAND_SIZE) {
+      return FLUSH_STRENGTHS[diamonds];
+    } else if (Integer.bitCount(clubs) >= MIN_HAND_SIZE) {
+      return FLUSH_STRENGTHS[clubs];
+    }
+    int ranks = spades | hearts | diamonds | clubs;
+    if (Integer.bitCount(ranks) == size) {
+      return UNIQUE_STRENGTHS[ranks];
+    }
+    int pairs = (spades & hearts) | (diamonds & clubs) | ((spades | hearts) & (diamonds | clubs));
+    int trips = (spades & hearts & (diamonds | clubs)) | (diamonds & clubs & (spades | hearts));
+    int quads = spades & hearts & diamonds & clubs;
+    int hash = RANK_HASH_BASES[size];
+    int cardsLeft = size;
+    for (int remaining = ranks; remaining != 0; remaining &= remaining - 1) {
+      int rank = Integer.numberOfTrailingZeros(remaining);
+      int count = 1 + ((pairs >>> rank) & 1) + ((trips >>> rank) & 1) + ((quads >>> rank) & 1);
+      hash += RANK_OFFSETS[rankOffsetIndex(rank, cardsLeft, count)];
+      cardsLeft -= count;
+    }
+    return RANK_HASH_STRENGTHS[hash];
+  }
+
+  /**
+   * Evaluate a collection of cards.
+   *
+   * @param cards non-null collection of 5, 6 or 7 distinct cards
+   * @return strength of the best five-card hand in {@code cards}; an integer in range [1,
+   *         {@value #HAND_STRENGTHS}]
+   */
+  public static int evaluate(Collection<Card> cards) {
+    return evaluate(CardSet.fromCards(cards));
+  }
+
+  /**
+   * Find the best {@link Outcome} of a hand with a given strength. The result agrees with the
+   * strongest outcome reported by {@link OutcomeChecker} for the same hand.
+   *
+   * @param strength an integer in range [1, {@value #HAND_STRENGTHS}]
+   * @return the strongest {@link Outcome} of a hand with {@code strength}, or {@code null} for a
+   *         High Card hand
+   */
+  public static Outcome outcomeOf(int strength) {
+    if (strength < 1 || strength > HAND_STRENGTHS) {
+      throw new IllegalArgumentException(
+          String.format("Parameter \"strength\" must be in range [1, %d].", HAND_STRENGTHS));
+    }
+    Outcome result = null;
+    for (Outcome outcome : OUTCOMES) {
+      if (strength < OUTCOME_FLOORS[outcome.ordinal()]) {
+        break;
+      }
+      result = outcome;
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that computes the perfect hash of a hand from how many cards it holds of each
+   * rank. Hands of the same size are numbered consecutively, in lexicographic order of their
+   * counts, starting at {@code RANK_HASH_BASES[size]}.
+   *
+   * @param counts number of cards held of each rank, indexed by {@link CardSet} rank bit
+   * @param size sum of {@code counts}
+   * @return index into {@link #RANK_HASH_STRENGTHS}
+   */
+  private static int rankHash(int[] counts, int size) {
+    int hash = RANK_HASH_BASES[size];
+    int cardsLeft = size;
+    for (int rank = 0; rank < RANKS; ++rank) {
+      if (counts[rank] > 0) {
+        hash += RANK_OFFSETS[rankOffsetIndex(rank, cardsLeft, counts[rank])];
+        cardsLeft -= counts[rank];
+      }
+    }
+    return hash;
+  }
+
+  private static int rankOffsetIndex(int rank, int cardsLeft, int count) {
+    return (rank * (MAX_HAND_SIZE + 1) + cardsLeft) * (MAX_OF_A_KIND + 1) + count;
+  }
+
+  /**
+   * Helper method that builds the tables behind {@link #rankHash(int[], int)}.
+   */
+  private static void buildRankHash() {
+    RANK_FILLS[0][0] = 1;
+    for (int ranks = 1; ranks <= RANKS; ++ranks) {
+      for (int cards = 0; cards <= MAX_HAND_SIZE; ++cards) {
+        for (int count = 0; count <= Math.min(MAX_OF_A_KIND, cards); ++count) {
+          RANK_FILLS[ranks][cards] += RANK_FILLS[ranks - 1][cards - count];
+        }
+      }
+    }
+    // Hands that hold fewer cards of a rank, with the same counts before it, hash lower
+    for (int rank = 0; rank < RANKS; ++rank) {
+      int ranksAfter = RANKS - rank - 1;
+      for (int cardsLeft = 0; cardsLeft <= MAX_HAND_SIZE; ++cardsLeft) {
+        int offset = 0;
+        for (int count = 0; count <= Math.min(MAX_OF_A_KIND, cardsLeft); ++count) {
+          RANK_OFFSETS[rankOffsetIndex(rank, cardsLeft, count)] = offset;
+          offset += RANK_FILLS[ranksAfter][cardsLeft - count];
+        }
+      }
+    }
+    for (int size = MIN_HAND_SIZE; size <= MAX_HAND_SIZE; ++size) {
+      RANK_HASH_BASES[size + 1] = RANK_HASH_BASES[size] + RANK_FILLS[RANKS][size];
+    }
+  }
+
+  /**
+   * Helper method that scores and sorts every five-card hand class, and records where each
+   * {@link Outcome} begins.
+   */
+  private static void buildScores() {
+    int index = 0;
+    for (int ranks = 0; ranks < FLUSH_STRENGTHS.length; ++ranks) {
+      if (Integer.bitCount(ranks) == MIN_HAND_SIZE) {
+        int[] counts = new int[RANKS];
+        for (int rank = 0; rank < RANKS; ++rank) {
+          counts[rank] = (ranks >>> rank) & 1;
+        }
+        SCORES[index++] = score(counts, true);
+      }
+    }
+    int[] counts = new int[RANKS];
+    index = scoreUnsuited(counts, 0, MIN_HAND_SIZE, index);
+    if (index != HAND_STRENGTHS) {
+      throw new IllegalStateException("Logic error!");
+    }
+    Arrays.sort(SCORES);
+
+    int[] categoryFloors = new int[CATEGORIES];
+    for (int strength = HAND_STRENGTHS; strength >= 1; --strength) {
+      categoryFloors[(int) (SCORES[strength - 1] >>> CATEGORY_SHIFT)] = strength;
+    }
+    // Category 0 is High Card; Outcomes follow from Two of a Kind upward, and a Royal Flush is the
+    // single strongest Straight Flush
+    for (Outcome outcome : OUTCOMES) {
+      OUTCOME_FLOORS[outcome.ordinal()] = outcome == Outcome.ROYAL_FLUSH ? HAND_STRENGTHS
+          : categoryFloors[outcome.ordinal() + 1];
+    }
+  }
+
+  /**
+   * Helper method that scores every unsuited five-card hand class, by counts of each rank.
+   *
+   * @param counts counts chosen so far for the ranks before {@code rank}
+   * @param rank next rank to choose a count for
+   * @param cardsLeft cards not yet given a rank
+   * @param index next free index in {@link #SCORES}
+   * @return next free index in {@link #SCORES} after scoring
+   */
+  private static int scoreUnsuited(int[] counts, int rank, int cardsLeft, int index) {
+    if (rank == RANKS) {
+      if (cardsLeft == 0) {
+        SCORES[index++] = score(counts, false);
+      }
+      return index;
+    }
+    for (int count = 0; count <= Math.min(MAX_OF_A_KIND, cardsLeft); ++count) {
+      counts[rank] = count;
+      index = scoreUnsuited(counts, rank + 1, cardsLeft - count, index);
+    }
+    counts[rank] = 0;
+    return index;
+  }
+
+  /**
+   * Helper method that fills {@link #RANK_HASH_STRENGTHS} for every hand of a given size.
+   *
+   * @param counts counts chosen so far for the ranks before {@code rank}
+   * @param rank next rank to choose a count for
+   * @param cardsLeft cards not yet given a rank
+   * @param size number of cards in each hand
+   */
+  private static void fillRankHashStrengths(int[] counts, int rank, int cardsLeft, int size) {
+    if (rank == RANKS) {
+      if (cardsLeft == 0) {
+        RANK_HASH_STRENGTHS[rankHash(counts, size)] = (short) bestStrength(counts, false);
+      }
+      return;
+    }
+    for (int count = 0; count <= Math.min(MAX_OF_A_KIND, cardsLeft); ++count) {
+      counts[rank] = count;
+      fillRankHashStrengths(counts, rank + 1, cardsLeft - count, size);
+    }
+    counts[rank] = 0;
+  }
+
+  /**
+   * Helper method that finds the strength of the best five cards in a hand.
+   *
+   * @param counts number of cards held of each rank
+   * @param flush whether every card in the hand has the same suit
+   * @return strength of the best five-card hand
+   */
+  private static int bestStrength(int[] counts, boolean flush) {
+    long best = bestScore(counts, new int[RANKS], 0, MIN_HAND_SIZE, flush);
+    return Arrays.binarySearch(SCORES, best) + 1;
+  }
+
+  private static long bestScore(int[] counts, int[] hand, int rank, int cardsLeft,
+      boolean flush) {
+    if (cardsLeft == 0) {
+      return score(hand, flush);
+    } else if (rank == RANKS) {
+      return -1;
+    }
+    long best = -1;
+    for (int count = Math.min(counts[rank], cardsLeft); count >= 0; --count) {
+      hand[rank] = count;
+      best = Math.max(best, bestScore(counts, hand, rank + 1, cardsLeft - count, flush));
+    }
+    hand[rank] = 0;
+    return best;
+  }
+
+  /**
+   * Helper method that scores a five-card hand so that stronger hands score higher and equivalent
+   * hands score the same. The category (0 for High Card up to 8 for Straight Flush) is followed by
+   * one 4-bit digit per distinct rank, ordered by count and then by rank.
+   *
+   * @param counts number of cards held of each rank; sums to 5
+   * @param flush whether every card in the hand has the same suit
+   * @return score of the hand
+   */
+  private static long score(int[] counts, boolean flush) {
+    long digits = 0;
+    int groups = 0;
+    int maxCount = 0;
+    for (int count = MAX_OF_A_KIND; count >= 1; --count) {
+      for (int rank = 0; rank < RANKS; ++rank) {
+        if (counts[rank] == count) {
+          // Ace is 14 down to Two is 2
+          digits = (digits << 4) | (RANKS + 1 - rank);
+          maxCount = Math.max(maxCount, count);
+          ++groups;
+        }
+      }
+    }
+    boolean straight = false;
+    if (groups == MIN_HAND_SIZE) {
+      long high = digits >>> (4 * (MIN_HAND_SIZE - 1));
+      long low = digits & 0xF;
+      if (high - low == MIN_HAND_SIZE - 1) {
+        straight = true;
+      } else if (digits == 0xE5432L) {
+        // Ace plays low in 5-4-3-2-A
+        straight = true;
+        digits = 0x54321L;
+      }
+    }
+    digits <<= 4 * (MIN_HAND_SIZE - groups);
+
+    int category;
+    if (straight && flush) {
+      category = 8;
+    } else if (maxCount == 4) {
+      category = 7;
+    } else if (maxCount == 3 && groups == 2) {
+      category = 6;
+    } else if (flush) {
+      category = 5;
+    } else if (straight) {
+      category = 4;
+    } else if (maxCount == 3) {
+      category = 3;
+    } else if (maxCount == 2 && groups == 3) {
+      category = 2;
+    } else if (maxCount == 2) {
+      category = 1;
+    } else {
+      category = 0;
+    }
+    return ((long) category << CATEGORY_SHIFT) | digits;
+  }
+}
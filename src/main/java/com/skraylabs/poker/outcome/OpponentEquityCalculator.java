@@ -0,0 +1,397 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.CardSet;
+import com.skraylabs.poker.model.CompactGameState;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.Pocket;
+
+import java.util.SplittableRandom;
+
+/**
+ * For a given {@link GameState}, calculates the showdown equity of every player whose pocket cards
+ * are known against a number of opponents whose pocket cards are not. Each opponent holds a random
+ * pocket dealt from the undealt cards, and takes part in every showdown.
+ *
+ * <p>
+ * Every deal -- the rest of the board, plus a pocket for each opponent -- is enumerated when there
+ * are at most {@link #getExactLimit()} of them. Otherwise deals are sampled at random, as in
+ * {@link OutcomeSampler}, until {@link #getSampleBudget()} of them have been settled. Sampling is
+ * seeded, so a calculator gives the same equity every time it is asked.
+ */
+public class OpponentEquityCalculator {
+
+  /**
+   * Number of deals up to which equity is enumerated exactly by default.
+   */
+  public static final long DEFAULT_EXACT_LIMIT = 5000000L;
+
+  /**
+   * Number of deals sampled by default when there are too many to enumerate.
+   */
+  public static final long DEFAULT_SAMPLE_BUDGET = 1000000L;
+
+  private static final int BOARD_SIZE = 5;
+  private static final int POCKET_SIZE = 2;
+
+  private final CompactGameState state;
+  private final int opponents;
+  private final long exactLimit;
+  private final long sampleBudget;
+  private final long seed;
+
+  /**
+   * Initializing constructor for a calculator that treats every player of {@code gameState} whose
+   * {@link Pocket} is unknown as a random opponent, and that uses {@link #DEFAULT_EXACT_LIMIT} and
+   * {@link #DEFAULT_SAMPLE_BUDGET}.
+   *
+   * @param gameState game to calculate equity for
+   * @param seed seed of the random deals, if they are sampled
+   */
+  public OpponentEquityCalculator(GameState gameState, long seed) {
+    this(CompactGameState.fromGameState(gameState), unknownPocketsOf(gameState),
+        DEFAULT_EXACT_LIMIT, DEFAULT_SAMPLE_BUDGET, seed);
+  }
+
+  /**
+   * Initializing constructor. Dead cards of {@code state} are never dealt.
+   *
+   * @param state game to calculate equity for; players without two pocket cards are ignored
+   * @param opponents number of random opponents; at most {@link GameState#MAX_PLAYERS} players in
+   *        all
+   * @param exactLimit number of deals up to which equity is enumerated rather than sampled
+   * @param sampleBudget number of deals to sample otherwise; at least 1
+   * @param seed seed of the random deals, if they are sampled
+   */
+  public OpponentEquityCalculator(CompactGameState state, int opponents, long exactLimit,
+      long sampleBudget, long seed) {
+    int knownPlayers = knownPlayersOf(state, new int[GameState.MAX_PLAYERS]);
+    if (opponents < 0 || knownPlayers + opponents > GameState.MAX_PLAYERS) {
+      throw new IllegalArgumentException(String.format(
+          "Parameter \"opponents\" must be in range [0, %d].",
+          GameState.MAX_PLAYERS - knownPlayers));
+    }
+    int cardsToDeal = BOARD_SIZE - state.getBoardSize() + POCKET_SIZE * opponents;
+    if (CardSet.size(CardSet.FULL_DECK & ~state.getDealtCards()) < cardsToDeal) {
+      throw new IllegalArgumentException(
+          "Parameter \"opponents\" must leave enough undealt cards for every pocket.");
+    }
+    if (exactLimit < 0) {
+      throw new IllegalArgumentException("Parameter \"exactLimit\" must be non-negative.");
+    }
+    if (sampleBudget < 1) {
+      throw new IllegalArgumentException("Parameter \"sampleBudget\" must be at least 1.");
+    }
+    this.state = state;
+    this.opponents = opponents;
+    this.exactLimit = exactLimit;
+    this.sampleBudget = sampleBudget;
+    this.seed = seed;
+  }
+
+  public int getOpponents() {
+    return opponents;
+  }
+
+  public long getExactLimit() {
+    return exactLimit;
+  }
+
+  public long getSampleBudget() {
+    return sampleBudget;
+  }
+
+  /**
+   * Count the deals that an exact calculation enumerates, before suit symmetry is taken into
+   * account: every completion of the board, times every set of distinct opponent pockets. Opponents
+   * are interchangeable, so the order in which pockets go to them does not matter.
+   *
+   * @return number of deals; {@link Double#POSITIVE_INFINITY} if it is too large for a double
+   */
+  public double getDealCount() {
+    int deckSize = CardSet.size(CardSet.FULL_DECK & ~state.getDealtCards());
+    int boardCards = BOARD_SIZE - state.getBoardSize();
+    double result = choose(deckSize, boardCards);
+    deckSize -= boardCards;
+    for (int i = 1; i <= opponents; ++i) {
+      result *= choose(deckSize, POCKET_SIZE) / i;
+      deckSize -= POCKET_SIZE;
+    }
+    return result;
+  }
+
+  /**
+   * Check whether {@link #equityForKnownPlayers()} enumerates every deal.
+   *
+   * @return {@code true} if there are at most {@link #getExactLimit()} deals; {@code false} if
+   *         deals are sampled
+   */
+  public boolean isExact() {
+    return getDealCount() <= exactLimit;
+  }
+
+  /**
+   * Report the showdown equity of every player whose pocket cards are known, against each other
+   * and against the random opponents. A known player ties when the best hand is shared with any
+   * other player, known or not.
+   *
+   * @return equity for each player, indexed like {@link GameState#getPockets()}; {@code null} for
+   *         any player without two pocket cards. Counts are of deals, enumerated or sampled.
+   */
+  public Equity[] equityForKnownPlayers() {
+    int[] players = new int[GameState.MAX_PLAYERS];
+    int handCount = knownPlayersOf(state, players);
+    long[] hands = new long[handCount];
+    for (int i = 0; i < handCount; ++i) {
+      hands[i] = state.getPocket(players[i]);
+    }
+
+    Showdown showdown = new Showdown(hands, opponents);
+    long dealtCards = state.getDealtCards();
+    long[] deck = OutcomeCalculator.makeDeckOfUndealtCards(dealtCards);
+    int cardsToDeal = BOARD_SIZE - state.getBoardSize();
+    long total = 0;
+    if (handCount > 0) {
+      if (isExact()) {
+        SuitSymmetry symmetry = OutcomeCalculator.symmetryOf(dealtCards, state.getBoard(), hands);
+        total = showdown.enumerateBoards(state.getBoard(), deck, 0, cardsToDeal, symmetry);
+      } else {
+        total = showdown.sample(state.getBoard(), deck, cardsToDeal, new SplittableRandom(seed),
+            sampleBudget);
+      }
+    }
+
+    Equity[] result = new Equity[GameState.MAX_PLAYERS];
+    for (int i = 0; i < handCount; ++i) {
+      result[players[i]] =
+          new Equity(showdown.wins[i], showdown.ties[i], showdown.shares[i], total);
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that counts the players of a game whose {@link Pocket} is unknown: those seated
+   * below {@link GameState#getPlayerCount()} without one.
+   *
+   * @param gameState game to count players of
+   * @return number of unknown Pockets
+   */
+  static int unknownPocketsOf(GameState gameState) {
+    Pocket[] pockets = gameState.getPockets();
+    int result = 0;
+    for (int i = 0; i < gameState.getPlayerCount(); ++i) {
+      if (pockets[i] == null) {
+        ++result;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that finds the players of a game whose pocket cards are known.
+   *
+   * @param state game to search
+   * @param players array to fill with the index of each such player, in order
+   * @return number of players found
+   */
+  private static int knownPlayersOf(CompactGameState state, int[] players) {
+    int result = 0;
+    for (int i = 0; i < GameState.MAX_PLAYERS; ++i) {
+      if (CardSet.size(state.getPocket(i)) == POCKET_SIZE) {
+        players[result++] = i;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that computes a binomial coefficient.
+   *
+   * @param count number of items to choose from
+   * @param chosen number of items to choose
+   * @return number of ways to choose {@code chosen} of {@code count} items
+   */
+  private static double choose(int count, int chosen) {
+    double result = 1;
+    for (int i = 0; i < chosen; ++i) {
+      result = result * (count - i) / (i + 1);
+    }
+    return result;
+  }
+
+  /**
+   * Showdowns of known hands against random opponents, and counters of how each known hand fares
+   * in them. No objects are created while enumerating or sampling.
+   */
+  private static class Showdown {
+    final long[] hands;
+    final int opponents;
+    final long[] wins;
+    final long[] ties;
+    final long[] shares;
+    final int[] strengths;
+    /**
+     * Every pocket an opponent may hold on the current board, and its strength there.
+     */
+    final long[] pockets = new long[CardSet.DECK_SIZE * (CardSet.DECK_SIZE - 1) / 2];
+    final int[] pocketStrengths = new int[pockets.length];
+    int pocketCount;
+
+    Showdown(long[] hands, int opponents) {
+      this.hands = hands;
+      this.opponents = opponents;
+      this.wins = new long[hands.length];
+      this.ties = new long[hands.length];
+      this.shares = new long[hands.length];
+      this.strengths = new int[hands.length];
+    }
+
+    /**
+     * Enumerate, in place, every way to deal {@code cardsToDeal} more cards from
+     * {@code deck[start..]}, skipping relabelings under {@code symmetry} like
+     * {@link OutcomeCalculator#countShowdowns}, then every set of opponent pockets on each board.
+     *
+     * @return number of deals enumerated, counting each relabeled board
+     */
+    long enumerateBoards(long board, long[] deck, int start, int cardsToDeal,
+        SuitSymmetry symmetry) {
+      if (cardsToDeal <= 0) {
+        // Board is complete; rank every hand and every pocket an opponent may hold on it
+        rankHands(board);
+        pocketCount = 0;
+        for (int i = 0; i < deck.length; ++i) {
+          if ((board & deck[i]) != 0) {
+            continue;
+          }
+          for (int j = i + 1; j < deck.length; ++j) {
+            if ((board & deck[j]) == 0) {
+              pockets[pocketCount] = deck[i] | deck[j];
+              pocketStrengths[pocketCount++] = SevenCardTable.evaluate(board | deck[i] | deck[j]);
+            }
+          }
+        }
+        long weight = symmetry.weight(board);
+        return weight * enumerateOpponents(0, CardSet.EMPTY, opponents, 0, 0, weight);
+      }
+      // Board is incomplete
+      long total = 0;
+      for (int i = start; i <= deck.length - cardsToDeal; ++i) {
+        if (symmetry.admits(board, deck[i])) {
+          total += enumerateBoards(board | deck[i], deck, i + 1, cardsToDeal - 1, symmetry);
+        }
+      }
+      return total;
+    }
+
+    /**
+     * Enumerate every set of {@code opponentsLeft} more pockets from {@code pockets[start..]} that
+     * share no card with {@code usedCards}, and settle the showdown of each.
+     *
+     * @param start index of the first pocket that may still be dealt
+     * @param usedCards {@link CardSet} of the opponent pockets dealt so far
+     * @param opponentsLeft number of opponents still without a pocket
+     * @param opponentBest strength of the best opponent hand so far
+     * @param opponentBestCount number of opponents with that hand
+     * @param weight number of deals that each set stands for
+     * @return number of sets enumerated
+     */
+    private long enumerateOpponents(int start, long usedCards, int opponentsLeft, int opponentBest,
+        int opponentBestCount, long weight) {
+      if (opponentsLeft <= 0) {
+        settle(opponentBest, opponentBestCount, weight);
+        return 1;
+      }
+      long total = 0;
+      for (int i = start; i < pocketCount; ++i) {
+        if ((usedCards & pockets[i]) == 0) {
+          int strength = pocketStrengths[i];
+          if (strength > opponentBest) {
+            total += enumerateOpponents(i + 1, usedCards | pockets[i], opponentsLeft - 1, strength,
+                1, weight);
+          } else {
+            total += enumerateOpponents(i + 1, usedCards | pockets[i], opponentsLeft - 1,
+                opponentBest, opponentBestCount + (strength == opponentBest ? 1 : 0), weight);
+          }
+        }
+      }
+      return total;
+    }
+
+    /**
+     * Deal random boards and opponent pockets from {@code deck}, and settle the showdown of each.
+     *
+     * @return number of deals sampled
+     */
+    long sample(long board, long[] deck, int cardsToDeal, SplittableRandom random,
+        long sampleBudget) {
+      long[] cards = deck.clone();
+      int dealSize = cardsToDeal + POCKET_SIZE * opponents;
+      for (long samples = 0; samples < sampleBudget; ++samples) {
+        // Partial Fisher-Yates shuffle: the first dealSize cards become a uniform random deal
+        for (int i = 0; i < dealSize; ++i) {
+          int pick = i + random.nextInt(cards.length - i);
+          long card = cards[pick];
+          cards[pick] = cards[i];
+          cards[i] = card;
+        }
+        long fullBoard = board;
+        for (int i = 0; i < cardsToDeal; ++i) {
+          fullBoard |= cards[i];
+        }
+        rankHands(fullBoard);
+        int opponentBest = 0;
+        int opponentBestCount = 0;
+        for (int i = cardsToDeal; i < dealSize; i += POCKET_SIZE) {
+          int strength = SevenCardTable.evaluate(fullBoard | cards[i] | cards[i + 1]);
+          if (strength > opponentBest) {
+            opponentBest = strength;
+            opponentBestCount = 1;
+          } else if (strength == opponentBest) {
+            ++opponentBestCount;
+          }
+        }
+        settle(opponentBest, opponentBestCount, 1);
+      }
+      return sampleBudget;
+    }
+
+    /**
+     * Rank every known hand on a complete board.
+     */
+    private void rankHands(long board) {
+      for (int i = 0; i < hands.length; ++i) {
+        strengths[i] = SevenCardTable.evaluate(board | hands[i]);
+      }
+    }
+
+    /**
+     * Settle one showdown between the known hands, as last ranked, and the opponents. The best hand
+     * wins; equally strong best hands tie and split the pot.
+     *
+     * @param opponentBest strength of the best opponent hand; 0 if there are no opponents
+     * @param opponentBestCount number of opponents with that hand
+     * @param weight number of deals that the showdown stands for
+     */
+    private void settle(int opponentBest, int opponentBestCount, long weight) {
+      int best = opponentBest;
+      for (int strength : strengths) {
+        best = Math.max(best, strength);
+      }
+      int winnerCount = best == opponentBest ? opponentBestCount : 0;
+      for (int strength : strengths) {
+        if (strength == best) {
+          ++winnerCount;
+        }
+      }
+      for (int i = 0; i < strengths.length; ++i) {
+        if (strengths[i] == best) {
+          if (winnerCount == 1) {
+            wins[i] += weight;
+          } else {
+            ties[i] += weight;
+          }
+          shares[i] += weight * (Equity.SHARE_UNITS / winnerCount);
+        }
+      }
+    }
+  }
+}
@@ -12,5 +12,15 @@ public enum Outcome {
   FULL_HOUSE,
   FOUR_OF_A_KIND,
   STRAIGHT_FLUSH,
-  ROYAL_FLUSH
+  ROYAL_FLUSH;
+
+  /**
+   * Bit that represents this outcome in an outcome bitmask, as returned by
+   * {@link OutcomeChecker#outcomeFlags(long)}.
+   *
+   * @return {@code 1 << ordinal()}
+   */
+  public int flag() {
+    return 1 << ordinal();
+  }
 }
@@ -0,0 +1,210 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.CompactGameState;
+import com.skraylabs.poker.model.GameState;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of outcome probabilities, in front of {@link OutcomeCalculator}.
+ *
+ * <p>
+ * Games are keyed by their {@link CompactGameState#canonical()} relabeling, so a game is a hit for
+ * every game that differs from it only by suit labels. Entries are evicted in least recently used
+ * order once their estimated size exceeds a byte budget. The estimate counts the key, the
+ * probabilities and the map entry holding them, but not the JVM's exact object layout.
+ *
+ * <p>
+ * A cache is safe to share between threads. Lookups hold a lock only briefly; probabilities are
+ * calculated outside of it, so two threads that miss on the same game at once both calculate it.
+ */
+public class OutcomeCache {
+
+  /**
+   * Byte budget of a cache by default: 64 MiB.
+   */
+  public static final long DEFAULT_BYTE_BUDGET = 64L << 20;
+
+  /**
+   * Estimated size of an entry, apart from the probabilities of its players: the key and its
+   * pocket array, the value array and the map entry.
+   */
+  static final long ENTRY_BYTES = 256;
+
+  /**
+   * Estimated size of the probabilities of one player.
+   */
+  static final long PLAYER_BYTES = 16 + 8 * Outcome.values().length;
+
+  private static final Outcome[] OUTCOMES = Outcome.values();
+
+  private final long byteBudget;
+  private final LinkedHashMap<CompactGameState, double[][]> entries =
+      new LinkedHashMap<>(16, 0.75f, true);
+  private long byteCount;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Initializing constructor.
+   *
+   * @param byteBudget estimated size that the entries of the cache may take up, in bytes
+   */
+  public OutcomeCache(long byteBudget) {
+    if (byteBudget < 0) {
+      throw new IllegalArgumentException("Parameter \"byteBudget\" must be non-negative.");
+    }
+    this.byteBudget = byteBudget;
+  }
+
+  /**
+   * Look up the probabilities of each kind of poker {@link Outcome} for every player of a game,
+   * calculating and caching them on a miss.
+   *
+   * @param state game to look up
+   * @return same as {@link OutcomeCalculator#allOutcomesForAllPlayers()} for {@code state}
+   */
+  public List<Map<Outcome, Double>> allOutcomesForAllPlayers(CompactGameState state) {
+    CompactGameState key = state.canonical();
+    double[][] probabilities;
+    synchronized (this) {
+      probabilities = entries.get(key);
+      if (probabilities != null) {
+        ++hitCount;
+      } else {
+        ++missCount;
+      }
+    }
+    if (probabilities == null) {
+      probabilities = toArrays(new OutcomeCalculator(key).allOutcomesForAllPlayers());
+      put(key, probabilities);
+    }
+    return toMaps(probabilities);
+  }
+
+  public long getByteBudget() {
+    return byteBudget;
+  }
+
+  /**
+   * Access the estimated size of the entries of the cache.
+   *
+   * @return estimated size in bytes; at most {@link #getByteBudget()}
+   */
+  public synchronized long getByteCount() {
+    return byteCount;
+  }
+
+  public synchronized int getEntryCount() {
+    return entries.size();
+  }
+
+  /**
+   * Access the number of lookups answered from the cache.
+   *
+   * @return number of hits so far
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Access the number of lookups that had to be calculated.
+   *
+   * @return number of misses so far
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Access the number of entries removed to stay within the byte budget.
+   *
+   * @return number of evictions so far
+   */
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Estimate the size of an entry.
+   *
+   * @param probabilities probabilities of the entry, indexed by player; {@code null} for players
+   *        without a Pocket
+   * @return estimated size in bytes
+   */
+  static long entryBytes(double[][] probabilities) {
+    long result = ENTRY_BYTES;
+    for (double[] player : probabilities) {
+      if (player != null) {
+        result += PLAYER_BYTES;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that adds an entry, then evicts least recently used entries until the cache is
+   * within its byte budget. An entry larger than the whole budget is not added.
+   */
+  private synchronized void put(CompactGameState key, double[][] probabilities) {
+    long bytes = entryBytes(probabilities);
+    if (bytes > byteBudget) {
+      return;
+    }
+    double[][] previous = entries.put(key, probabilities);
+    if (previous != null) {
+      byteCount -= entryBytes(previous);
+    }
+    byteCount += bytes;
+    Iterator<double[][]> eldest = entries.values().iterator();
+    while (byteCount > byteBudget) {
+      byteCount -= entryBytes(eldest.next());
+      eldest.remove();
+      ++evictionCount;
+    }
+  }
+
+  /**
+   * Helper method that packs probabilities into arrays indexed by player, then by
+   * {@link Outcome#ordinal()}.
+   */
+  private static double[][] toArrays(List<Map<Outcome, Double>> probabilities) {
+    double[][] result = new double[GameState.MAX_PLAYERS][];
+    for (int i = 0; i < GameState.MAX_PLAYERS; ++i) {
+      Map<Outcome, Double> player = probabilities.get(i);
+      if (player != null) {
+        result[i] = new double[OUTCOMES.length];
+        for (Outcome outcome : OUTCOMES) {
+          result[i][outcome.ordinal()] = player.get(outcome);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that unpacks probabilities into a new map for each player, so that callers can
+   * never change a cached entry.
+   */
+  private static List<Map<Outcome, Double>> toMaps(double[][] probabilities) {
+    List<Map<Outcome, Double>> result = new ArrayList<>();
+    for (double[] player : probabilities) {
+      Map<Outcome, Double> map = null;
+      if (player != null) {
+        map = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : OUTCOMES) {
+          map.put(outcome, player[outcome.ordinal()]);
+        }
+      }
+      result.add(map);
+    }
+    return result;
+  }
+}
@@ -1,30 +1,76 @@
 package com.skraylabs.poker.outcome;
 
-import com.skraylabs.poker.model.Board;
 import com.skraylabs.poker.model.Card;
-import com.skraylabs.poker.model.CardUtils;
+import com.skraylabs.poker.model.CardSet;
+import com.skraylabs.poker.model.CompactGameState;
 import com.skraylabs.poker.model.GameState;
 import com.skraylabs.poker.model.Pocket;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * For a given {@link com.skraylabs.poker.model.GameState}, calculates the outcome probability for
  * each Player.
+ *
+ * <p>
+ * An enumeration of boards is abandoned if the thread that runs it is interrupted: the calculation
+ * then throws a {@link java.util.concurrent.CancellationException}, and the thread stays
+ * interrupted.
  */
-public class OutcomeCalculator {
+public class OutcomeCalculator implements OutcomeEngine {
 
-  private static final int DECK_SIZE = 52;
+  private static final int BOARD_SIZE = 5;
+  private static final int OUTCOME_COUNT = Outcome.values().length;
 
-  private GameState gameState;
+  private final CompactGameState state;
+  private final int parallelism;
 
   public OutcomeCalculator(GameState gameState) {
-    this.gameState = gameState;
+    this(gameState, 1);
+  }
+
+  public OutcomeCalculator(CompactGameState state) {
+    this(state, 1);
+  }
+
+  /**
+   * Initializing constructor for a calculator that may enumerate boards on several threads.
+   * Results are identical to those of a sequential calculation.
+   *
+   * @param gameState game to calculate outcomes for
+   * @param parallelism number of threads to enumerate boards on; 1 to enumerate them on the
+   *        calling thread
+   */
+  public OutcomeCalculator(GameState gameState, int parallelism) {
+    this(gameState == null ? null : CompactGameState.fromGameState(gameState), parallelism);
+  }
+
+  /**
+   * Initializing constructor for a calculator that may enumerate boards on several threads.
+   * Results are identical to those of a sequential calculation. Dead cards of {@code state} are
+   * never dealt.
+   *
+   * @param state game to calculate outcomes for
+   * @param parallelism number of threads to enumerate boards on; 1 to enumerate them on the
+   *        calling thread
+   */
+  public OutcomeCalculator(CompactGameState state, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parameter \"parallelism\" must be at least 1.");
+    }
+    this.state = state;
+    this.parallelism = parallelism;
+  }
+
+  public int getParallelism() {
+    return parallelism;
   }
 
   /**
@@ -33,6 +79,10 @@ public class OutcomeCalculator {
    * type of outcome, this method offers a way to batch together calculations for multiple outcome
    * types.
    *
+   * <p>
+   * A lone pocket with an empty board is looked up in the precomputed {@link PreflopOutcomes}
+   * table instead of being enumerated.
+   *
    * @param outcomes specifies which {@link Outcome} types to calculate
    * @param playerIndex index of Player in the GameState. A number in range [0, 9].
    *
@@ -45,17 +95,26 @@ public class OutcomeCalculator {
           .format("Parameter \"playerIndex\" must be in range [0, %d].", GameState.MAX_PLAYERS));
     }
 
-    Collection<Card> dealtCards = CardUtils.collectCards(gameState);
-    Collection<Card> deck = makeDeckOfUndealtCards(dealtCards);
+    long dealtCards = state.getDealtCards();
+    long[] deck = makeDeckOfUndealtCards(dealtCards);
 
     // Iterate through every possible GameState branch
-    Board board = gameState.getBoard();
-    Pocket pocket = gameState.getPockets()[playerIndex];
-    Map<Outcome, WinLossCounter> counts = countOutcomes(outcomes, CardUtils.collectCards(board),
-        CardUtils.collectCards(pocket), deck);
+    long hand = state.getBoard() | state.getPocket(playerIndex);
+    long[] wins = preflopWins(hand, dealtCards);
+    long total = PreflopOutcomes.BOARD_COUNT;
+    if (wins == null) {
+      SuitSymmetry symmetry = SuitSymmetry.of(dealtCards, hand);
+      int flags = flagsOf(outcomes);
+      wins = new long[OUTCOME_COUNT];
+      total = enumerate((cards, start, cardsToDeal, counters) -> countOutcomes(flags, cards,
+          deck, start, cardsToDeal, symmetry, counters[0]), hand, deck,
+          BOARD_SIZE - state.getBoardSize(), symmetry, new long[][] {wins});
+    }
 
-    Map<Outcome, Double> result = counts.entrySet().stream().collect(
-        Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue().getWinPercentage()));
+    Map<Outcome, Double> result = new EnumMap<>(Outcome.class);
+    for (Outcome outcome : outcomes) {
+      result.put(outcome, ((double) wins[outcome.ordinal()]) / total);
+    }
     return result;
   }
 
@@ -71,12 +130,147 @@ public class OutcomeCalculator {
     return results.get(outcome);
   }
 
+  /**
+   * Generic helper method that calculates the probabilities of multiple outcomes for every player
+   * at once. The remaining boards are enumerated a single time, and each player's hand is checked
+   * on every board; this is much cheaper than a call to
+   * {@link #outcomesForAPlayer(Collection, int)} for each player.
+   *
+   * @param outcomes specifies which {@link Outcome} types to calculate
+   * @return probabilities for each type of {@link Outcome} requested, indexed like
+   *         {@link GameState#getPockets()}; {@code null} for any player without a {@link Pocket}
+   */
+  List<Map<Outcome, Double>> outcomesForAllPlayers(Collection<Outcome> outcomes) {
+    int[] players = new int[GameState.MAX_PLAYERS];
+    long[] pocketCards = new long[GameState.MAX_PLAYERS];
+    int handCount = 0;
+    for (int i = 0; i < GameState.MAX_PLAYERS; ++i) {
+      if (state.hasPocket(i)) {
+        players[handCount] = i;
+        pocketCards[handCount++] = state.getPocket(i);
+      }
+    }
+    long[] hands = Arrays.copyOf(pocketCards, handCount);
+
+    long dealtCards = state.getDealtCards();
+    long[] deck = makeDeckOfUndealtCards(dealtCards);
+    long boardCards = state.getBoard();
+    long[][] wins = new long[handCount][];
+    long total = PreflopOutcomes.BOARD_COUNT;
+    if (handCount == 1) {
+      wins[0] = preflopWins(boardCards | hands[0], dealtCards);
+    }
+    if (handCount != 1 || wins[0] == null) {
+      SuitSymmetry symmetry = symmetryOf(dealtCards, boardCards, hands);
+      int flags = flagsOf(outcomes);
+      wins = new long[handCount][OUTCOME_COUNT];
+      total = enumerate((cards, start, cardsToDeal, counters) -> countOutcomes(flags, cards,
+          hands, deck, start, cardsToDeal, symmetry, counters), boardCards, deck,
+          BOARD_SIZE - state.getBoardSize(), symmetry, wins);
+    }
+
+    List<Map<Outcome, Double>> result =
+        new ArrayList<>(Collections.nCopies(GameState.MAX_PLAYERS, null));
+    for (int i = 0; i < handCount; ++i) {
+      Map<Outcome, Double> probabilities = new EnumMap<>(Outcome.class);
+      for (Outcome outcome : outcomes) {
+        probabilities.put(outcome, ((double) wins[i][outcome.ordinal()]) / total);
+      }
+      result.set(players[i], probabilities);
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that looks up the outcome counts of a lone pocket before the flop, in the
+   * precomputed {@link PreflopOutcomes} table.
+   *
+   * @param hand {@link CardSet} of board and pocket cards of the player
+   * @param dealtCards {@link CardSet} of every card dealt in the game
+   * @return outcome counts over all {@link PreflopOutcomes#BOARD_COUNT} boards, indexed by
+   *         {@link Outcome#ordinal()}; or {@code null} if the board is not empty, other cards are
+   *         dealt, or the table is not available
+   */
+  private static long[] preflopWins(long hand, long dealtCards) {
+    if (hand != dealtCards || CardSet.size(hand) != 2) {
+      return null;
+    }
+    return PreflopOutcomes.winsFor(hand);
+  }
+
+  /**
+   * Helper method that looks up the showdown counts of two pockets before the flop, in the
+   * precomputed {@link PreflopEquities} table.
+   *
+   * @param hands pocket cards of each player, each a {@link CardSet}
+   * @param dealtCards {@link CardSet} of every card dealt in the game
+   * @param wins counters indexed like {@code hands}; set to the boards each hand wins outright
+   * @param ties counters indexed like {@code hands}; set to the boards the hands tie
+   * @param shares counters indexed like {@code hands}; set to each hand's share of the pot, in
+   *        {@link Equity#SHARE_UNITS} per pot
+   * @return {@link PreflopEquities#BOARD_COUNT}; or 0, leaving the counters alone, if there are not
+   *         exactly two hands, the board is not empty, other cards are dealt, or the table is not
+   *         available
+   */
+  private static long preflopShowdowns(long[] hands, long dealtCards, long[] wins, long[] ties,
+      long[] shares) {
+    if (hands.length != 2 || (hands[0] | hands[1]) != dealtCards) {
+      return 0;
+    }
+    long[] counts = PreflopEquities.countsFor(hands[0], hands[1]);
+    if (counts == null) {
+      return 0;
+    }
+    for (int i = 0; i < 2; ++i) {
+      wins[i] = counts[i];
+      ties[i] = counts[2];
+      shares[i] = counts[i] * Equity.SHARE_UNITS + counts[2] * (Equity.SHARE_UNITS / 2);
+    }
+    return PreflopEquities.BOARD_COUNT;
+  }
+
+  /**
+   * Helper method that runs an enumeration of boards, on {@link #getParallelism()} threads if there
+   * are more than one. Threads come from a pool shared by every calculator of the same
+   * parallelism.
+   *
+   * @param walker sequential walk of the boards below a partial board
+   * @param cards {@link CardSet} of cards dealt so far
+   * @param deck undealt cards, each a single-card {@link CardSet}, in increasing order
+   * @param cardsToDeal number of board cards left to deal
+   * @param symmetry suits that may be relabeled; the one {@code walker} walks with
+   * @param counters counters that {@code walker} increments
+   * @return number of boards enumerated
+   * @throws java.util.concurrent.CancellationException if the calling thread is interrupted
+   *         before the enumeration is done
+   */
+  private long enumerate(ParallelEnumeration.Walker walker, long cards, long[] deck,
+      int cardsToDeal, SuitSymmetry symmetry, long[][] counters) {
+    if (parallelism <= 1) {
+      if (cardsToDeal <= 0) {
+        return walker.walk(cards, 0, cardsToDeal, counters);
+      }
+      // Deal the first card here, so that an interrupted calculation stops between subtrees
+      long total = 0;
+      for (int i = 0; i <= deck.length - cardsToDeal; ++i) {
+        if (symmetry.admits(cards, deck[i])) {
+          ParallelEnumeration.checkInterrupted();
+          total += walker.walk(cards | deck[i], i + 1, cardsToDeal - 1, counters);
+        }
+      }
+      return total;
+    }
+    ForkJoinPool pool = ParallelEnumeration.poolFor(parallelism);
+    return new ParallelEnumeration(pool, walker, deck, symmetry).enumerate(cards, cardsToDeal,
+        counters);
+  }
+
   /**
    * Helper method that evaluates all the remaining combinations for a given set of board cards and
    * counts how many of contain a given Poker type (e.g. Two of a Kind).
    *
    * @param outcomes events to count
-   * @param board cards collected from a {@link Board}
+   * @param board cards collected from a {@link com.skraylabs.poker.model.Board}
    * @param pocket cards collected from a {@link Pocket}
    * @param undealtCards collection of cards that have yet to be dealt
    * @return Map of Outcomes to Points, where each Point is a pair of numbers (x, y) where x is the
@@ -84,66 +278,347 @@ public class OutcomeCalculator {
    */
   static Map<Outcome, WinLossCounter> countOutcomes(Collection<Outcome> outcomes,
       Collection<Card> board, Collection<Card> pocket, Collection<Card> undealtCards) {
-    Map<Outcome, WinLossCounter> result = outcomes.stream()
-        .collect(Collectors.toMap(outcome -> outcome, outcome -> new WinLossCounter()));
-    if (board.size() == 5) {
+    long hand = CardSet.fromCards(board) | CardSet.fromCards(pocket);
+    long[] deck = new long[undealtCards.size()];
+    int index = 0;
+    for (Card card : undealtCards) {
+      deck[index++] = CardSet.of(card);
+    }
+    long[] wins = new long[OUTCOME_COUNT];
+    long total =
+        countOutcomes(flagsOf(outcomes), hand, deck, 0, BOARD_SIZE - board.size(), wins);
+
+    Map<Outcome, WinLossCounter> result = new EnumMap<>(Outcome.class);
+    for (Outcome outcome : outcomes) {
+      long outcomeWins = wins[outcome.ordinal()];
+      result.put(outcome, new WinLossCounter((int) outcomeWins, (int) (total - outcomeWins)));
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that enumerates, in place, every way to deal {@code cardsToDeal} more cards from
+   * {@code deck[start..]} and counts how many of the resulting hands contain each outcome.
+   *
+   * <p>
+   * Cards are picked in increasing deck index, so each combination is visited exactly once. Each
+   * completed hand is evaluated once with {@link SevenCardTable#outcomeFlags(long)}, however many
+   * outcomes are requested. No objects are created while enumerating.
+   *
+   * <p>
+   * Each hand is evaluated from its {@link CardSet} alone, rather than from rank and suit counts
+   * that are updated as each card is dealt and taken back: folding the four suit fields of the set
+   * takes a few bit operations, which is cheaper than keeping such counts up to date.
+   *
+   * @param outcomes bitmask of {@link Outcome#flag()} values to count
+   * @param hand {@link CardSet} of board and pocket cards dealt so far
+   * @param deck undealt cards, each a single-card {@link CardSet}
+   * @param start index of the first card in {@code deck} that may still be dealt
+   * @param cardsToDeal number of board cards left to deal
+   * @param wins counters indexed by {@link Outcome#ordinal()}; incremented once for every
+   *        combination that contains the outcome
+   * @return number of combinations enumerated
+   */
+  static long countOutcomes(int outcomes, long hand, long[] deck, int start, int cardsToDeal,
+      long[] wins) {
+    return countOutcomes(outcomes, hand, deck, start, cardsToDeal, SuitSymmetry.NONE, wins);
+  }
+
+  /**
+   * Helper method that does the same as
+   * {@link #countOutcomes(int, long, long[], int, int, long[])}, but evaluates only one board of
+   * each group of boards that are relabelings of each other under {@code symmetry}. Each evaluated
+   * board is counted once for every board in its group.
+   *
+   * <p>
+   * At each incomplete board, outcomes that the hand already holds, or can no longer reach (see
+   * {@link OutcomeChecker#reachableFlags(long, long, int, int)}), are decided for the whole
+   * subtree: they are credited with its board count and dropped from the outcomes checked below
+   * it. Once every requested outcome is decided, the subtree is counted without evaluating it.
+   *
+   * @param outcomes bitmask of {@link Outcome#flag()} values to count
+   * @param hand {@link CardSet} of board and pocket cards dealt so far
+   * @param deck undealt cards, each a single-card {@link CardSet}, in increasing order
+   * @param start index of the first card in {@code deck} that may still be dealt
+   * @param cardsToDeal number of board cards left to deal
+   * @param symmetry suits that may be relabeled; must preserve {@code hand} and the cards missing
+   *        from {@code deck}
+   * @param wins counters indexed by {@link Outcome#ordinal()}; incremented for every combination
+   *        that contains the outcome
+   * @return number of combinations enumerated
+   */
+  static long countOutcomes(int outcomes, long hand, long[] deck, int start, int cardsToDeal,
+      SuitSymmetry symmetry, long[] wins) {
+    if (cardsToDeal <= 0) {
       // Board is complete
-      Collection<Card> cards = collectHandCards(board, pocket);
-      OutcomeChecker checker = new OutcomeChecker(cards);
-      for (Outcome outcome : outcomes) {
-        if (checker.hasOutcome(outcome)) {
-          result.get(outcome).incrementWinsBy(1);
-        } else {
-          result.get(outcome).incrementLossesBy(1);
-        }
+      long weight = symmetry.weight(hand);
+      for (int flags = SevenCardTable.outcomeFlags(hand) & outcomes; flags != 0;
+          flags &= flags - 1) {
+        wins[Integer.numberOfTrailingZeros(flags)] += weight;
       }
+      return weight;
+    }
+    // Board is incomplete
+    // Outcomes already made are won on every board below, and unreachable outcomes on none
+    int made = OutcomeChecker.outcomeFlags(hand) & outcomes;
+    int open = OutcomeChecker.reachableFlags(hand, availableCards(hand, deck, start), cardsToDeal,
+        outcomes & ~made);
+    long total = 0;
+    if (open == 0) {
+      total = countBoards(hand, deck, start, cardsToDeal, symmetry);
     } else {
-      // Board is incomplete
-      // Recurse on all possible cards that could be dealt next
-      Collection<Card> dealtCards = new ArrayList<>();
-      for (Card card : undealtCards) {
-        Collection<Card> nextBoard = new ArrayList<>(board);
-        nextBoard.add(card);
-        dealtCards.add(card);
-        Collection<Card> nextUndealtCards = new ArrayList<>(undealtCards);
-        nextUndealtCards.removeAll(dealtCards);
-        Map<Outcome, WinLossCounter> nextCounts =
-            countOutcomes(outcomes, nextBoard, pocket, nextUndealtCards);
-        for (Map.Entry<Outcome, WinLossCounter> entry : result.entrySet()) {
-          entry.getValue().incrementBy(nextCounts.get(entry.getKey()));
+      // Deal each card that leaves enough cards behind it to finish the board, skipping
+      // relabelings
+      for (int i = start; i <= deck.length - cardsToDeal; ++i) {
+        if (symmetry.admits(hand, deck[i])) {
+          total +=
+              countOutcomes(open, hand | deck[i], deck, i + 1, cardsToDeal - 1, symmetry, wins);
         }
       }
     }
-    return result;
+    for (; made != 0; made &= made - 1) {
+      wins[Integer.numberOfTrailingZeros(made)] += total;
+    }
+    return total;
+  }
+
+  /**
+   * Helper method that enumerates, in place, every way to deal {@code cardsToDeal} more cards from
+   * {@code deck[start..]} and counts, for each of several pockets, how many of the resulting hands
+   * contain each outcome.
+   *
+   * <p>
+   * This is {@link #countOutcomes(int, long, long[], int, int, SuitSymmetry, long[])} for many
+   * pockets that share one board: each board is dealt once, and each pocket's hand on it is
+   * evaluated once with {@link SevenCardTable#outcomeFlags(long)}. A subtree is counted without
+   * evaluating it once every requested outcome is decided for every pocket. No objects are created
+   * while enumerating.
+   *
+   * @param outcomes bitmask of {@link Outcome#flag()} values to count
+   * @param board {@link CardSet} of board cards dealt so far
+   * @param pockets pocket cards of each player, each a {@link CardSet}
+   * @param deck undealt cards, each a single-card {@link CardSet}, in increasing order
+   * @param start index of the first card in {@code deck} that may still be dealt
+   * @param cardsToDeal number of board cards left to deal
+   * @param symmetry suits that may be relabeled; must preserve {@code board}, each pocket's hand,
+   *        and the cards missing from {@code deck}
+   * @param wins counters indexed by pocket, then by {@link Outcome#ordinal()}; incremented for
+   *        every combination in which the pocket's hand contains the outcome
+   * @return number of combinations enumerated
+   */
+  static long countOutcomes(int outcomes, long board, long[] pockets, long[] deck, int start,
+      int cardsToDeal, SuitSymmetry symmetry, long[][] wins) {
+    if (cardsToDeal <= 0) {
+      // Board is complete
+      long weight = symmetry.weight(board);
+      for (int i = 0; i < pockets.length; ++i) {
+        long[] pocketWins = wins[i];
+        for (int flags = SevenCardTable.outcomeFlags(board | pockets[i]) & outcomes; flags != 0;
+            flags &= flags - 1) {
+          pocketWins[Integer.numberOfTrailingZeros(flags)] += weight;
+        }
+      }
+      return weight;
+    }
+    // Board is incomplete
+    // When no pocket has an outcome left open, credit the outcomes already made to every board
+    // below
+    boolean decided = true;
+    for (int i = 0; i < pockets.length && decided; ++i) {
+      long hand = board | pockets[i];
+      int made = OutcomeChecker.outcomeFlags(hand) & outcomes;
+      decided = OutcomeChecker.reachableFlags(hand, availableCards(hand, deck, start), cardsToDeal,
+          outcomes & ~made) == 0;
+    }
+    if (decided) {
+      long total = countBoards(board, deck, start, cardsToDeal, symmetry);
+      for (int i = 0; i < pockets.length; ++i) {
+        for (int made = OutcomeChecker.outcomeFlags(board | pockets[i]) & outcomes; made != 0;
+            made &= made - 1) {
+          wins[i][Integer.numberOfTrailingZeros(made)] += total;
+        }
+      }
+      return total;
+    }
+    // Deal each card that leaves enough cards behind it to finish the board, skipping relabelings
+    long total = 0;
+    for (int i = start; i <= deck.length - cardsToDeal; ++i) {
+      if (symmetry.admits(board, deck[i])) {
+        total += countOutcomes(outcomes, board | deck[i], pockets, deck, i + 1, cardsToDeal - 1,
+            symmetry, wins);
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Helper method that counts the boards that can be dealt from {@code deck[start..]}, without
+   * evaluating them. With no symmetry, this is a binomial coefficient; otherwise the canonical
+   * boards are enumerated and their weights summed.
+   *
+   * @param hand {@link CardSet} of cards dealt so far
+   * @param deck undealt cards, each a single-card {@link CardSet}, in increasing order
+   * @param start index of the first card in {@code deck} that may still be dealt
+   * @param cardsToDeal number of board cards left to deal
+   * @param symmetry suits that may be relabeled
+   * @return number of boards
+   */
+  static long countBoards(long hand, long[] deck, int start, int cardsToDeal,
+      SuitSymmetry symmetry) {
+    if (symmetry.isTrivial()) {
+      long result = 1;
+      int cards = deck.length - start;
+      for (int i = 0; i < cardsToDeal; ++i) {
+        result = result * (cards - i) / (i + 1);
+      }
+      return result;
+    } else if (cardsToDeal <= 0) {
+      return symmetry.weight(hand);
+    }
+    long total = 0;
+    for (int i = start; i <= deck.length - cardsToDeal; ++i) {
+      if (symmetry.admits(hand, deck[i])) {
+        total += countBoards(hand | deck[i], deck, i + 1, cardsToDeal - 1, symmetry);
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Helper method that collects the cards that may still be added to a hand: the cards in
+   * {@code deck[start..]}, plus any higher cards that are dealt elsewhere. The result can only be
+   * too generous, which keeps {@link OutcomeChecker#reachableFlags(long, long, int, int)}
+   * conservative.
+   *
+   * @param hand {@link CardSet} of cards dealt so far
+   * @param deck undealt cards, each a single-card {@link CardSet}, in increasing order
+   * @param start index of the first card in {@code deck} that may still be dealt
+   * @return {@link CardSet} of cards outside {@code hand} from {@code deck[start]} up
+   */
+  private static long availableCards(long hand, long[] deck, int start) {
+    if (start >= deck.length) {
+      return CardSet.EMPTY;
+    }
+    // Negating a single-bit set gives that bit and every bit above it
+    return CardSet.FULL_DECK & ~hand & -deck[start];
+  }
+
+  /**
+   * Helper method that enumerates, in place, every way to deal {@code cardsToDeal} more cards from
+   * {@code deck[start..]} and settles the showdown between every hand on each resulting board.
+   *
+   * <p>
+   * Only one board of each group of relabelings under {@code symmetry} is visited, and it is
+   * counted once for every board in its group. Each hand is ranked on it with
+   * {@link SevenCardTable#evaluate(long)}. The best hand wins; equally strong best hands tie and
+   * split the pot. No objects are created while enumerating.
+   *
+   * @param board {@link CardSet} of board cards dealt so far
+   * @param hands pocket cards of each player, each a {@link CardSet}; at most
+   *        {@link GameState#MAX_PLAYERS}
+   * @param deck undealt cards, each a single-card {@link CardSet}, in increasing order
+   * @param start index of the first card in {@code deck} that may still be dealt
+   * @param cardsToDeal number of board cards left to deal
+   * @param symmetry suits that may be relabeled; must preserve {@code board}, each hand, and the
+   *        cards missing from {@code deck}
+   * @param wins counters indexed like {@code hands}; incremented for every board that the hand wins
+   *        outright
+   * @param ties counters indexed like {@code hands}; incremented for every board on which the hand
+   *        ties for the best hand
+   * @param shares counters indexed like {@code hands}; incremented by the hand's share of the pot
+   *        on every board, in {@link Equity#SHARE_UNITS} per pot
+   * @return number of boards enumerated
+   */
+  static long countShowdowns(long board, long[] hands, long[] deck, int start, int cardsToDeal,
+      SuitSymmetry symmetry, long[] wins, long[] ties, long[] shares) {
+    if (cardsToDeal <= 0) {
+      // Board is complete
+      long weight = symmetry.weight(board);
+      int best = 0;
+      int winners = 0;
+      for (int i = 0; i < hands.length; ++i) {
+        int strength = SevenCardTable.evaluate(board | hands[i]);
+        if (strength > best) {
+          best = strength;
+          winners = 1 << i;
+        } else if (strength == best) {
+          winners |= 1 << i;
+        }
+      }
+      int winnerCount = Integer.bitCount(winners);
+      if (winnerCount == 1) {
+        int winner = Integer.numberOfTrailingZeros(winners);
+        wins[winner] += weight;
+        shares[winner] += weight * Equity.SHARE_UNITS;
+      } else {
+        for (; winners != 0; winners &= winners - 1) {
+          int winner = Integer.numberOfTrailingZeros(winners);
+          ties[winner] += weight;
+          shares[winner] += weight * (Equity.SHARE_UNITS / winnerCount);
+        }
+      }
+      return weight;
+    }
+    // Board is incomplete
+    // Deal each card that leaves enough cards behind it to finish the board, skipping relabelings
+    long total = 0;
+    for (int i = start; i <= deck.length - cardsToDeal; ++i) {
+      if (symmetry.admits(board, deck[i])) {
+        total += countShowdowns(board | deck[i], hands, deck, i + 1, cardsToDeal - 1, symmetry,
+            wins, ties, shares);
+      }
+    }
+    return total;
   }
 
   /**
-   * Helper method that creates a full deck of 52 cards minus a collection of cards that have
-   * already been dealt. This is useful when evaluating which outcomes are possible given an
-   * incomplete {@link GameState}.
+   * Helper method that finds the suits that can be relabeled when dealing onto a shared board.
    *
-   * @param cardsToExclude cards that should not be part of the undealt deck
-   * @return deck of cards minus {@code cardsToExclude}
+   * @param dealtCards {@link CardSet} of every card that may not be dealt
+   * @param board {@link CardSet} of board cards dealt so far
+   * @param pockets pocket cards of each player, each a {@link CardSet}
+   * @return symmetry that preserves {@code dealtCards}, {@code board} and each player's hand
    */
-  private Collection<Card> makeDeckOfUndealtCards(Collection<Card> cardsToExclude) {
-    return IntStream.range(0, DECK_SIZE)
-        .mapToObj(CardUtils::cardFromNumber)
-        .filter(card -> !cardsToExclude.contains(card))
-        .collect(Collectors.toList());
+  static SuitSymmetry symmetryOf(long dealtCards, long board, long[] pockets) {
+    long[] fixedSets = new long[pockets.length + 2];
+    fixedSets[0] = dealtCards;
+    fixedSets[1] = board;
+    for (int i = 0; i < pockets.length; ++i) {
+      fixedSets[i + 2] = board | pockets[i];
+    }
+    return SuitSymmetry.of(fixedSets);
   }
 
   /**
-   * Helper method to gather cards that could form a player's hand -- the combination of community
-   * cards (Board) and Pocket cards.
+   * Helper method that combines outcomes into a bitmask.
    *
-   * @param board Board cards
-   * @param pocket Pocket cards
-   * @return Collection of cards drawn from {@code board} and {@code pocket}
+   * @param outcomes outcomes to combine
+   * @return bitmask of the {@link Outcome#flag()} of each of {@code outcomes}
    */
-  static Collection<Card> collectHandCards(Collection<Card> board, Collection<Card> pocket) {
-    Collection<Card> cards = new ArrayList<>(board);
-    cards.addAll(pocket);
-    return cards;
+  static int flagsOf(Collection<Outcome> outcomes) {
+    int result = 0;
+    for (Outcome outcome : outcomes) {
+      result |= outcome.flag();
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that creates a full deck of 52 cards minus a set of cards that have already been
+   * dealt. This is useful when evaluating which outcomes are possible given an incomplete
+   * {@link GameState}.
+   *
+   * @param cardsToExclude {@link CardSet} of cards that should not be part of the undealt deck
+   * @return deck of cards minus {@code cardsToExclude}, each card as a single-card {@link CardSet}
+   */
+  static long[] makeDeckOfUndealtCards(long cardsToExclude) {
+    long undealt = CardSet.FULL_DECK & ~cardsToExclude;
+    long[] result = new long[CardSet.size(undealt)];
+    for (int i = 0; i < result.length; ++i) {
+      result[i] = Long.lowestOneBit(undealt);
+      undealt &= undealt - 1;
+    }
+    return result;
   }
 
   /**
@@ -166,6 +641,63 @@ public class OutcomeCalculator {
     return outcomesForAPlayer(outcomes, playerIndex);
   }
 
+  /**
+   * Report the probabilities of each kind of poker {@link Outcome} for every player. The remaining
+   * boards are enumerated once for the whole table, rather than once per player.
+   *
+   * @return a map of probabilities for each category of poker outcome, for each player, indexed
+   *         like {@link GameState#getPockets()}; {@code null} for any player without a
+   *         {@link Pocket}
+   */
+  public List<Map<Outcome, Double>> allOutcomesForAllPlayers() {
+    return outcomesForAllPlayers(Arrays.asList(Outcome.values()));
+  }
+
+  /**
+   * Report the showdown equity of every player whose pocket cards are known. Each remaining board
+   * is enumerated once, and all players are ranked against each other on it.
+   *
+   * <p>
+   * Two pockets with an empty board are looked up in the precomputed {@link PreflopEquities}
+   * table instead of being enumerated.
+   *
+   * @return equity for each player, indexed like {@link GameState#getPockets()}; {@code null} for
+   *         any player without two pocket cards
+   */
+  public Equity[] equityForAllPlayers() {
+    int[] players = new int[GameState.MAX_PLAYERS];
+    long[] hands = new long[GameState.MAX_PLAYERS];
+    int handCount = 0;
+    for (int i = 0; i < GameState.MAX_PLAYERS; ++i) {
+      long pocket = state.getPocket(i);
+      if (CardSet.size(pocket) == 2) {
+        players[handCount] = i;
+        hands[handCount++] = pocket;
+      }
+    }
+    long[] knownHands = Arrays.copyOf(hands, handCount);
+
+    long dealtCards = state.getDealtCards();
+    long[] deck = makeDeckOfUndealtCards(dealtCards);
+    long boardCards = state.getBoard();
+    SuitSymmetry symmetry = symmetryOf(dealtCards, boardCards, knownHands);
+    long[] wins = new long[handCount];
+    long[] ties = new long[handCount];
+    long[] shares = new long[handCount];
+    long total = preflopShowdowns(knownHands, dealtCards, wins, ties, shares);
+    if (handCount > 0 && total == 0) {
+      total = enumerate((cards, start, cardsToDeal, counters) -> countShowdowns(cards, knownHands,
+          deck, start, cardsToDeal, symmetry, counters[0], counters[1], counters[2]), boardCards,
+          deck, BOARD_SIZE - state.getBoardSize(), symmetry, new long[][] {wins, ties, shares});
+    }
+
+    Equity[] result = new Equity[GameState.MAX_PLAYERS];
+    for (int i = 0; i < handCount; ++i) {
+      result[players[i]] = new Equity(wins[i], ties[i], shares[i], total);
+    }
+    return result;
+  }
+
   /**
    * Report the probability of a player getting a Two Of A Kind.
    *
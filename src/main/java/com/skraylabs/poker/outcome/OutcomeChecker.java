@@ -1,27 +1,58 @@
 package com.skraylabs.poker.outcome;
 
 import com.skraylabs.poker.model.Card;
-import com.skraylabs.poker.model.Rank;
-import com.skraylabs.poker.model.Suit;
+import com.skraylabs.poker.model.CardSet;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * Analyze a collection of Cards to determine if various poker outcomes are present or not.
+ *
+ * <p>
+ * Cards are held as a {@link CardSet}, and every check is answered with bit operations on that
+ * set. Checking a hand does not allocate.
  */
 public class OutcomeChecker {
-  private static final int TWO_PAIR_SIZE = 4;
   private static final int STRAIGHT_SIZE = 5;
+  private static final int FLUSH_SIZE = 5;
 
-  private Collection<Card> cards;
+  /**
+   * Ranks Ace, King, Queen, Jack and Ten in a {@link CardSet} suit field.
+   */
+  private static final int ROYAL_RANKS = (1 << STRAIGHT_SIZE) - 1;
+
+  private static final int TWO_OF_A_KIND = Outcome.TWO_OF_A_KIND.flag();
+  private static final int TWO_PAIR = Outcome.TWO_PAIR.flag();
+  private static final int THREE_OF_A_KIND = Outcome.THREE_OF_A_KIND.flag();
+  private static final int STRAIGHT = Outcome.STRAIGHT.flag();
+  private static final int FLUSH = Outcome.FLUSH.flag();
+  private static final int FULL_HOUSE = Outcome.FULL_HOUSE.flag();
+  private static final int FOUR_OF_A_KIND = Outcome.FOUR_OF_A_KIND.flag();
+  private static final int STRAIGHT_FLUSH = Outcome.STRAIGHT_FLUSH.flag();
+  private static final int ROYAL_FLUSH = Outcome.ROYAL_FLUSH.flag();
+
+  /**
+   * Cards needed for an outcome that cannot be completed; more than any hand can still be dealt.
+   */
+  private static final int UNREACHABLE = 99;
+
+  /**
+   * Every run of five ranks that makes a Straight, as {@link CardSet} suit fields: Ace-high first,
+   * down to the Five-high "wheel", in which the Ace plays low.
+   */
+  private static final int[] STRAIGHT_RANKS = new int[10];
+
+  static {
+    for (int i = 0; i < STRAIGHT_RANKS.length - 1; ++i) {
+      STRAIGHT_RANKS[i] = ROYAL_RANKS << i;
+    }
+    STRAIGHT_RANKS[STRAIGHT_RANKS.length - 1] =
+        1 | (((1 << (STRAIGHT_SIZE - 1)) - 1) << (CardSet.RANKS_PER_SUIT - STRAIGHT_SIZE + 1));
+  }
+
+  private final long cards;
 
   private static HashMap<Outcome, Predicate<OutcomeChecker>> predicateMap = new HashMap<>();
 
@@ -37,7 +68,21 @@ public class OutcomeChecker {
     predicateMap.put(Outcome.ROYAL_FLUSH, OutcomeChecker::hasRoyalFlush);
   }
 
+  /**
+   * Constructor.
+   *
+   * @param cards non-null collection of cards to analyze
+   */
   public OutcomeChecker(Collection<Card> cards) {
+    this(CardSet.fromCards(cards));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param cards {@link CardSet} of cards to analyze
+   */
+  public OutcomeChecker(long cards) {
     this.cards = cards;
   }
 
@@ -52,6 +97,243 @@ public class OutcomeChecker {
     return predicate.test(this);
   }
 
+  /**
+   * Check for every {@link Outcome} at once.
+   *
+   * @return bitmask of {@link Outcome#flag()} values, one for each outcome that is present
+   */
+  public int getOutcomeFlags() {
+    return outcomeFlags(cards);
+  }
+
+  /**
+   * Check a set of cards for every {@link Outcome} in a single pass. Suit fields and rank
+   * multiplicities are gathered once, and each outcome is derived from them.
+   *
+   * <p>
+   * Stronger outcomes imply the weaker outcomes they contain: a Royal Flush is also a Straight
+   * Flush, a Straight Flush is also a Flush and a Straight, a Full House is also a Two Pair and a
+   * Three of a Kind, and so on.
+   *
+   * @param cards {@link CardSet} of cards to analyze
+   * @return bitmask of {@link Outcome#flag()} values, one for each outcome that is present
+   */
+  public static int outcomeFlags(long cards) {
+    int spades = CardSet.ranksOfSuit(cards, 0);
+    int hearts = CardSet.ranksOfSuit(cards, 1);
+    int diamonds = CardSet.ranksOfSuit(cards, 2);
+    int clubs = CardSet.ranksOfSuit(cards, 3);
+    int ranks = spades | hearts | diamonds | clubs;
+    int pairs = (spades & hearts) | (diamonds & clubs) | ((spades | hearts) & (diamonds | clubs));
+    int trips = (spades & hearts & (diamonds | clubs)) | (diamonds & clubs & (spades | hearts));
+
+    int result = 0;
+    // Rank multiplicities
+    if (pairs != 0) {
+      result |= TWO_OF_A_KIND;
+      if ((pairs & (pairs - 1)) != 0) {
+        result |= TWO_PAIR;
+      }
+      if (trips != 0) {
+        result |= THREE_OF_A_KIND;
+        if ((result & TWO_PAIR) != 0) {
+          result |= FULL_HOUSE;
+        }
+        if ((spades & hearts & diamonds & clubs) != 0) {
+          result |= FOUR_OF_A_KIND;
+        }
+      }
+    }
+    // Suits; at most one suit can hold a Flush in a 7-card hand, but larger sets are checked fully
+    result |= suitedFlags(spades) | suitedFlags(hearts) | suitedFlags(diamonds)
+        | suitedFlags(clubs);
+    // Straights
+    if ((result & STRAIGHT) == 0 && isStraight(ranks)) {
+      result |= STRAIGHT;
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that checks the ranks held in a single suit for Flush, Straight Flush and Royal
+   * Flush.
+   *
+   * @param ranks 13-bit rank mask laid out as a {@link CardSet} suit field
+   * @return bitmask of {@link Outcome#flag()} values found in {@code ranks}
+   */
+  private static int suitedFlags(int ranks) {
+    int result = 0;
+    if (Integer.bitCount(ranks) >= FLUSH_SIZE) {
+      result = FLUSH;
+      if ((ranks & ROYAL_RANKS) == ROYAL_RANKS) {
+        result |= ROYAL_FLUSH | STRAIGHT_FLUSH | STRAIGHT;
+      } else if (isStraight(ranks)) {
+        result |= STRAIGHT_FLUSH | STRAIGHT;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Find which of a number of outcomes a set of cards could still make if more cards are added to
+   * it. This is a cheap, conservative test: every outcome left out of the result is certain never
+   * to be made, while an outcome in the result may or may not be reachable in practice. Checking
+   * does not allocate, and outcomes not asked about are not checked.
+   *
+   * @param cards {@link CardSet} of cards held so far
+   * @param available {@link CardSet} of cards that may still be added; disjoint from {@code cards}
+   * @param cardsToAdd number of cards that will be added from {@code available}
+   * @param outcomes bitmask of {@link Outcome#flag()} values to check
+   * @return the subset of {@code outcomes} that {@code cards} already holds or might still make
+   */
+  public static int reachableFlags(long cards, long available, int cardsToAdd, int outcomes) {
+    int result = 0;
+    if ((outcomes & (TWO_OF_A_KIND | TWO_PAIR | THREE_OF_A_KIND | FULL_HOUSE | FOUR_OF_A_KIND))
+        != 0) {
+      result |= reachableKindFlags(cards, available, cardsToAdd);
+    }
+    if ((outcomes & STRAIGHT) != 0) {
+      int ranks = CardSet.ranksWithCount(cards, 1);
+      int availableRanks = CardSet.ranksWithCount(available, 1);
+      if (straightNeed(ranks, availableRanks) <= cardsToAdd) {
+        result |= STRAIGHT;
+      }
+    }
+    if ((outcomes & (FLUSH | STRAIGHT_FLUSH | ROYAL_FLUSH)) != 0) {
+      for (int suit = 0; suit < 4; ++suit) {
+        int suited = CardSet.ranksOfSuit(cards, suit);
+        int availableSuited = CardSet.ranksOfSuit(available, suit);
+        int flushNeed = FLUSH_SIZE - Integer.bitCount(suited);
+        if (flushNeed <= cardsToAdd && flushNeed <= Integer.bitCount(availableSuited)) {
+          result |= FLUSH;
+          if (straightNeed(suited, availableSuited) <= cardsToAdd) {
+            result |= STRAIGHT_FLUSH;
+          }
+          int royalNeed = ROYAL_RANKS & ~suited;
+          if ((royalNeed & ~availableSuited) == 0 && Integer.bitCount(royalNeed) <= cardsToAdd) {
+            result |= ROYAL_FLUSH;
+          }
+        }
+      }
+    }
+    return result & outcomes;
+  }
+
+  /**
+   * Helper method that finds the reachable outcomes made of cards of equal rank: Two of a Kind, Two
+   * Pair, Three of a Kind, Full House and Four of a Kind.
+   *
+   * @param cards {@link CardSet} of cards held so far
+   * @param available {@link CardSet} of cards that may still be added
+   * @param cardsToAdd number of cards that will be added from {@code available}
+   * @return bitmask of {@link Outcome#flag()} values that {@code cards} might still make
+   */
+  private static int reachableKindFlags(long cards, long available, int cardsToAdd) {
+    int held1 = CardSet.ranksWithCount(cards, 1);
+    int held2 = CardSet.ranksWithCount(cards, 2);
+    int held3 = CardSet.ranksWithCount(cards, 3);
+    int free1 = CardSet.ranksWithCount(available, 1);
+    int free2 = CardSet.ranksWithCount(available, 2);
+    int free3 = CardSet.ranksWithCount(available, 3);
+    // Ranks that need exactly n more cards for a pair, and for trips, packed as 13-bit fields of a
+    // long with the field for n = 0 lowest
+    long pairs = held2
+        | (long) (held1 & ~held2 & free1) << CardSet.RANKS_PER_SUIT
+        | (long) (~held1 & free2 & CardSet.RANK_MASK) << (2 * CardSet.RANKS_PER_SUIT);
+    long trips = held3
+        | (long) (held2 & ~held3 & free1) << CardSet.RANKS_PER_SUIT
+        | (long) (held1 & ~held2 & free2) << (2 * CardSet.RANKS_PER_SUIT)
+        | (long) (~held1 & free3 & CardSet.RANK_MASK) << (3 * CardSet.RANKS_PER_SUIT);
+
+    int pairNeed = UNREACHABLE;
+    int twoPairNeed = UNREACHABLE;
+    for (int need = 0; need <= 2; ++need) {
+      int pairRanks = CardSet.ranksOfSuit(pairs, need);
+      if (pairRanks != 0) {
+        pairNeed = Math.min(pairNeed, need);
+      }
+      for (int otherNeed = need; otherNeed <= 2; ++otherNeed) {
+        if (differentRanks(pairRanks, CardSet.ranksOfSuit(pairs, otherNeed))) {
+          twoPairNeed = Math.min(twoPairNeed, need + otherNeed);
+        }
+      }
+    }
+    int tripsNeed = UNREACHABLE;
+    int fullHouseNeed = UNREACHABLE;
+    for (int need = 0; need <= 3; ++need) {
+      int tripsRanks = CardSet.ranksOfSuit(trips, need);
+      if (tripsRanks != 0) {
+        tripsNeed = Math.min(tripsNeed, need);
+      }
+      for (int otherNeed = 0; otherNeed <= 2; ++otherNeed) {
+        if (differentRanks(tripsRanks, CardSet.ranksOfSuit(pairs, otherNeed))) {
+          fullHouseNeed = Math.min(fullHouseNeed, need + otherNeed);
+        }
+      }
+    }
+    int quadsNeed = UNREACHABLE;
+    if (CardSet.ranksWithCount(cards, 4) != 0) {
+      quadsNeed = 0;
+    } else if ((held3 & free1) != 0) {
+      quadsNeed = 1;
+    } else if ((held2 & free2) != 0) {
+      quadsNeed = 2;
+    } else if ((held1 & free3) != 0) {
+      quadsNeed = 3;
+    } else if (CardSet.ranksWithCount(available, 4) != 0) {
+      quadsNeed = 4;
+    }
+
+    int result = 0;
+    if (pairNeed <= cardsToAdd) {
+      result |= TWO_OF_A_KIND;
+    }
+    if (twoPairNeed <= cardsToAdd) {
+      result |= TWO_PAIR;
+    }
+    if (tripsNeed <= cardsToAdd) {
+      result |= THREE_OF_A_KIND;
+    }
+    if (fullHouseNeed <= cardsToAdd) {
+      result |= FULL_HOUSE;
+    }
+    if (quadsNeed <= cardsToAdd) {
+      result |= FOUR_OF_A_KIND;
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that checks whether one rank can be picked from each of two rank masks without
+   * picking the same rank twice.
+   *
+   * @param first 13-bit rank mask
+   * @param second 13-bit rank mask
+   * @return {@code true} if a rank of {@code first} and a different rank of {@code second} exist;
+   *         {@code false} otherwise
+   */
+  private static boolean differentRanks(int first, int second) {
+    return first != 0 && second != 0 && Integer.bitCount(first | second) >= 2;
+  }
+
+  /**
+   * Helper method that computes how many more ranks are needed for the cheapest Straight.
+   *
+   * @param ranks 13-bit rank mask of ranks held, laid out as a {@link CardSet} suit field
+   * @param availableRanks 13-bit rank mask of ranks that may still be added
+   * @return number of ranks to add, or {@link #UNREACHABLE} if no Straight can be completed
+   */
+  private static int straightNeed(int ranks, int availableRanks) {
+    int result = UNREACHABLE;
+    for (int straight : STRAIGHT_RANKS) {
+      int missing = straight & ~ranks;
+      if ((missing & ~availableRanks) == 0) {
+        result = Math.min(result, Integer.bitCount(missing));
+      }
+    }
+    return result;
+  }
+
   /**
    * Check for a Two of a Kind.
    *
@@ -67,20 +349,7 @@ public class OutcomeChecker {
    * @return {@code true} if there is a Two Pair; {@code false} otherwise
    */
   public boolean hasTwoPair() {
-    boolean result = false;
-    if (cards.size() >= TWO_PAIR_SIZE) {
-      Collection<Card> cardsCopy = new ArrayList<>(cards);
-      OutcomeChecker copyChecker = new OutcomeChecker(cardsCopy);
-      Collection<Card> firstPair = copyChecker.collectNOfAType(2, Card::getRank);
-      if (!firstPair.isEmpty()) {
-        cardsCopy.removeAll(firstPair);
-        Collection<Card> secondPair = copyChecker.collectNOfAType(2, Card::getRank);
-        if (!secondPair.isEmpty()) {
-          result = true;
-        }
-      }
-    }
-    return result;
+    return Integer.bitCount(CardSet.ranksWithCount(cards, 2)) >= 2;
   }
 
   /**
@@ -98,35 +367,7 @@ public class OutcomeChecker {
    * @return {@code true} if there is at least one Straight; {@code false} otherwise
    */
   public boolean hasStraight() {
-    boolean result = false;
-    if (cards.size() >= STRAIGHT_SIZE) {
-      List<Rank> sortedRanksAceLowAndHigh = extractRanksInOrder(cards);
-
-      // Gather adjacencies
-      ArrayList<Rank> rankSequence = new ArrayList<>();
-      for (Rank rank : sortedRanksAceLowAndHigh) {
-        if (rankSequence.isEmpty()) {
-          // Begin a sequence
-          rankSequence.add(rank);
-        } else {
-          Rank previousRank = rankSequence.get(rankSequence.size() - 1);
-          if (ranksAreAdjacent(rank, previousRank)) {
-            // Advance the sequence
-            rankSequence.add(rank);
-            if (rankSequence.size() == STRAIGHT_SIZE) {
-              result = true;
-              break;
-            }
-          } else if (rank != previousRank) {
-            // Restart the sequence
-            rankSequence.clear();
-            rankSequence.add(rank);
-          }
-        }
-      }
-    }
-
-    return result;
+    return isStraight(CardSet.ranksWithCount(cards, 1));
   }
 
   /**
@@ -135,7 +376,14 @@ public class OutcomeChecker {
    * @return {@code true} if there is at least one Flush; {@code false} otherwise
    */
   public boolean hasFlush() {
-    return hasNOfAType(5, Card::getSuit);
+    boolean result = false;
+    for (int suit = 0; suit < 4; ++suit) {
+      if (Integer.bitCount(CardSet.ranksOfSuit(cards, suit)) >= FLUSH_SIZE) {
+        result = true;
+        break;
+      }
+    }
+    return result;
   }
 
   /**
@@ -144,20 +392,9 @@ public class OutcomeChecker {
    * @return {@code true} if there is at least one Full House; {@code false} otherwise
    */
   public boolean hasFullHouse() {
-    boolean result = false;
-    if (cards.size() >= 5) {
-      Collection<Card> cardsCopy = new ArrayList<>(cards);
-      OutcomeChecker copyChecker = new OutcomeChecker(cardsCopy);
-      Collection<Card> threeOfAKind = copyChecker.collectNOfAType(3, Card::getRank);
-      if (!threeOfAKind.isEmpty()) {
-        cardsCopy.removeAll(threeOfAKind);
-        Collection<Card> pair = copyChecker.collectNOfAType(2, Card::getRank);
-        if (!pair.isEmpty()) {
-          result = true;
-        }
-      }
-    }
-    return result;
+    // Any Three of a Kind plus a second rank holding at least a pair
+    return CardSet.ranksWithCount(cards, 3) != 0
+        && Integer.bitCount(CardSet.ranksWithCount(cards, 2)) >= 2;
   }
 
   /**
@@ -176,17 +413,10 @@ public class OutcomeChecker {
    */
   public boolean hasStraightFlush() {
     boolean result = false;
-    if (cards.size() >= STRAIGHT_SIZE) {
-      Map<Suit, List<Card>> cardsBySuit =
-          cards.stream().collect(Collectors.groupingBy(Card::getSuit));
-      for (List<Card> suitedCards : cardsBySuit.values()) {
-        if (suitedCards.size() >= STRAIGHT_SIZE) {
-          OutcomeChecker straightChecker = new OutcomeChecker(suitedCards);
-          if (straightChecker.hasStraight()) {
-            result = true;
-            break;
-          }
-        }
+    for (int suit = 0; suit < 4; ++suit) {
+      if (isStraight(CardSet.ranksOfSuit(cards, suit))) {
+        result = true;
+        break;
       }
     }
     return result;
@@ -198,98 +428,39 @@ public class OutcomeChecker {
    * @return {@code true} if there is at least one Royal Flush; {@code false} otherwise
    */
   public boolean hasRoyalFlush() {
-    List<Card> topFiveRanks =
-        cards.stream().filter(card -> card.getRank().aceHighValue() >= Rank.TEN.aceHighValue())
-            .collect(Collectors.toList());
-    OutcomeChecker straightChecker = new OutcomeChecker(topFiveRanks);
-    return straightChecker.hasStraightFlush();
+    boolean result = false;
+    for (int suit = 0; suit < 4; ++suit) {
+      if ((CardSet.ranksOfSuit(cards, suit) & ROYAL_RANKS) == ROYAL_RANKS) {
+        result = true;
+        break;
+      }
+    }
+    return result;
   }
 
   /**
    * Helper method that checks for an <i>n</i> of a Kind exists -- e.g. for n = 3, it will check for
    * a Three of a Kind.
    *
-   * @param number a positive integer <i>n</i>
+   * @param number an integer in range [1, 4]
    * @return {@code true} if there is are {@code number} or more cards of the same rank.
    */
   private boolean hasNOfAKind(int number) {
-    return hasNOfAType(number, Card::getRank);
-  }
-
-  /**
-   * Helper method that checks for an <i>n</i> of a Type -- e.g. for n = 3 and T = Rank, it will
-   * check for a Three of a Kind.
-   *
-   * @param number a positive integer <i>n</i>
-   * @param typeFunction a Function that derives a Type from a {@link Card} -- in practice this
-   *        function should return either {@link Rank} or {@link Suit}
-   * @return {@code true} if there is are {@code number} or more cards of the same type.
-   */
-  private <T> boolean hasNOfAType(int number, Function<Card, T> typeFunction) {
-    Collection<Card> cardsOfType = collectNOfAType(number, typeFunction);
-    return !cardsOfType.isEmpty();
-  }
-
-  /**
-   * Helper method that checks for an <i>n</i> of a Type -- e.g. for n = 3 and T = Rank, it will
-   * check for a Three of a Kind. A single collection of cards matching this criteria is returned.
-   *
-   * @param number a positive integer <i>n</i>
-   * @param typeFunction a Function that derives a Type from a {@link Card} -- in practice this
-   *        function should return either {@link Rank} or {@link Suit}
-   * @return a collection of <i>n</i> or more cards of the same Type, if found; otherwise, an empty
-   *         collection
-   */
-  private <T> Collection<Card> collectNOfAType(int number, Function<Card, T> typeFunction) {
-    // Sanity checks
-    if (number <= 0) {
-      throw new IllegalArgumentException("Parameter \"number\" must be a positive value.");
-    }
-
-    List<Card> result = new ArrayList<Card>();
-    Map<T, List<Card>> cardsByType = cards.stream().collect(Collectors.groupingBy(typeFunction));
-    for (List<Card> cardsOfType : cardsByType.values()) {
-      if (cardsOfType.size() >= number) {
-        result = cardsOfType;
-      }
-    }
-    return result;
-  }
-
-  /**
-   * Returns a "distilled" list of Ranks from a given card collection. Each Rank appears only once,
-   * except for Ace, which will be placed both low and high. Results are sorted from low to high.
-   *
-   * @param cards collection from which to extract ranks
-   * @return ranks representing {@code cards}
-   */
-  private static List<Rank> extractRanksInOrder(Collection<Card> cards) {
-    Set<Rank> ranks = cards.stream().collect(Collectors.groupingBy(Card::getRank)).keySet();
-
-    List<Rank> sortedRanksAceLow = ranks.stream()
-        .sorted((rank1, rank2) -> rank1.aceLowValue() - rank2.aceLowValue())
-        .collect(Collectors.toList());
-
-    List<Rank> sortedRanksAceLowAndHigh = sortedRanksAceLow;
-    if (ranks.contains(Rank.ACE)) {
-      sortedRanksAceLowAndHigh.add(Rank.ACE);
-    }
-
-    return sortedRanksAceLowAndHigh;
+    return CardSet.ranksWithCount(cards, number) != 0;
   }
 
   /**
-   * Helper method that returns true if two Ranks are "adjacent". For example, a Jack is adjacent to
-   * a Ten, but not to a King.
+   * Helper method that checks a set of ranks for five in a row. Aces count both high and low.
    *
-   * @param rank1 rank to compare
-   * @param rank2 rank to compare
-   * @return {@code true} if {@code rank1} and {@code rank2} are adjacent; {@code false} if they are
-   *         equivalent are non-neighboring
+   * @param ranks 13-bit rank mask laid out as a {@link CardSet} suit field
+   * @return {@code true} if {@code ranks} contains a Straight; {@code false} otherwise
    */
-  private static boolean ranksAreAdjacent(Rank rank1, Rank rank2) {
-    int shortestDifference = Math.min(Math.abs(rank1.aceLowValue() - rank2.aceLowValue()),
-        Math.abs(rank1.aceHighValue() - rank2.aceHighValue()));
-    return shortestDifference == 1;
+  static boolean isStraight(int ranks) {
+    // Bits run from Ace (high) down to Two; copy the Ace into bit 13 so it can also play low
+    int run = ranks | ((ranks & 1) << CardSet.RANKS_PER_SUIT);
+    run &= run >>> 1;
+    run &= run >>> 2;
+    run &= run >>> 1;
+    return run != 0;
   }
 }
@@ -0,0 +1,32 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.Pocket;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculates the probability of each poker {@link Outcome} for the players of a
+ * {@link GameState}. Implementations differ in how they get there -- e.g. exact enumeration of
+ * every remaining board, or random sampling -- so callers can switch between them freely.
+ */
+public interface OutcomeEngine {
+
+  /**
+   * Report the probabilities of each kind of poker {@link Outcome} for a player.
+   *
+   * @param playerIndex index of Player in the GameState. A number in range [0, 9].
+   * @return a map of probabilities for each category of poker outcome.
+   */
+  Map<Outcome, Double> allOutcomesForAPlayer(int playerIndex);
+
+  /**
+   * Report the probabilities of each kind of poker {@link Outcome} for every player.
+   *
+   * @return a map of probabilities for each category of poker outcome, for each player, indexed
+   *         like {@link GameState#getPockets()}; {@code null} for any player without a
+   *         {@link Pocket}
+   */
+  List<Map<Outcome, Double>> allOutcomesForAllPlayers();
+}
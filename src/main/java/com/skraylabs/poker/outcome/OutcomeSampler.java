@@ -0,0 +1,276 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.CardSet;
+import com.skraylabs.poker.model.CompactGameState;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.Pocket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * For a given {@link GameState}, estimates the outcome probability for each Player by dealing
+ * random boards from the undealt cards, instead of enumerating every one of them like
+ * {@link OutcomeCalculator}.
+ *
+ * <p>
+ * Boards are drawn in batches until every requested probability has reached a target standard
+ * error, or until a budget of samples is used up, whichever comes first. Each estimate comes with a
+ * 95% confidence interval (see {@link Estimate}). Sampling is seeded, so a sampler gives the same
+ * estimates every time it is asked.
+ */
+public class OutcomeSampler implements OutcomeEngine {
+
+  /**
+   * Standard error at which sampling stops by default: 0.1 percentage points.
+   */
+  public static final double DEFAULT_STANDARD_ERROR = 0.001;
+
+  /**
+   * Number of boards after which sampling stops by default, however precise the estimates are.
+   */
+  public static final long DEFAULT_SAMPLE_BUDGET = 10000000L;
+
+  /**
+   * Boards dealt between checks of the standard error.
+   */
+  static final int BATCH_SIZE = 1024;
+
+  private static final int BOARD_SIZE = 5;
+  private static final int OUTCOME_COUNT = Outcome.values().length;
+  private static final int ALL_OUTCOMES = (1 << OUTCOME_COUNT) - 1;
+
+  private final CompactGameState state;
+  private final double targetStandardError;
+  private final long sampleBudget;
+  private final long seed;
+
+  /**
+   * Initializing constructor for a sampler that stops at {@link #DEFAULT_STANDARD_ERROR} or
+   * {@link #DEFAULT_SAMPLE_BUDGET}.
+   *
+   * @param gameState game to estimate outcomes for
+   * @param seed seed of the random boards
+   */
+  public OutcomeSampler(GameState gameState, long seed) {
+    this(gameState, DEFAULT_STANDARD_ERROR, DEFAULT_SAMPLE_BUDGET, seed);
+  }
+
+  /**
+   * Initializing constructor.
+   *
+   * @param gameState game to estimate outcomes for
+   * @param targetStandardError standard error that every estimate must reach before sampling
+   *        stops; 0 to always use the whole budget
+   * @param sampleBudget maximum number of boards to sample; at least 1
+   * @param seed seed of the random boards
+   */
+  public OutcomeSampler(GameState gameState, double targetStandardError, long sampleBudget,
+      long seed) {
+    this(CompactGameState.fromGameState(gameState), targetStandardError, sampleBudget, seed);
+  }
+
+  /**
+   * Initializing constructor. Dead cards of {@code state} are never dealt.
+   *
+   * @param state game to estimate outcomes for
+   * @param targetStandardError standard error that every estimate must reach before sampling
+   *        stops; 0 to always use the whole budget
+   * @param sampleBudget maximum number of boards to sample; at least 1
+   * @param seed seed of the random boards
+   */
+  public OutcomeSampler(CompactGameState state, double targetStandardError, long sampleBudget,
+      long seed) {
+    if (!(targetStandardError >= 0)) {
+      throw new IllegalArgumentException(
+          "Parameter \"targetStandardError\" must be a non-negative number.");
+    }
+    if (sampleBudget < 1) {
+      throw new IllegalArgumentException("Parameter \"sampleBudget\" must be at least 1.");
+    }
+    this.state = state;
+    this.targetStandardError = targetStandardError;
+    this.sampleBudget = sampleBudget;
+    this.seed = seed;
+  }
+
+  /**
+   * Estimate the probabilities of each kind of poker {@link Outcome} for a player.
+   *
+   * @param playerIndex index of Player in the GameState. A number in range [0, 9].
+   * @return an estimate for each category of poker outcome
+   */
+  public Map<Outcome, Estimate> estimatesForAPlayer(int playerIndex) {
+    // Sanity check
+    if (playerIndex < 0 || playerIndex >= GameState.MAX_PLAYERS) {
+      throw new IllegalArgumentException(String
+          .format("Parameter \"playerIndex\" must be in range [0, %d].", GameState.MAX_PLAYERS));
+    }
+
+    long[] pockets = {state.getPocket(playerIndex)};
+    return estimates(pockets).get(0);
+  }
+
+  /**
+   * Estimate the probabilities of each kind of poker {@link Outcome} for every player. The same
+   * random boards are dealt to the whole table.
+   *
+   * @return an estimate for each category of poker outcome, for each player, indexed like
+   *         {@link GameState#getPockets()}; {@code null} for any player without a {@link Pocket}
+   */
+  public List<Map<Outcome, Estimate>> estimatesForAllPlayers() {
+    int[] players = new int[GameState.MAX_PLAYERS];
+    long[] pocketCards = new long[GameState.MAX_PLAYERS];
+    int handCount = 0;
+    for (int i = 0; i < GameState.MAX_PLAYERS; ++i) {
+      if (state.hasPocket(i)) {
+        players[handCount] = i;
+        pocketCards[handCount++] = state.getPocket(i);
+      }
+    }
+    long[] hands = Arrays.copyOf(pocketCards, handCount);
+
+    List<Map<Outcome, Estimate>> estimates = estimates(hands);
+    List<Map<Outcome, Estimate>> result =
+        new ArrayList<>(Collections.nCopies(GameState.MAX_PLAYERS, null));
+    for (int i = 0; i < handCount; ++i) {
+      result.set(players[i], estimates.get(i));
+    }
+    return result;
+  }
+
+  @Override
+  public Map<Outcome, Double> allOutcomesForAPlayer(int playerIndex) {
+    return probabilities(estimatesForAPlayer(playerIndex));
+  }
+
+  @Override
+  public List<Map<Outcome, Double>> allOutcomesForAllPlayers() {
+    List<Map<Outcome, Double>> result = new ArrayList<>();
+    for (Map<Outcome, Estimate> estimates : estimatesForAllPlayers()) {
+      result.add(estimates == null ? null : probabilities(estimates));
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that samples boards for a number of pockets and estimates every outcome for
+   * each of them.
+   *
+   * @param pockets pocket cards of each player, each a {@link CardSet}
+   * @return estimates for each outcome, indexed like {@code pockets}
+   */
+  private List<Map<Outcome, Estimate>> estimates(long[] pockets) {
+    long[] deck = OutcomeCalculator.makeDeckOfUndealtCards(state.getDealtCards());
+    long board = state.getBoard();
+    int cardsToDeal = BOARD_SIZE - state.getBoardSize();
+    // A complete board is the only board, so one sample is exact
+    long budget = cardsToDeal > 0 ? sampleBudget : 1;
+    long[][] hits = new long[pockets.length][OUTCOME_COUNT];
+    long samples = sampleOutcomes(ALL_OUTCOMES, board, pockets, deck, cardsToDeal,
+        new SplittableRandom(seed), targetStandardError, budget, hits);
+
+    List<Map<Outcome, Estimate>> result = new ArrayList<>();
+    for (int i = 0; i < pockets.length; ++i) {
+      Map<Outcome, Estimate> estimates = new EnumMap<>(Outcome.class);
+      for (Outcome outcome : Outcome.values()) {
+        estimates.put(outcome, new Estimate(hits[i][outcome.ordinal()], samples));
+      }
+      result.add(estimates);
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that deals random boards from {@code deck} and counts, for each of several
+   * pockets, how many of the resulting hands contain each outcome. Boards are dealt in batches of
+   * {@link #BATCH_SIZE}; after each batch, sampling stops if the standard error of every requested
+   * outcome of every pocket is at most {@code targetStandardError}. No objects are created while
+   * sampling, apart from one copy of {@code deck}.
+   *
+   * @param outcomes bitmask of {@link Outcome#flag()} values to count
+   * @param board {@link CardSet} of board cards dealt so far
+   * @param pockets pocket cards of each player, each a {@link CardSet}
+   * @param deck undealt cards, each a single-card {@link CardSet}
+   * @param cardsToDeal number of board cards left to deal
+   * @param random source of the random boards
+   * @param targetStandardError standard error at which to stop
+   * @param sampleBudget maximum number of boards to deal
+   * @param hits counters indexed by pocket, then by {@link Outcome#ordinal()}; incremented for
+   *        every board on which the pocket's hand contains the outcome
+   * @return number of boards dealt
+   */
+  static long sampleOutcomes(int outcomes, long board, long[] pockets, long[] deck,
+      int cardsToDeal, SplittableRandom random, double targetStandardError, long sampleBudget,
+      long[][] hits) {
+    long[] cards = deck.clone();
+    long samples = 0;
+    do {
+      long batchEnd = Math.min(sampleBudget, samples + BATCH_SIZE);
+      for (; samples < batchEnd; ++samples) {
+        // Partial Fisher-Yates shuffle: the first cardsToDeal cards become a uniform random board
+        long hand = board;
+        for (int i = 0; i < cardsToDeal; ++i) {
+          int pick = i + random.nextInt(cards.length - i);
+          long card = cards[pick];
+          cards[pick] = cards[i];
+          cards[i] = card;
+          hand |= card;
+        }
+        for (int i = 0; i < pockets.length; ++i) {
+          long[] pocketHits = hits[i];
+          for (int flags = SevenCardTable.outcomeFlags(hand | pockets[i]) & outcomes; flags != 0;
+              flags &= flags - 1) {
+            ++pocketHits[Integer.numberOfTrailingZeros(flags)];
+          }
+        }
+      }
+    } while (samples < sampleBudget
+        && !isPrecise(outcomes, hits, samples, targetStandardError));
+    return samples;
+  }
+
+  /**
+   * Helper method that checks whether every requested estimate has reached a standard error.
+   *
+   * @param outcomes bitmask of {@link Outcome#flag()} values to check
+   * @param hits counters indexed by pocket, then by {@link Outcome#ordinal()}
+   * @param samples number of samples behind every counter
+   * @param targetStandardError standard error to reach
+   * @return {@code true} if no requested estimate has a standard error above
+   *         {@code targetStandardError}; {@code false} otherwise
+   */
+  private static boolean isPrecise(int outcomes, long[][] hits, long samples,
+      double targetStandardError) {
+    // p (1 - p) / n <= e^2, with p = h / n, is h (n - h) <= e^2 n^3
+    double limit = targetStandardError * targetStandardError * samples * samples * samples;
+    for (long[] pocketHits : hits) {
+      for (int flags = outcomes; flags != 0; flags &= flags - 1) {
+        long outcomeHits = pocketHits[Integer.numberOfTrailingZeros(flags)];
+        if ((double) outcomeHits * (samples - outcomeHits) > limit) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Helper method that keeps only the probability of each estimate.
+   *
+   * @param estimates estimate for each outcome
+   * @return probability for each outcome
+   */
+  private static Map<Outcome, Double> probabilities(Map<Outcome, Estimate> estimates) {
+    Map<Outcome, Double> result = new EnumMap<>(Outcome.class);
+    for (Map.Entry<Outcome, Estimate> entry : estimates.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().getProbability());
+    }
+    return result;
+  }
+}
@@ -0,0 +1,206 @@
+package com.skraylabs.poker.outcome;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Splits an enumeration of boards into fork/join tasks, one for each way to deal the first few
+ * cards. Each task walks its subtree sequentially into counters of its own, and the counters of all
+ * tasks are summed once they are done.
+ *
+ * <p>
+ * Every count is a sum of integers, so the results are identical to a sequential walk, however the
+ * work is scheduled.
+ *
+ * <p>
+ * Pool threads do not see interrupts of the thread that runs the enumeration. That thread waits
+ * for the tasks interruptibly instead, and once it is interrupted, tasks that have not started yet
+ * return at once and the enumeration is abandoned.
+ */
+class ParallelEnumeration {
+
+  /**
+   * Cards dealt by the splitting tasks before the rest of each board is walked sequentially. Two
+   * cards make over a thousand tasks pre-flop, enough to keep every core busy even though boards
+   * that start with a low card have many more completions than those that start with a high one.
+   */
+  private static final int SPLIT_CARDS = 2;
+
+  /**
+   * Pools shared by every enumeration, keyed by their parallelism. Their worker threads are daemon
+   * threads, and retire when they have been idle for a while.
+   */
+  private static final ConcurrentMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+  /**
+   * A sequential walk of the boards below a partial board.
+   */
+  interface Walker {
+    /**
+     * Enumerate every way to deal {@code cardsToDeal} more cards from {@code deck[start..]} onto
+     * {@code cards}.
+     *
+     * @param cards {@link com.skraylabs.poker.model.CardSet} of cards dealt so far
+     * @param start index of the first card in the deck that may still be dealt
+     * @param cardsToDeal number of board cards left to deal
+     * @param counters counters to increment; laid out as the caller chooses
+     * @return number of boards enumerated
+     */
+    long walk(long cards, int start, int cardsToDeal, long[][] counters);
+  }
+
+  private final ForkJoinPool pool;
+  private final Walker walker;
+  private final long[] deck;
+  private final SuitSymmetry symmetry;
+  private volatile boolean cancelled;
+
+  /**
+   * Initializing constructor.
+   *
+   * @param pool pool to run the tasks in
+   * @param walker sequential walk of each subtree
+   * @param deck undealt cards, each a single-card {@link com.skraylabs.poker.model.CardSet}, in
+   *        increasing order
+   * @param symmetry suits that may be relabeled; only canonical first cards are split off
+   */
+  ParallelEnumeration(ForkJoinPool pool, Walker walker, long[] deck, SuitSymmetry symmetry) {
+    this.pool = pool;
+    this.walker = walker;
+    this.deck = deck;
+    this.symmetry = symmetry;
+  }
+
+  /**
+   * Get the pool that enumerations with a given parallelism share, creating it on first use, so
+   * that threads are not started and stopped for every enumeration.
+   *
+   * @param parallelism number of threads of the pool
+   * @return a pool of {@code parallelism} threads
+   */
+  static ForkJoinPool poolFor(int parallelism) {
+    return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+  }
+
+  /**
+   * Enumerate every way to deal {@code cardsToDeal} more cards from the deck onto {@code cards},
+   * in parallel.
+   *
+   * @param cards {@link com.skraylabs.poker.model.CardSet} of cards dealt so far
+   * @param cardsToDeal number of board cards left to deal
+   * @param counters counters to increment by the sum of every task's counters
+   * @return number of boards enumerated
+   * @throws CancellationException if the calling thread is interrupted before the enumeration is
+   *         done; {@code counters} are then left partly incremented
+   */
+  long enumerate(long cards, int cardsToDeal, long[][] counters) {
+    checkInterrupted();
+    Task task = new Task(cards, 0, cardsToDeal, SPLIT_CARDS, counters);
+    pool.execute(task);
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      cancelled = true;
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Enumeration was interrupted.");
+    } catch (ExecutionException e) {
+      // Tasks throw no checked exceptions
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw (RuntimeException) e.getCause();
+    }
+  }
+
+  /**
+   * Abandon an enumeration if the current thread has been interrupted. Its interrupt status is
+   * left set.
+   *
+   * @throws CancellationException if the current thread is interrupted
+   */
+  static void checkInterrupted() {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Enumeration was interrupted.");
+    }
+  }
+
+  /**
+   * Fork/join task that either deals one more card to each of its subtasks, or walks its subtree.
+   */
+  private class Task extends RecursiveTask<Long> {
+    private static final long serialVersionUID = 1L;
+
+    private final long cards;
+    private final int start;
+    private final int cardsToDeal;
+    private final int splitCards;
+    private final long[][] counters;
+
+    Task(long cards, int start, int cardsToDeal, int splitCards, long[][] counters) {
+      this.cards = cards;
+      this.start = start;
+      this.cardsToDeal = cardsToDeal;
+      this.splitCards = splitCards;
+      this.counters = counters;
+    }
+
+    @Override
+    protected Long compute() {
+      if (cancelled) {
+        throw new CancellationException("Enumeration was interrupted.");
+      }
+      // Leave the last card to the walker, whose subtrees would be too small to be worth a task
+      if (splitCards <= 0 || cardsToDeal <= 1) {
+        return walker.walk(cards, start, cardsToDeal, counters);
+      }
+      List<Task> subtasks = new ArrayList<>();
+      for (int i = start; i <= deck.length - cardsToDeal; ++i) {
+        if (symmetry.admits(cards, deck[i])) {
+          subtasks.add(new Task(cards | deck[i], i + 1, cardsToDeal - 1, splitCards - 1,
+              newCounters(counters)));
+        }
+      }
+      invokeAll(subtasks);
+      long total = 0;
+      for (Task subtask : subtasks) {
+        total += subtask.join();
+        add(counters, subtask.counters);
+      }
+      return total;
+    }
+  }
+
+  /**
+   * Helper method that allocates zeroed counters shaped like a given set of counters.
+   *
+   * @param counters counters to copy the shape of
+   * @return new counters
+   */
+  private static long[][] newCounters(long[][] counters) {
+    long[][] result = new long[counters.length][];
+    for (int i = 0; i < counters.length; ++i) {
+      result[i] = new long[counters[i].length];
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that adds one set of counters into another of the same shape.
+   *
+   * @param sums counters to increment
+   * @param counters counters to add
+   */
+  private static void add(long[][] sums, long[][] counters) {
+    for (int i = 0; i < sums.length; ++i) {
+      for (int j = 0; j < sums[i].length; ++j) {
+        sums[i][j] += counters[i][j];
+      }
+    }
+  }
+}
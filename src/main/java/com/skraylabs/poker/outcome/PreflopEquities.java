@@ -0,0 +1,325 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.CardSet;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Heads-up showdown counts for two pockets before the flop, precomputed for every pair of the 1326
+ * pockets that share no card.
+ *
+ * <p>
+ * With an empty board and no other cards dealt, the showdown of two pockets is unchanged by
+ * relabeling suits, and swapping the pockets only swaps their wins. Pairs of pockets are therefore
+ * collapsed into {@link #CLASS_COUNT} classes, each identified by its smallest key under every
+ * suit relabeling and both orders (see {@link #keyOf(long, long)}). For each class, the table
+ * holds how many of the {@link #BOARD_COUNT} boards the first pocket wins outright, and how many
+ * the two pockets tie; the second pocket wins the rest.
+ *
+ * <p>
+ * The table is stored as the binary resource {@link #RESOURCE} next to this class: two ints giving
+ * the number of classes and of boards, then three ints per class -- key, wins and ties -- in
+ * increasing key order. It is memory-mapped when the resource is a file, and read into memory
+ * otherwise, e.g. from a jar. It is built by {@link #main(String...)}. If the resource is missing
+ * or malformed, no counts are available and callers enumerate instead.
+ */
+class PreflopEquities {
+
+  /**
+   * Name of the table resource, relative to this class.
+   */
+  static final String RESOURCE = "preflop-equities.bin";
+
+  /**
+   * Number of distinct pockets: 52 choose 2.
+   */
+  static final int POCKET_COUNT = CardSet.DECK_SIZE * (CardSet.DECK_SIZE - 1) / 2;
+
+  /**
+   * Number of classes of two pockets that share no card, under suit relabeling and swapping.
+   */
+  static final int CLASS_COUNT = 47008;
+
+  /**
+   * Number of boards that can be dealt to two pockets: 48 choose 5.
+   */
+  static final long BOARD_COUNT = 1712304L;
+
+  private static final int POCKET_SIZE = 2;
+  private static final int HEADER_BYTES = 8;
+  private static final int ENTRY_BYTES = 12;
+
+  /**
+   * Table loaded on first use. Holder class, so that the resource is only mapped when needed.
+   */
+  private static class Table {
+    static final ByteBuffer ENTRIES = load();
+  }
+
+  /**
+   * Find the index of a pocket among all pockets, ordered by their lower card, then by their
+   * higher card.
+   *
+   * @param pocket {@link CardSet} of exactly two cards
+   * @return index in range [0, {@link #POCKET_COUNT})
+   */
+  static int indexOf(long pocket) {
+    int low = Long.numberOfTrailingZeros(pocket);
+    int high = Long.SIZE - 1 - Long.numberOfLeadingZeros(pocket);
+    return low * (CardSet.DECK_SIZE - 1) - low * (low - 1) / 2 + (high - low - 1);
+  }
+
+  /**
+   * Find the pocket at an index; the inverse of {@link #indexOf(long)}.
+   *
+   * @param index index in range [0, {@link #POCKET_COUNT})
+   * @return {@link CardSet} of two cards
+   */
+  static long pocketOf(int index) {
+    int low = 0;
+    int remaining = index;
+    while (remaining >= CardSet.DECK_SIZE - 1 - low) {
+      remaining -= CardSet.DECK_SIZE - 1 - low;
+      ++low;
+    }
+    return (1L << low) | (1L << (low + 1 + remaining));
+  }
+
+  /**
+   * Find the key of the class of two pockets: the smallest value of
+   * {@code indexOf(first) * POCKET_COUNT + indexOf(second)} over every suit relabeling of the
+   * pockets, in either order.
+   *
+   * @param pocket {@link CardSet} of two cards
+   * @param otherPocket {@link CardSet} of two other cards
+   * @return class key, non-negative; negated and less one if the key is only reached with the
+   *         pockets swapped, so that its first pocket stands for {@code otherPocket}
+   */
+  static int keyOf(long pocket, long otherPocket) {
+    int key = Integer.MAX_VALUE;
+    int swappedKey = Integer.MAX_VALUE;
+    for (int permutation = 0; permutation < CardSet.SUIT_PERMUTATION_COUNT; ++permutation) {
+      int first = indexOf(CardSet.relabel(pocket, permutation));
+      int second = indexOf(CardSet.relabel(otherPocket, permutation));
+      key = Math.min(key, first * POCKET_COUNT + second);
+      swappedKey = Math.min(swappedKey, second * POCKET_COUNT + first);
+    }
+    return swappedKey < key ? -swappedKey - 1 : key;
+  }
+
+  /**
+   * Look up the heads-up showdown counts of two pockets before the flop.
+   *
+   * @param pocket {@link CardSet} of two cards
+   * @param otherPocket {@link CardSet} of two other cards
+   * @return number of the {@link #BOARD_COUNT} boards that {@code pocket} wins, that
+   *         {@code otherPocket} wins, and that they tie; or {@code null} if the table is not
+   *         available
+   */
+  static long[] countsFor(long pocket, long otherPocket) {
+    if (CardSet.size(pocket) != POCKET_SIZE || CardSet.size(otherPocket) != POCKET_SIZE
+        || (pocket & otherPocket) != 0) {
+      throw new IllegalArgumentException(
+          "Parameters \"pocket\" and \"otherPocket\" must hold two distinct cards each.");
+    }
+    ByteBuffer entries = Table.ENTRIES;
+    if (entries == null) {
+      return null;
+    }
+    int key = keyOf(pocket, otherPocket);
+    boolean swapped = key < 0;
+    if (swapped) {
+      key = -key - 1;
+    }
+
+    // Binary search of the entries, which are in increasing key order
+    int low = 0;
+    int high = CLASS_COUNT - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int offset = HEADER_BYTES + middle * ENTRY_BYTES;
+      int middleKey = entries.getInt(offset);
+      if (middleKey < key) {
+        low = middle + 1;
+      } else if (middleKey > key) {
+        high = middle - 1;
+      } else {
+        long wins = entries.getInt(offset + 4);
+        long ties = entries.getInt(offset + 8);
+        long losses = BOARD_COUNT - wins - ties;
+        return swapped ? new long[] {losses, wins, ties} : new long[] {wins, losses, ties};
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Find the key of every class, see {@link #keyOf(long, long)}.
+   *
+   * @return keys in increasing order
+   */
+  static int[] keys() {
+    boolean[] isKey = new boolean[POCKET_COUNT * POCKET_COUNT];
+    int count = 0;
+    for (int i = 0; i < POCKET_COUNT; ++i) {
+      long pocket = pocketOf(i);
+      for (int j = i + 1; j < POCKET_COUNT; ++j) {
+        long otherPocket = pocketOf(j);
+        if ((pocket & otherPocket) == 0) {
+          int key = keyOf(pocket, otherPocket);
+          key = key < 0 ? -key - 1 : key;
+          if (!isKey[key]) {
+            isKey[key] = true;
+            ++count;
+          }
+        }
+      }
+    }
+    int[] result = new int[count];
+    count = 0;
+    for (int key = 0; key < isKey.length; ++key) {
+      if (isKey[key]) {
+        result[count++] = key;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Enumerate every board for every class at once. Each board is dealt once; every pocket is
+   * evaluated once on it, and the showdown of each class is then settled by looking up the
+   * strengths of its two pockets.
+   *
+   * @param keys key of each class, see {@link #keyOf(long, long)}
+   * @return number of boards that the first pocket of each class wins, then number of boards that
+   *         it ties, each indexed like {@code keys}
+   */
+  static int[][] count(int[] keys) {
+    int[] firsts = new int[keys.length];
+    int[] seconds = new int[keys.length];
+    for (int i = 0; i < keys.length; ++i) {
+      firsts[i] = keys[i] / POCKET_COUNT;
+      seconds[i] = keys[i] % POCKET_COUNT;
+    }
+    long[] pockets = new long[POCKET_COUNT];
+    for (int i = 0; i < POCKET_COUNT; ++i) {
+      pockets[i] = pocketOf(i);
+    }
+    int[] wins = new int[keys.length];
+    int[] ties = new int[keys.length];
+    int[] strengths = new int[POCKET_COUNT];
+    long[] deck = OutcomeCalculator.makeDeckOfUndealtCards(CardSet.EMPTY);
+    countBoards(CardSet.EMPTY, deck, 0, 5, pockets, strengths, firsts, seconds, wins, ties);
+    return new int[][] {wins, ties};
+  }
+
+  /**
+   * Helper method for {@link #count(int[])} that deals, in place, every way to add
+   * {@code cardsToDeal} more cards from {@code deck[start..]} to a board, and settles every class
+   * on each complete board. A pocket that shares a card with the board gets strength 0, and the
+   * classes that hold it are skipped.
+   */
+  private static void countBoards(long board, long[] deck, int start, int cardsToDeal,
+      long[] pockets, int[] strengths, int[] firsts, int[] seconds, int[] wins, int[] ties) {
+    if (cardsToDeal > 0) {
+      for (int i = start; i <= deck.length - cardsToDeal; ++i) {
+        countBoards(board | deck[i], deck, i + 1, cardsToDeal - 1, pockets, strengths, firsts,
+            seconds, wins, ties);
+      }
+      return;
+    }
+    for (int i = 0; i < POCKET_COUNT; ++i) {
+      strengths[i] = (pockets[i] & board) != 0 ? 0 : HandEvaluator.evaluate(board | pockets[i]);
+    }
+    for (int i = 0; i < firsts.length; ++i) {
+      int strength = strengths[firsts[i]];
+      int otherStrength = strengths[seconds[i]];
+      if (strength == 0 || otherStrength == 0) {
+        continue;
+      }
+      if (strength > otherStrength) {
+        ++wins[i];
+      } else if (strength == otherStrength) {
+        ++ties[i];
+      }
+    }
+  }
+
+  /**
+   * Helper method that maps the table resource, or reads it if it is not a file.
+   *
+   * @return entries laid out as in the resource, or {@code null} if it cannot be read
+   */
+  private static ByteBuffer load() {
+    URL resource = PreflopEquities.class.getResource(RESOURCE);
+    if (resource == null) {
+      return null;
+    }
+    ByteBuffer result;
+    try {
+      if ("file".equals(resource.getProtocol())) {
+        try (FileChannel channel =
+            FileChannel.open(Paths.get(resource.toURI()), StandardOpenOption.READ)) {
+          result = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+      } else {
+        result = ByteBuffer.wrap(readFully(resource));
+      }
+    } catch (IOException | URISyntaxException e) {
+      return null;
+    }
+    if (result.capacity() != HEADER_BYTES + CLASS_COUNT * ENTRY_BYTES
+        || result.getInt(0) != CLASS_COUNT || result.getInt(4) != BOARD_COUNT) {
+      return null;
+    }
+    return result;
+  }
+
+  private static byte[] readFully(URL resource) throws IOException {
+    try (InputStream input = resource.openStream()) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[1 << 16];
+      for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+        output.write(buffer, 0, read);
+      }
+      return output.toByteArray();
+    }
+  }
+
+  /**
+   * Build the table by enumerating every board for every class, and write it out as a resource.
+   *
+   * @param args exactly 1 string specifying the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void main(String... args) throws IOException {
+    if (args.length != 1) {
+      System.out.println("Usage: PreflopEquities filepath");
+      return;
+    }
+    int[] keys = keys();
+    int[][] counts = count(keys);
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(args[0])))) {
+      output.writeInt(keys.length);
+      output.writeInt((int) BOARD_COUNT);
+      for (int i = 0; i < keys.length; ++i) {
+        output.writeInt(keys[i]);
+        output.writeInt(counts[0][i]);
+        output.writeInt(counts[1][i]);
+      }
+    }
+  }
+}
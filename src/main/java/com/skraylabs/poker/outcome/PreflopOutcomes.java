@@ -0,0 +1,178 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.CardSet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Outcome counts for a lone pocket before the flop, precomputed for every starting-hand class.
+ *
+ * <p>
+ * With an empty board and no other cards dealt, a pocket's outcomes depend only on its two ranks
+ * and on whether it is suited: there are 169 such classes (13 pairs, 78 suited and 78 offsuit
+ * hands). For each class, the table holds how many of the {@link #BOARD_COUNT} boards make each
+ * {@link Outcome}, exactly as {@link OutcomeCalculator} counts them.
+ *
+ * <p>
+ * The table is stored as the binary resource {@link #RESOURCE} next to this class: two ints giving
+ * the number of classes and of outcomes, then one int per class and outcome, in class order, then
+ * {@link Outcome#ordinal()} order. It is built by {@link #main(String...)}. If the resource is
+ * missing or malformed, no counts are available and callers enumerate instead.
+ */
+class PreflopOutcomes {
+
+  /**
+   * Name of the table resource, relative to this class.
+   */
+  static final String RESOURCE = "preflop-outcomes.bin";
+
+  /**
+   * Number of starting-hand classes.
+   */
+  static final int CLASS_COUNT = CardSet.RANKS_PER_SUIT * CardSet.RANKS_PER_SUIT;
+
+  /**
+   * Number of boards that can be dealt to a lone pocket: 50 choose 5.
+   */
+  static final long BOARD_COUNT = 2118760L;
+
+  private static final int OUTCOME_COUNT = Outcome.values().length;
+  private static final int POCKET_SIZE = 2;
+  private static final int BOARD_SIZE = 5;
+
+  /**
+   * Table loaded on first use. Holder class, so that the resource is only read when needed.
+   */
+  private static class Table {
+    static final int[] COUNTS = load();
+  }
+
+  /**
+   * Find the starting-hand class of a pocket. Classes are laid out as a 13 x 13 grid of
+   * {@link com.skraylabs.poker.model.Rank} ordinals: pairs on the diagonal, suited hands at
+   * (higher rank, lower rank) and offsuit hands at (lower rank, higher rank).
+   *
+   * @param pocket {@link CardSet} of exactly two cards
+   * @return class index in range [0, {@link #CLASS_COUNT})
+   */
+  static int classOf(long pocket) {
+    int first = Long.numberOfTrailingZeros(pocket);
+    int second = 63 - Long.numberOfLeadingZeros(pocket);
+    int firstRank = first % CardSet.RANKS_PER_SUIT;
+    int secondRank = second % CardSet.RANKS_PER_SUIT;
+    int higher = Math.min(firstRank, secondRank);
+    int lower = Math.max(firstRank, secondRank);
+    boolean suited = first / CardSet.RANKS_PER_SUIT == second / CardSet.RANKS_PER_SUIT;
+    return suited ? higher * CardSet.RANKS_PER_SUIT + lower
+        : lower * CardSet.RANKS_PER_SUIT + higher;
+  }
+
+  /**
+   * Pick a pocket of a starting-hand class: suited hands in Spades, other hands in Spades and
+   * Hearts.
+   *
+   * @param startingHandClass class index in range [0, {@link #CLASS_COUNT})
+   * @return {@link CardSet} of two cards whose {@link #classOf(long)} is
+   *         {@code startingHandClass}
+   */
+  static long pocketOf(int startingHandClass) {
+    int row = startingHandClass / CardSet.RANKS_PER_SUIT;
+    int column = startingHandClass % CardSet.RANKS_PER_SUIT;
+    if (row < column) {
+      return (1L << row) | (1L << column);
+    }
+    return (1L << row) | (1L << (CardSet.RANKS_PER_SUIT + column));
+  }
+
+  /**
+   * Look up the outcome counts of a lone pocket before the flop.
+   *
+   * @param pocket {@link CardSet} of exactly two cards
+   * @return number of the {@link #BOARD_COUNT} boards on which the pocket makes each outcome,
+   *         indexed by {@link Outcome#ordinal()}; or {@code null} if the table is not available
+   */
+  static long[] winsFor(long pocket) {
+    if (CardSet.size(pocket) != POCKET_SIZE) {
+      throw new IllegalArgumentException("Parameter \"pocket\" must hold exactly two cards.");
+    }
+    int[] counts = Table.COUNTS;
+    if (counts == null) {
+      return null;
+    }
+    long[] result = new long[OUTCOME_COUNT];
+    int offset = classOf(pocket) * OUTCOME_COUNT;
+    for (int i = 0; i < OUTCOME_COUNT; ++i) {
+      result[i] = counts[offset + i];
+    }
+    return result;
+  }
+
+  /**
+   * Enumerate the boards of one starting-hand class.
+   *
+   * @param startingHandClass class index in range [0, {@link #CLASS_COUNT})
+   * @return number of boards on which the class makes each outcome, indexed by
+   *         {@link Outcome#ordinal()}
+   */
+  static long[] count(int startingHandClass) {
+    long pocket = pocketOf(startingHandClass);
+    long[] wins = new long[OUTCOME_COUNT];
+    OutcomeCalculator.countOutcomes((1 << OUTCOME_COUNT) - 1, pocket,
+        OutcomeCalculator.makeDeckOfUndealtCards(pocket), 0, BOARD_SIZE, SuitSymmetry.of(pocket),
+        wins);
+    return wins;
+  }
+
+  /**
+   * Helper method that reads the table resource.
+   *
+   * @return counts laid out as in the resource, or {@code null} if it cannot be read
+   */
+  private static int[] load() {
+    InputStream resource = PreflopOutcomes.class.getResourceAsStream(RESOURCE);
+    if (resource == null) {
+      return null;
+    }
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(resource))) {
+      if (input.readInt() != CLASS_COUNT || input.readInt() != OUTCOME_COUNT) {
+        return null;
+      }
+      int[] result = new int[CLASS_COUNT * OUTCOME_COUNT];
+      for (int i = 0; i < result.length; ++i) {
+        result[i] = input.readInt();
+      }
+      return result;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Build the table by enumerating every starting-hand class, and write it out as a resource.
+   *
+   * @param args exactly 1 string specifying the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void main(String... args) throws IOException {
+    if (args.length != 1) {
+      System.out.println("Usage: PreflopOutcomes filepath");
+      return;
+    }
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(args[0])))) {
+      output.writeInt(CLASS_COUNT);
+      output.writeInt(OUTCOME_COUNT);
+      for (int i = 0; i < CLASS_COUNT; ++i) {
+        for (long wins : count(i)) {
+          output.writeInt((int) wins);
+        }
+      }
+    }
+  }
+}
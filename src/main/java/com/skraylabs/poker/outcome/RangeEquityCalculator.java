@@ -0,0 +1,416 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.Board;
+import com.skraylabs.poker.model.CardSet;
+import com.skraylabs.poker.model.CardUtils;
+import com.skraylabs.poker.model.HandRange;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Calculates the heads-up showdown equity of one {@link HandRange} against another on a given
+ * board. A single hand is a range of one combo, see {@link HandRange#of(long)}.
+ *
+ * <p>
+ * Combos that hold a board or dead card are removed from both ranges, and every pair of combos
+ * that share a card is skipped; each remaining pair counts by the product of its weights. Each
+ * runout -- the rest of the board -- is dealt once for both ranges, and every combo is evaluated
+ * once on it. Combos are then swept in order of strength, keeping running weights by card, so
+ * that every pair of combos is settled without comparing them one by one.
+ *
+ * <p>
+ * Runouts are enumerated when there are at most {@link #getExactLimit()} combo evaluations to do.
+ * Otherwise random pairs of combos and runouts are sampled, as in {@link OutcomeSampler}, until
+ * {@link #getSampleBudget()} of them have been settled. Sampling is seeded, so a calculator gives
+ * the same equity every time it is asked.
+ */
+public class RangeEquityCalculator {
+
+  /**
+   * Number of combo evaluations up to which equity is enumerated exactly by default.
+   */
+  public static final long DEFAULT_EXACT_LIMIT = 20000000L;
+
+  /**
+   * Number of showdowns sampled by default when there are too many runouts to enumerate.
+   */
+  public static final long DEFAULT_SAMPLE_BUDGET = 1000000L;
+
+  private static final int BOARD_SIZE = 5;
+
+  private final long board;
+  private final long deadCards;
+  private final long exactLimit;
+  private final long sampleBudget;
+  private final long seed;
+
+  /**
+   * Initializing constructor for a calculator that uses {@link #DEFAULT_EXACT_LIMIT} and
+   * {@link #DEFAULT_SAMPLE_BUDGET}.
+   *
+   * @param board board of 0, 3, 4 or 5 cards
+   * @param seed seed of the random showdowns, if they are sampled
+   */
+  public RangeEquityCalculator(Board board, long seed) {
+    this(CardSet.fromCards(CardUtils.collectCards(board)), CardSet.EMPTY, DEFAULT_EXACT_LIMIT,
+        DEFAULT_SAMPLE_BUDGET, seed);
+  }
+
+  /**
+   * Initializing constructor.
+   *
+   * @param board {@link CardSet} of 0, 3, 4 or 5 board cards
+   * @param deadCards {@link CardSet} of cards that are out of play
+   * @param exactLimit number of combo evaluations up to which equity is enumerated rather than
+   *        sampled
+   * @param sampleBudget number of showdowns to sample otherwise; at least 1
+   * @param seed seed of the random showdowns, if they are sampled
+   */
+  public RangeEquityCalculator(long board, long deadCards, long exactLimit, long sampleBudget,
+      long seed) {
+    int boardSize = CardSet.size(board);
+    if (boardSize != 0 && (boardSize < 3 || boardSize > BOARD_SIZE)) {
+      throw new IllegalArgumentException("Parameter \"board\" must hold 0, 3, 4 or 5 cards.");
+    }
+    if ((board & deadCards) != 0) {
+      throw new IllegalArgumentException("Parameter \"deadCards\" must not hold board cards.");
+    }
+    if (exactLimit < 0) {
+      throw new IllegalArgumentException("Parameter \"exactLimit\" must be non-negative.");
+    }
+    if (sampleBudget < 1) {
+      throw new IllegalArgumentException("Parameter \"sampleBudget\" must be at least 1.");
+    }
+    this.board = board;
+    this.deadCards = deadCards;
+    this.exactLimit = exactLimit;
+    this.sampleBudget = sampleBudget;
+    this.seed = seed;
+  }
+
+  public long getExactLimit() {
+    return exactLimit;
+  }
+
+  public long getSampleBudget() {
+    return sampleBudget;
+  }
+
+  /**
+   * Check whether {@link #equity(HandRange, HandRange)} enumerates every runout for two ranges.
+   *
+   * @param range one range
+   * @param otherRange the other range
+   * @return {@code true} if there are at most {@link #getExactLimit()} combo evaluations to do;
+   *         {@code false} if showdowns are sampled
+   */
+  public boolean isExact(HandRange range, HandRange otherRange) {
+    long dealtCards = board | deadCards;
+    HandRange hero = range.without(dealtCards);
+    HandRange villain = otherRange.without(dealtCards);
+    double runouts = choose(CardSet.size(CardSet.FULL_DECK & ~dealtCards),
+        BOARD_SIZE - CardSet.size(board));
+    // Counters must not overflow: each pair of combos adds up to its weight times a pot per runout
+    double maxCount = runouts * hero.size() * villain.size() * HandRange.WEIGHT_UNITS
+        * HandRange.WEIGHT_UNITS * Equity.SHARE_UNITS;
+    return runouts * (hero.size() + villain.size()) <= exactLimit && maxCount < Long.MAX_VALUE;
+  }
+
+  /**
+   * Report the showdown equity of one range against another.
+   *
+   * @param range range of the first player
+   * @param otherRange range of the second player
+   * @return equity of {@code range}, then of {@code otherRange}. Counts are of pairs of combos
+   *         times runouts, weighted in units of 1 / {@link HandRange#WEIGHT_UNITS} squared when
+   *         enumerated, or of showdowns when sampled.
+   * @throws IllegalArgumentException if no pair of combos can be dealt together on the board
+   */
+  public Equity[] equity(HandRange range, HandRange otherRange) {
+    long dealtCards = board | deadCards;
+    HandRange hero = range.without(dealtCards);
+    HandRange villain = otherRange.without(dealtCards);
+    long[] deck = OutcomeCalculator.makeDeckOfUndealtCards(dealtCards);
+    int cardsToDeal = BOARD_SIZE - CardSet.size(board);
+
+    Sweep sweep = new Sweep(hero, villain);
+    if (isExact(range, otherRange)) {
+      sweep.enumerate(board, deck, 0, cardsToDeal);
+    } else {
+      sweep.sample(board, deck, cardsToDeal, new SplittableRandom(seed), sampleBudget);
+    }
+    if (sweep.total == 0) {
+      throw new IllegalArgumentException(
+          "Parameters \"range\" and \"otherRange\" must hold combos that can be dealt together.");
+    }
+
+    long losses = sweep.total - sweep.wins - sweep.ties;
+    return new Equity[] {new Equity(sweep.wins, sweep.ties, sweep.shares, sweep.total),
+        new Equity(losses, sweep.ties, sweep.total * Equity.SHARE_UNITS - sweep.shares,
+            sweep.total)};
+  }
+
+  /**
+   * Report the showdown equity of a range against a single hand.
+   *
+   * @param range range of the first player
+   * @param pocket {@link CardSet} of the second player's two pocket cards
+   * @return same as {@link #equity(HandRange, HandRange)} with a range holding only
+   *         {@code pocket}
+   */
+  public Equity[] equity(HandRange range, long pocket) {
+    return equity(range, HandRange.of(pocket));
+  }
+
+  /**
+   * Helper method that computes a binomial coefficient.
+   *
+   * @param count number of items to choose from
+   * @param chosen number of items to choose
+   * @return number of ways to choose {@code chosen} of {@code count} items
+   */
+  private static double choose(int count, int chosen) {
+    double result = 1;
+    for (int i = 0; i < chosen; ++i) {
+      result = result * (count - i) / (i + 1);
+    }
+    return result;
+  }
+
+  /**
+   * Showdowns of every combo of one range against every combo of another, and counters of how the
+   * first range fares in them. No objects are created while enumerating or sampling, apart from a
+   * copy of the deck.
+   */
+  private static class Sweep {
+    /**
+     * Bits of a sort key that hold a combo's index; the bits above hold its strength.
+     */
+    static final int INDEX_BITS = 12;
+    static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    final long[] heroCombos;
+    final int[] heroWeights;
+    final long[] villainCombos;
+    final int[] villainWeights;
+    /**
+     * Weight of each villain combo, indexed by {@link #cardsIndex(long)}; 0 for other combos.
+     */
+    final int[] villainWeightByCards = new int[CardSet.DECK_SIZE * CardSet.DECK_SIZE];
+    /**
+     * Sort key of every combo left on the current board: strength, then index. Villain combos are
+     * indexed from 0, and hero combos from the number of villain combos.
+     */
+    final long[] order;
+    /**
+     * Weight of the villain combos left on the current board that hold each card.
+     */
+    final long[] villainByCard = new long[CardSet.DECK_SIZE];
+    /**
+     * Weight of the villain combos swept so far that hold each card.
+     */
+    final long[] sweptByCard = new long[CardSet.DECK_SIZE];
+    /**
+     * Weight of the villain combos weaker than each hero combo of the current strength.
+     */
+    final long[] beaten;
+    long wins;
+    long ties;
+    long shares;
+    long total;
+
+    Sweep(HandRange hero, HandRange villain) {
+      this.heroCombos = hero.getCombos();
+      this.heroWeights = hero.getWeights();
+      this.villainCombos = villain.getCombos();
+      this.villainWeights = villain.getWeights();
+      this.order = new long[heroCombos.length + villainCombos.length];
+      this.beaten = new long[heroCombos.length];
+      for (int i = 0; i < villainCombos.length; ++i) {
+        villainWeightByCards[cardsIndex(villainCombos[i])] = villainWeights[i];
+      }
+    }
+
+    /**
+     * Enumerate, in place, every way to deal {@code cardsToDeal} more cards from
+     * {@code deck[start..]}, and settle every pair of combos on each resulting board.
+     */
+    void enumerate(long cards, long[] deck, int start, int cardsToDeal) {
+      if (cardsToDeal <= 0) {
+        settle(cards);
+        return;
+      }
+      for (int i = start; i <= deck.length - cardsToDeal; ++i) {
+        enumerate(cards | deck[i], deck, i + 1, cardsToDeal - 1);
+      }
+    }
+
+    /**
+     * Helper method that evaluates every combo once on a complete board, then sweeps them in
+     * order of strength. Before a group of equally strong combos is swept, the swept weights hold
+     * every weaker villain combo, which the group's hero combos beat; after it, they also hold the
+     * villain combos that the group's hero combos tie. Villain combos that share a card with a hero
+     * combo are taken back out by card, adding back the combo holding both of its cards, which
+     * was taken out twice.
+     */
+    private void settle(long fullBoard) {
+      int count = 0;
+      long villainTotal = 0;
+      Arrays.fill(villainByCard, 0);
+      for (int i = 0; i < villainCombos.length; ++i) {
+        if ((villainCombos[i] & fullBoard) == 0) {
+          order[count++] = sortKey(fullBoard | villainCombos[i], i);
+          villainTotal += villainWeights[i];
+          addWeight(villainByCard, villainCombos[i], villainWeights[i]);
+        }
+      }
+      for (int i = 0; i < heroCombos.length; ++i) {
+        if ((heroCombos[i] & fullBoard) == 0) {
+          order[count++] = sortKey(fullBoard | heroCombos[i], villainCombos.length + i);
+        }
+      }
+      Arrays.sort(order, 0, count);
+
+      Arrays.fill(sweptByCard, 0);
+      long swept = 0;
+      for (int start = 0, end; start < count; start = end) {
+        long strength = order[start] >>> INDEX_BITS;
+        for (end = start; end < count && (order[end] >>> INDEX_BITS) == strength; ++end) {
+          int hero = (int) (order[end] & INDEX_MASK) - villainCombos.length;
+          if (hero >= 0) {
+            beaten[hero] = swept - cardWeight(sweptByCard, heroCombos[hero]);
+          }
+        }
+        for (int i = start; i < end; ++i) {
+          int villain = (int) (order[i] & INDEX_MASK);
+          if (villain < villainCombos.length) {
+            swept += villainWeights[villain];
+            addWeight(sweptByCard, villainCombos[villain], villainWeights[villain]);
+          }
+        }
+        for (int i = start; i < end; ++i) {
+          int hero = (int) (order[i] & INDEX_MASK) - villainCombos.length;
+          if (hero >= 0) {
+            long combo = heroCombos[hero];
+            int sameCombo = villainWeightByCards[cardsIndex(combo)];
+            long notWorse = swept - cardWeight(sweptByCard, combo) + sameCombo;
+            long dealable = villainTotal - cardWeight(villainByCard, combo) + sameCombo;
+            count(heroWeights[hero], beaten[hero], notWorse - beaten[hero], dealable);
+          }
+        }
+      }
+    }
+
+    /**
+     * Deal random pairs of combos, each picked in proportion to its weight, and random runouts,
+     * and settle the showdown of each. Pairs of combos that share a card are dealt again.
+     */
+    void sample(long cards, long[] deck, int cardsToDeal, SplittableRandom random,
+        long sampleBudget) {
+      if (!hasDealablePair()) {
+        return;
+      }
+      long[] heroCumulative = cumulative(heroWeights);
+      long[] villainCumulative = cumulative(villainWeights);
+      long[] shuffled = deck.clone();
+      for (long samples = 0; samples < sampleBudget; ) {
+        long heroCombo = heroCombos[pick(heroCumulative, random)];
+        long villainCombo = villainCombos[pick(villainCumulative, random)];
+        if ((heroCombo & villainCombo) != 0) {
+          continue;
+        }
+        // Partial Fisher-Yates shuffle, passing over the cards the players hold
+        long fullBoard = cards;
+        long held = heroCombo | villainCombo;
+        for (int i = 0, dealt = 0; dealt < cardsToDeal; ++i) {
+          int choice = i + random.nextInt(shuffled.length - i);
+          long card = shuffled[choice];
+          shuffled[choice] = shuffled[i];
+          shuffled[i] = card;
+          if ((card & held) == 0) {
+            fullBoard |= card;
+            ++dealt;
+          }
+        }
+        int heroStrength = SevenCardTable.evaluate(fullBoard | heroCombo);
+        int villainStrength = SevenCardTable.evaluate(fullBoard | villainCombo);
+        count(1, heroStrength > villainStrength ? 1 : 0, heroStrength == villainStrength ? 1 : 0,
+            1);
+        ++samples;
+      }
+    }
+
+    /**
+     * Helper method that adds the showdowns of one hero combo to the counters.
+     *
+     * @param heroWeight weight of the hero combo
+     * @param beatenWeight weight of the villain combos it beats
+     * @param tiedWeight weight of the villain combos it ties
+     * @param dealableWeight weight of the villain combos it can be dealt with
+     */
+    private void count(long heroWeight, long beatenWeight, long tiedWeight, long dealableWeight) {
+      wins += heroWeight * beatenWeight;
+      ties += heroWeight * tiedWeight;
+      shares += heroWeight
+          * (beatenWeight * Equity.SHARE_UNITS + tiedWeight * (Equity.SHARE_UNITS / 2));
+      total += heroWeight * dealableWeight;
+    }
+
+    private boolean hasDealablePair() {
+      for (long heroCombo : heroCombos) {
+        for (long villainCombo : villainCombos) {
+          if ((heroCombo & villainCombo) == 0) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    private static long sortKey(long hand, int index) {
+      return ((long) SevenCardTable.evaluate(hand) << INDEX_BITS) | index;
+    }
+
+    private static long[] cumulative(int[] weights) {
+      long[] result = new long[weights.length];
+      long sum = 0;
+      for (int i = 0; i < weights.length; ++i) {
+        sum += weights[i];
+        result[i] = sum;
+      }
+      return result;
+    }
+
+    /**
+     * Helper method that picks a random index, each in proportion to its weight.
+     *
+     * @param cumulative running sums of the weights, each one greater than the last
+     * @param random source of the pick
+     * @return the first index whose running sum is greater than a uniform draw below the total
+     */
+    private static int pick(long[] cumulative, SplittableRandom random) {
+      long draw = random.nextLong(cumulative[cumulative.length - 1]);
+      int found = Arrays.binarySearch(cumulative, draw);
+      return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    /**
+     * Helper method that indexes a two-card {@link CardSet} by its lower and higher card.
+     */
+    private static int cardsIndex(long combo) {
+      return Long.numberOfTrailingZeros(combo) * CardSet.DECK_SIZE
+          + (Long.SIZE - 1 - Long.numberOfLeadingZeros(combo));
+    }
+
+    private static void addWeight(long[] byCard, long combo, long weight) {
+      byCard[Long.numberOfTrailingZeros(combo)] += weight;
+      byCard[Long.SIZE - 1 - Long.numberOfLeadingZeros(combo)] += weight;
+    }
+
+    private static long cardWeight(long[] byCard, long combo) {
+      return byCard[Long.numberOfTrailingZeros(combo)]
+          + byCard[Long.SIZE - 1 - Long.numberOfLeadingZeros(combo)];
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.CardSet;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Outcome flags and strength of every seven-card hand, read from a memory-mapped file.
+ *
+ * <p>
+ * The file holds one big-endian int per hand, for all {@link #HAND_COUNT} hands in colexicographic
+ * order (see {@link #rankOf(long)}): the hand's {@link OutcomeChecker#outcomeFlags(long)} in the
+ * upper 16 bits, and its {@link HandEvaluator#evaluate(long)} strength in the lower 16 bits. At
+ * about 535 MB it is too large to ship as a resource, so it is built once per host by
+ * {@link #main(String...)}, and mapped with {@link #load(String)}. The mapped entries live outside
+ * the JVM heap, and pages are shared by every process that maps the same file.
+ *
+ * <p>
+ * Until a table is loaded, {@link #outcomeFlags(long)} and {@link #evaluate(long)} compute their
+ * result instead, as they do for hands of other sizes. Loading a table is not always a win: the
+ * lookup tables of {@link HandEvaluator} stay in the CPU caches, while most lookups in this table
+ * miss them, so measure before relying on it.
+ */
+public class SevenCardTable {
+
+  /**
+   * Number of cards in a hand of the table.
+   */
+  public static final int HAND_SIZE = 7;
+
+  /**
+   * Number of seven-card hands: 52 choose 7.
+   */
+  public static final int HAND_COUNT = 133784560;
+
+  private static final int ENTRY_BYTES = 4;
+  private static final int FLAGS_SHIFT = 16;
+  private static final int STRENGTH_MASK = (1 << FLAGS_SHIFT) - 1;
+
+  /**
+   * Binomial coefficients: {@code BINOMIALS[n][k]} is <i>n</i> choose <i>k</i>, for <i>n</i> less
+   * than the size of the deck.
+   */
+  private static final int[][] BINOMIALS = binomials();
+
+  /**
+   * Entries of the loaded table; or {@code null} if none is loaded.
+   */
+  private static volatile ByteBuffer entries;
+
+  /**
+   * Map a table file built by {@link #main(String...)}, and use it for every seven-card hand from
+   * now on. A table that is already loaded is replaced.
+   *
+   * @param filepath path to the table file
+   * @throws IOException if the file cannot be opened, or is not the size of a table
+   */
+  public static void load(String filepath) throws IOException {
+    try (FileChannel channel = FileChannel.open(Paths.get(filepath), StandardOpenOption.READ)) {
+      long size = (long) HAND_COUNT * ENTRY_BYTES;
+      if (channel.size() != size) {
+        throw new IOException(String.format(
+            "File [%s] holds %d bytes, but a seven-card table holds %d.", filepath,
+            channel.size(), size));
+      }
+      entries = channel.map(MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  /**
+   * Stop using the loaded table, if any. The mapping is released once it is garbage collected.
+   */
+  static void unload() {
+    entries = null;
+  }
+
+  /**
+   * Access whether a table is loaded.
+   *
+   * @return true if seven-card hands are looked up in a table
+   */
+  public static boolean isLoaded() {
+    return entries != null;
+  }
+
+  /**
+   * Check a set of cards for every {@link Outcome} at once, as
+   * {@link OutcomeChecker#outcomeFlags(long)} does. A seven-card hand is looked up in the loaded
+   * table, if any.
+   *
+   * @param cards {@link CardSet} of cards to analyze
+   * @return bitmask of {@link Outcome#flag()} values, one for each outcome that is present
+   */
+  public static int outcomeFlags(long cards) {
+    ByteBuffer table = entries;
+    if (table == null || Long.bitCount(cards) != HAND_SIZE) {
+      return OutcomeChecker.outcomeFlags(cards);
+    }
+    return table.getInt(rankOf(cards) * ENTRY_BYTES) >>> FLAGS_SHIFT;
+  }
+
+  /**
+   * Evaluate a set of cards, as {@link HandEvaluator#evaluate(long)} does. A seven-card hand is
+   * looked up in the loaded table, if any.
+   *
+   * @param cards {@link CardSet} of 5, 6 or 7 cards
+   * @return strength of the best five-card hand in {@code cards}; an integer in range [1,
+   *         {@value HandEvaluator#HAND_STRENGTHS}]
+   */
+  public static int evaluate(long cards) {
+    ByteBuffer table = entries;
+    if (table == null || Long.bitCount(cards) != HAND_SIZE) {
+      return HandEvaluator.evaluate(cards);
+    }
+    return table.getInt(rankOf(cards) * ENTRY_BYTES) & STRENGTH_MASK;
+  }
+
+  /**
+   * Find the colexicographic rank of a seven-card hand: the sum of
+   * <i>c<sub>i</sub></i> choose <i>i</i> over its cards, where <i>c<sub>1</sub></i> &lt; ... &lt;
+   * <i>c<sub>7</sub></i> are their {@link CardSet} bits. Hands are ranked in increasing order of
+   * their {@link CardSet} value.
+   *
+   * @param cards {@link CardSet} of exactly seven cards
+   * @return rank in range [0, {@link #HAND_COUNT})
+   */
+  static int rankOf(long cards) {
+    int result = 0;
+    int index = 1;
+    for (long rest = cards; rest != 0; rest &= rest - 1) {
+      result += BINOMIALS[Long.numberOfTrailingZeros(rest)][index++];
+    }
+    return result;
+  }
+
+  /**
+   * Find the next seven-card hand in colexicographic order: the next greater {@link CardSet} value
+   * with as many cards.
+   *
+   * @param cards {@link CardSet} of exactly seven cards
+   * @return {@link CardSet} of the hand whose rank follows that of {@code cards}; beyond the deck
+   *         if {@code cards} is the last hand
+   */
+  static long nextHand(long cards) {
+    long lowest = cards & -cards;
+    long ripple = cards + lowest;
+    return ripple | (((cards ^ ripple) >>> 2) / lowest);
+  }
+
+  /**
+   * Compute the table entry of a hand.
+   *
+   * @param cards {@link CardSet} of exactly seven cards
+   * @return outcome flags in the upper 16 bits, and strength in the lower 16 bits
+   */
+  static int entryOf(long cards) {
+    return (OutcomeChecker.outcomeFlags(cards) << FLAGS_SHIFT) | HandEvaluator.evaluate(cards);
+  }
+
+  /**
+   * Helper method that builds the table of binomial coefficients.
+   */
+  private static int[][] binomials() {
+    int[][] result = new int[CardSet.DECK_SIZE][HAND_SIZE + 1];
+    for (int n = 0; n < CardSet.DECK_SIZE; ++n) {
+      result[n][0] = 1;
+      for (int k = 1; k <= Math.min(n, HAND_SIZE); ++k) {
+        result[n][k] = result[n - 1][k - 1] + result[n - 1][k];
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Build the table by evaluating every seven-card hand, and write it to a file.
+   *
+   * @param args exactly 1 string specifying the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void main(String... args) throws IOException {
+    if (args.length != 1) {
+      System.out.println("Usage: SevenCardTable filepath");
+      return;
+    }
+    try (DataOutputStream output = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(args[0]), 1 << 16))) {
+      long cards = (1L << HAND_SIZE) - 1;
+      for (int i = 0; i < HAND_COUNT; ++i) {
+        output.writeInt(entryOf(cards));
+        cards = nextHand(cards);
+      }
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.skraylabs.poker.outcome;
+
+import com.skraylabs.poker.model.CardSet;
+
+import java.util.Arrays;
+
+/**
+ * Suits that can be relabeled without changing any result of an enumeration.
+ *
+ * <p>
+ * Two suits are interchangeable when every fixed set of cards -- the cards already dealt, and each
+ * hand being evaluated -- holds the same ranks in both. Swapping the suits of the cards dealt
+ * during enumeration then turns every board into one that is worth exactly as much. Boards are
+ * grouped by such relabeling, and only one canonical board of each group is evaluated; its counts
+ * are scaled by the size of the group.
+ *
+ * <p>
+ * A board is canonical when, among each set of interchangeable suits, the rank fields it deals are
+ * in non-increasing order from the lowest suit up. Fields are ordered by their lowest differing
+ * {@link CardSet} rank bit, i.e. by their highest differing rank. Because cards are dealt in
+ * increasing {@link CardSet} order, a suit's field is complete before any card of a higher suit is
+ * dealt, so non-canonical boards are rejected as soon as their first out-of-order card is dealt.
+ *
+ * <p>
+ * Interchangeable suits hold the same ranks in every fixed set, and no dealt card is in a fixed
+ * set. Comparing the suit fields of a fixed set plus the dealt cards therefore gives the same
+ * answer as comparing the dealt cards alone, so callers can pass the hand they are building.
+ */
+class SuitSymmetry {
+
+  private static final int SUITS = 4;
+
+  /**
+   * No suits are interchangeable: every board is canonical and has weight 1.
+   */
+  static final SuitSymmetry NONE = new SuitSymmetry(new int[] {-1, -1, -1, -1});
+
+  /**
+   * Nearest lower suit interchangeable with each suit, or -1 if there is none.
+   */
+  private final int[] previousSuit;
+
+  /**
+   * Position of each suit among the suits interchangeable with it, counting from 1.
+   */
+  private final int[] positionInClass = new int[SUITS];
+
+  private final boolean trivial;
+
+  private SuitSymmetry(int[] previousSuit) {
+    this.previousSuit = previousSuit;
+    boolean trivial = true;
+    for (int suit = 0; suit < SUITS; ++suit) {
+      int previous = previousSuit[suit];
+      positionInClass[suit] = previous < 0 ? 1 : positionInClass[previous] + 1;
+      trivial &= previous < 0;
+    }
+    this.trivial = trivial;
+  }
+
+  /**
+   * Find the suits that can be relabeled without changing any of a number of fixed sets of cards.
+   *
+   * @param fixedSets {@link CardSet}s that must be unchanged by relabeling: the cards that may not
+   *        be dealt, each hand that is evaluated, and the cards that enumeration deals onto
+   * @return symmetry preserving every one of {@code fixedSets}
+   */
+  static SuitSymmetry of(long... fixedSets) {
+    int[] previousSuit = new int[SUITS];
+    Arrays.fill(previousSuit, -1);
+    for (int suit = 1; suit < SUITS; ++suit) {
+      for (int other = suit - 1; other >= 0; --other) {
+        boolean interchangeable = true;
+        for (long cards : fixedSets) {
+          interchangeable &= CardSet.ranksOfSuit(cards, suit) == CardSet.ranksOfSuit(cards, other);
+        }
+        if (interchangeable) {
+          previousSuit[suit] = other;
+          break;
+        }
+      }
+    }
+    return new SuitSymmetry(previousSuit);
+  }
+
+  /**
+   * Check whether this symmetry relabels no suits.
+   *
+   * @return {@code true} if every board is its own group; {@code false} otherwise
+   */
+  boolean isTrivial() {
+    return trivial;
+  }
+
+  /**
+   * Check whether dealing one more card can still lead to a canonical board. Cards must be dealt in
+   * increasing {@link CardSet} order.
+   *
+   * @param cards {@link CardSet} of a fixed set plus the cards dealt onto it so far
+   * @param card single-card {@link CardSet} to deal next; higher than every card dealt so far
+   * @return {@code true} if {@code cards} plus {@code card} is a prefix of a canonical board;
+   *         {@code false} if every board it leads to is a relabeling of one already counted
+   */
+  boolean admits(long cards, long card) {
+    int suit = Long.numberOfTrailingZeros(card) / CardSet.RANKS_PER_SUIT;
+    int previous = previousSuit[suit];
+    if (previous < 0) {
+      return true;
+    }
+    int ranks = CardSet.ranksOfSuit(cards | card, suit);
+    int previousRanks = CardSet.ranksOfSuit(cards, previous);
+    int difference = ranks ^ previousRanks;
+    return (previousRanks & difference & -difference) != 0 || difference == 0;
+  }
+
+  /**
+   * Count the boards that a canonical board stands for: every distinct relabeling of it among
+   * interchangeable suits.
+   *
+   * @param cards {@link CardSet} of a fixed set plus a canonical board dealt onto it
+   * @return number of distinct boards in the group of the board in {@code cards}
+   */
+  long weight(long cards) {
+    if (trivial) {
+      return 1;
+    }
+    // Each set of interchangeable suits contributes the multinomial (suits)! / (runs of equal
+    // fields)!, built up one suit at a time; run lengths are kept as 4-bit fields of an int
+    long result = 1;
+    int runs = 0;
+    for (int suit = 0; suit < SUITS; ++suit) {
+      int previous = previousSuit[suit];
+      int run = 1;
+      if (previous >= 0) {
+        if (CardSet.ranksOfSuit(cards, suit) == CardSet.ranksOfSuit(cards, previous)) {
+          run = ((runs >>> (4 * previous)) & 0xF) + 1;
+        }
+        result = result * positionInClass[suit] / run;
+      }
+      runs |= run << (4 * suit);
+    }
+    return result;
+  }
+}
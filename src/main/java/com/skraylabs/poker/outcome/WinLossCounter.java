@@ -14,6 +14,17 @@ class WinLossCounter {
     this.losses = 0;
   }
 
+  /**
+   * Initializing constructor.
+   *
+   * @param wins number of "wins" counted so far
+   * @param losses number of "losses" counted so far
+   */
+  WinLossCounter(int wins, int losses) {
+    this.wins = wins;
+    this.losses = losses;
+  }
+
   public int getWins() {
     return this.wins;
   }
@@ -87,6 +87,154 @@ public class ApplicationArgumentsTest implements ApplicationTestInterface {
     assertThat(app.errorCode, not(Application.ERROR_CODE_BAD_ARGS));
   }
 
+  @Test
+  public void testValidBatchArguments() {
+    // Exercise
+    final String filepath = "poker.txt";
+    app.execute(Application.OPTION_BATCH, filepath);
+    // Verify
+    String output = outputStream.toString();
+    assertThat(output, not(containsString(Application.MSG_USAGE)));
+    assertThat(app.getFilepath(), equalTo(filepath));
+    assertThat(app.isBatch(), equalTo(true));
+    assertThat(app.errorCode, not(Application.ERROR_CODE_BAD_ARGS));
+  }
+
+  @Test
+  public void testValidWorkersArgument() {
+    // Exercise
+    app.execute(Application.OPTION_BATCH, Application.OPTION_WORKERS + "3", "poker.txt");
+    // Verify
+    assertThat(app.getWorkers(), equalTo(3));
+    assertThat(app.errorCode, not(Application.ERROR_CODE_BAD_ARGS));
+  }
+
+  @Test
+  public void testAbortForZeroWorkers() {
+    // Exercise
+    app.execute(Application.OPTION_BATCH, Application.OPTION_WORKERS + "0", "poker.txt");
+    // Verify
+    assertAbortBadArgs(this, Application.MSG_INVALID_WORKERS);
+  }
+
+  @Test
+  public void testAbortForMalformedWorkers() {
+    // Exercise
+    app.execute(Application.OPTION_BATCH, Application.OPTION_WORKERS + "many", "poker.txt");
+    // Verify
+    assertAbortBadArgs(this, Application.MSG_INVALID_WORKERS);
+  }
+
+  @Test
+  public void testAbortForPortOutOfRange() {
+    // Exercise
+    app.execute(Application.OPTION_SERVER + "70000");
+    // Verify
+    assertAbortBadArgs(this, Application.MSG_INVALID_PORT);
+  }
+
+  @Test
+  public void testAbortForZeroTimeout() {
+    // Exercise
+    app.execute(Application.OPTION_SERVER + "8080", Application.OPTION_TIMEOUT + "0");
+    // Verify
+    assertAbortBadArgs(this, Application.MSG_INVALID_TIMEOUT);
+  }
+
+  @Test
+  public void testAbortForNegativeCacheSize() {
+    // Exercise
+    app.execute(Application.OPTION_BATCH, Application.OPTION_CACHE + "-1", "poker.txt");
+    // Verify
+    assertAbortBadArgs(this, Application.MSG_INVALID_CACHE);
+  }
+
+  @Test
+  public void testAbortTableNotLoaded() {
+    // Exercise
+    final String tablepath = "absent_table.bin";
+    app.execute(Application.OPTION_TABLE + tablepath, "poker.txt");
+    // Verify
+    assertAbort(this, Application.ERROR_FILE_NOT_OPENED,
+        String.format(Application.MSG_TABLE_NOT_LOADED, tablepath));
+  }
+
+  @Test
+  public void testAbortForBatchOptionAfterFilepath() {
+    // Exercise
+    app.execute("poker.txt", Application.OPTION_BATCH);
+    // Verify
+    assertAbortBadArgs(this, Application.MSG_TOO_MANY_ARGS);
+  }
+
+  @Test
+  public void testAbortForBatchOptionWithoutFilepath() {
+    // Exercise
+    app.execute(Application.OPTION_BATCH);
+    // Verify
+    assertAbort(this, Application.ERROR_CODE_BAD_ARGS, Application.MSG_MISSING_FILEPATH,
+        Application.MSG_USAGE);
+  }
+
+  @Test
+  public void testAbortForWorkersOptionWithoutFilepath() {
+    // Exercise
+    app.execute(Application.OPTION_WORKERS + "4");
+    // Verify
+    assertAbort(this, Application.ERROR_CODE_BAD_ARGS, Application.MSG_MISSING_FILEPATH,
+        Application.MSG_USAGE);
+  }
+
+  @Test
+  public void testAbortForTimeoutWithoutServer() {
+    // Exercise
+    final String option = Application.OPTION_TIMEOUT + "1000";
+    app.execute(Application.OPTION_BATCH, option, "poker.txt");
+    // Verify
+    assertAbort(this, Application.ERROR_CODE_BAD_ARGS,
+        String.format(Application.MSG_OPTION_NOT_APPLICABLE, option), Application.MSG_USAGE);
+  }
+
+  @Test
+  public void testAbortForBatchWithServer() {
+    // Exercise
+    app.execute(Application.OPTION_SERVER + "8080", Application.OPTION_BATCH);
+    // Verify
+    assertAbort(this, Application.ERROR_CODE_BAD_ARGS,
+        String.format(Application.MSG_OPTION_NOT_APPLICABLE, Application.OPTION_BATCH),
+        Application.MSG_USAGE);
+  }
+
+  @Test
+  public void testAbortForWorkersInSingleGameMode() {
+    // Exercise
+    final String option = Application.OPTION_WORKERS + "4";
+    app.execute(option, "poker.txt");
+    // Verify
+    assertAbort(this, Application.ERROR_CODE_BAD_ARGS,
+        String.format(Application.MSG_OPTION_NOT_APPLICABLE, option), Application.MSG_USAGE);
+  }
+
+  @Test
+  public void testAbortForCacheInSingleGameMode() {
+    // Exercise
+    final String option = Application.OPTION_CACHE + "1024";
+    app.execute(option, "poker.txt");
+    // Verify
+    assertAbort(this, Application.ERROR_CODE_BAD_ARGS,
+        String.format(Application.MSG_OPTION_NOT_APPLICABLE, option), Application.MSG_USAGE);
+  }
+
+  @Test
+  public void testAbortForOpponentsInBatchMode() {
+    // Exercise
+    app.execute(Application.OPTION_BATCH, Application.OPTION_OPPONENTS, "poker.txt");
+    // Verify
+    assertAbort(this, Application.ERROR_CODE_BAD_ARGS,
+        String.format(Application.MSG_OPTION_NOT_APPLICABLE, Application.OPTION_OPPONENTS),
+        Application.MSG_USAGE);
+  }
+
   @Test
   public void testAbortInputFileNotOpened() {
     // Exercise
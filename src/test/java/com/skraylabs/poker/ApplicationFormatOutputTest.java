@@ -3,6 +3,7 @@ package com.skraylabs.poker;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import com.skraylabs.poker.model.GameState;
 import com.skraylabs.poker.outcome.Outcome;
 import com.skraylabs.poker.outcome.OutcomeCalculator;
 
@@ -19,7 +20,7 @@ public class ApplicationFormatOutputTest {
 
   @Test
   public void probabilityCalculationsAreFormattedNicely() {
-    OutcomeCalculator calculator = new OutcomeCalculator(null) {
+    OutcomeCalculator calculator = new OutcomeCalculator((GameState) null) {
       @Override
       public Map<Outcome, Double> allOutcomesForAPlayer(int playerIndex) {
         HashMap<Outcome, Double> allOutcomes = new HashMap<>();
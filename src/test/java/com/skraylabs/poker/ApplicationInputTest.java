@@ -3,6 +3,7 @@ package com.skraylabs.poker;
 import static com.skraylabs.poker.TestUtils.assertAbort;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import org.junit.After;
@@ -108,4 +109,49 @@ public class ApplicationInputTest implements ApplicationTestInterface {
     assertThat(output, containsString("Two of a Kind: 100%"));
   }
 
+  @Test
+  public void givenOpponentsOptionExecutePrintsEquityOfKnownPlayers() {
+    // Second seat is unknown; every hand plays the royal flush on the board
+    final String input = "Ah Kh Qh Jh Th\n" + "2c 3c\n" + "\n" + "As Ks\n";
+    app.inputString = input;
+
+    app.execute(Application.OPTION_OPPONENTS, "foo.txt");
+
+    assertThat(app.errorCode, equalTo(0));
+    assertThat(app.isOpponents(), equalTo(true));
+    String output = outputStream.toString();
+    String equity = "Win: 0%\n" + "Tie: 100%\n" + "Share: 33%\n";
+    assertThat(output, containsString("Player 1:\n" + equity));
+    assertThat(output, not(containsString("Player 2:")));
+    assertThat(output, containsString("Player 3:\n" + equity));
+    assertThat(output, not(containsString("Royal Flush")));
+  }
+
+  @Test
+  public void givenBatchOptionExecutePrintsOutputForEachGame() {
+    final String input = "5h 7d Ts Kc 2d\n" + "5d 5s\n" + "---\n" + "Ah Kh Qh Jh Th\n" + "2c 3c\n";
+    app.inputString = input;
+
+    app.execute(Application.OPTION_BATCH, "foo.txt");
+
+    assertThat(app.errorCode, equalTo(0));
+    assertThat(app.isBatch(), equalTo(true));
+    String output = outputStream.toString();
+    assertThat(output, containsString(String.format(Application.MSG_GAME, 1)));
+    assertThat(output, containsString("Three of a Kind: 100%"));
+    assertThat(output, containsString(String.format(Application.MSG_GAME, 2)));
+    assertThat(output, containsString("Royal Flush: 100%"));
+  }
+
+  @Test
+  public void givenBatchOptionMalformedGameIsReportedAndSkipped() {
+    final String input = "5h 7d Tr\n" + "---\n" + "Ah Kh Qh Jh Th\n" + "2c 3c\n";
+    app.inputString = input;
+
+    app.execute(Application.OPTION_BATCH, "foo.txt");
+
+    assertAbort(this, Application.ERROR_INVALID_INPUT, "Tr", Application.MSG_INVALID_INPUT,
+        String.format(Application.MSG_GAME, 2), "Royal Flush: 100%");
+  }
+
 }
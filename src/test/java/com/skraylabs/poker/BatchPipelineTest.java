@@ -0,0 +1,158 @@
+package com.skraylabs.poker;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.CompactGameState;
+import com.skraylabs.poker.model.GameStateReader;
+import com.skraylabs.poker.outcome.Outcome;
+import com.skraylabs.poker.outcome.OutcomeCache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+public class BatchPipelineTest {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  /**
+   * Game states that take very different times to evaluate, so that workers finish out of order.
+   */
+  private static final String[] GAMES = {"\n" + "As Ad\n" + "Kh Qh", "Ah Kh Qh Jh Th\n" + "2c 3c",
+      "7d 8d 9d\n" + "Td Jd", "2s 3s 4s 5s\n" + "6s 7s\n" + "\n" + "Ac Kc",
+      "5h 7d Ts Kc 2d\n" + "5d 5s"};
+
+  private static String batch(int copies) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < copies; ++i) {
+      for (String game : GAMES) {
+        builder.append(game).append('\n').append(GameStateReader.DELIMITER).append('\n');
+      }
+    }
+    return builder.toString();
+  }
+
+  private static String process(BatchPipeline pipeline, String input)
+      throws InterruptedException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    pipeline.process(new StringReader(input), new PrintStream(output));
+    return output.toString();
+  }
+
+  @Test
+  public void zeroWorkersCauseException() {
+    exception.expect(IllegalArgumentException.class);
+
+    new BatchPipeline(0);
+  }
+
+  @Test
+  public void outputIsInInputOrder() throws InterruptedException {
+    String input = batch(4);
+
+    String sequential = process(new BatchPipeline(1), input);
+    String parallel = process(new BatchPipeline(4), input);
+
+    assertThat(parallel, equalTo(sequential));
+    int previous = -1;
+    for (int i = 1; i <= 4 * GAMES.length; ++i) {
+      int position = parallel.indexOf(String.format(Application.MSG_GAME, i) + "\n");
+      assertThat(position > previous, is(true));
+      previous = position;
+    }
+  }
+
+  @Test
+  public void outputMatchesSingleGameOutput() throws InterruptedException {
+    String output = process(new BatchPipeline(2), batch(1));
+
+    for (int i = 0; i < GAMES.length; ++i) {
+      String expected = String.format(Application.MSG_GAME, i + 1) + "\n"
+          + Application.formatGame(TestUtils.createGameState(GAMES[i]));
+      assertThat(output, containsString(expected));
+    }
+  }
+
+  @Test
+  public void malformedGameIsReportedInPlace() throws InterruptedException {
+    BatchPipeline pipeline = new BatchPipeline(3);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    String input = batch(1) + "5h 7d Tr\n" + GameStateReader.DELIMITER + "\n" + GAMES[0];
+
+    boolean valid = pipeline.process(new StringReader(input), new PrintStream(output));
+
+    assertThat(valid, is(false));
+    String text = output.toString();
+    int error = text.indexOf(Application.MSG_INVALID_INPUT);
+    assertThat(text.indexOf(String.format(Application.MSG_GAME, GAMES.length + 1)) < error,
+        is(true));
+    assertThat(text.indexOf(String.format(Application.MSG_GAME, GAMES.length + 2)) > error,
+        is(true));
+  }
+
+  @Test
+  public void failedCalculationIsReportedInPlace() throws InterruptedException {
+    OutcomeCache failingCache = new OutcomeCache(OutcomeCache.DEFAULT_BYTE_BUDGET) {
+      @Override
+      public List<Map<Outcome, Double>> allOutcomesForAllPlayers(CompactGameState state) {
+        if (state.getBoardSize() == 0) {
+          throw new IllegalStateException("Cache is broken");
+        }
+        return super.allOutcomesForAllPlayers(state);
+      }
+    };
+    BatchPipeline pipeline = new BatchPipeline(2, failingCache);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    boolean valid = pipeline.process(new StringReader(batch(1)), new PrintStream(output));
+
+    assertThat(valid, is(false));
+    String text = output.toString();
+    assertThat(text, containsString(String.format(Application.MSG_GAME, 1) + "\n"
+        + Application.MSG_CALCULATION_FAILED + "\n"));
+    assertThat(text, containsString("Cache is broken"));
+    assertThat(text, containsString(String.format(Application.MSG_GAME, GAMES.length)));
+  }
+
+  @Test
+  public void failedReadIsReportedAfterLastGame() throws InterruptedException {
+    Reader input = new StringReader(batch(1)) {
+      @Override
+      public int read(char[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read < 0) {
+          throw new IllegalStateException("Disk was removed");
+        }
+        return read;
+      }
+    };
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    boolean valid = new BatchPipeline(3).process(input, new PrintStream(output));
+
+    assertThat(valid, is(false));
+    assertThat(output.toString(), containsString(String.format(Application.MSG_GAME,
+        GAMES.length + 1) + "\n" + Application.MSG_READ_FAILED + "\n"));
+    assertThat(output.toString(), containsString("Disk was removed"));
+  }
+
+  @Test
+  public void capacityGrowsWithWorkers() {
+    BatchPipeline pipeline = new BatchPipeline(3);
+
+    assertThat(pipeline.getWorkers(), equalTo(3));
+    assertThat(pipeline.getCapacity(), equalTo(3 * BatchPipeline.CAPACITY_PER_WORKER));
+  }
+}
@@ -0,0 +1,221 @@
+package com.skraylabs.poker;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.CompactGameState;
+import com.skraylabs.poker.model.GameStateReader;
+import com.skraylabs.poker.outcome.Outcome;
+import com.skraylabs.poker.outcome.OutcomeCache;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CalculationServerTest {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  /**
+   * Game state that {@link BlockingCache} blocks on.
+   */
+  private static final String PREFLOP_GAME_STATE = "\n" + "As Ad\n" + "Kh Qh\n" + "7c 2d";
+
+  /**
+   * Cache that blocks the calculation of every pre-flop game, so that it times out however fast
+   * the host is. The calculation is abandoned when its worker is interrupted; unless the cache
+   * ignores interrupts, in which case it is blocked until {@link #release} is counted down.
+   */
+  private static class BlockingCache extends OutcomeCache {
+    final CountDownLatch release = new CountDownLatch(1);
+    private final boolean interruptible;
+
+    BlockingCache(boolean interruptible) {
+      super(OutcomeCache.DEFAULT_BYTE_BUDGET);
+      this.interruptible = interruptible;
+    }
+
+    @Override
+    public List<Map<Outcome, Double>> allOutcomesForAllPlayers(CompactGameState state) {
+      while (state.getBoardSize() == 0 && release.getCount() > 0) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          if (interruptible) {
+            throw new CancellationException();
+          }
+        }
+      }
+      return super.allOutcomesForAllPlayers(state);
+    }
+  }
+
+  /**
+   * SUT: CalculationServer.
+   */
+  private CalculationServer server;
+
+  /**
+   * Start a server on any free port, serving on a background thread.
+   */
+  private void startServer(int workers, long timeoutMillis) throws IOException {
+    startServer(workers, timeoutMillis, null);
+  }
+
+  /**
+   * Start a server with a cache on any free port, serving on a background thread.
+   */
+  private void startServer(int workers, long timeoutMillis, OutcomeCache cache)
+      throws IOException {
+    server = new CalculationServer(0, workers, timeoutMillis, cache);
+    Thread thread = new Thread(server::serve);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Tear down test fixture.
+   */
+  @After
+  public void tearDown() throws Exception {
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  /**
+   * Send requests over one connection and read the response to each.
+   */
+  private List<String> request(String... gameStates) throws IOException {
+    List<String> result = new ArrayList<>();
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        PrintWriter writer = new PrintWriter(
+            new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        BufferedReader reader = new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+      for (String gameState : gameStates) {
+        writer.print(gameState + "\n" + GameStateReader.DELIMITER + "\n");
+        writer.flush();
+        StringBuilder response = new StringBuilder();
+        for (String line = reader.readLine(); !GameStateReader.DELIMITER.equals(line);
+            line = reader.readLine()) {
+          response.append(line).append('\n');
+        }
+        result.add(response.toString());
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void zeroWorkersCauseException() throws IOException {
+    exception.expect(IllegalArgumentException.class);
+
+    new CalculationServer(0, 0, 1000);
+  }
+
+  @Test
+  public void responseMatchesSingleGameOutput() throws IOException {
+    startServer(1, CalculationServer.DEFAULT_TIMEOUT_MILLIS);
+    String gameState = "5h 7d Ts Kc 2d\n" + "5d 5s\n" + "Ah Kh";
+
+    List<String> responses = request(gameState);
+
+    assertThat(responses.get(0),
+        equalTo(Application.formatGame(TestUtils.createGameState(gameState))));
+  }
+
+  @Test
+  public void connectionCarriesManyRequests() throws IOException {
+    startServer(1, CalculationServer.DEFAULT_TIMEOUT_MILLIS);
+
+    List<String> responses = request("Ah Kh Qh Jh Th\n" + "2c 3c", "5h 7d Tr\n" + "2c 3c",
+        "5h 7d Ts Kc 2d\n" + "5d 5s");
+
+    assertThat(responses.get(0), containsString("Royal Flush: 100%"));
+    assertThat(responses.get(1), containsString(Application.MSG_INVALID_INPUT));
+    assertThat(responses.get(1), containsString("Tr"));
+    assertThat(responses.get(2), containsString("Three of a Kind: 100%"));
+  }
+
+  @Test
+  public void connectionsAreServedConcurrently() throws Exception {
+    startServer(2, CalculationServer.DEFAULT_TIMEOUT_MILLIS);
+    ExecutorService clients = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<List<String>>> results = new ArrayList<>();
+      for (int i = 0; i < 4; ++i) {
+        results.add(clients.submit(() -> request("2s 3s 4s\n" + "5s 6s", "7d 8d 9d\n" + "Td Jd")));
+      }
+
+      for (Future<List<String>> result : results) {
+        assertThat(result.get().get(0), containsString("Straight Flush: 100%"));
+        assertThat(result.get().get(1), containsString("Straight Flush: 100%"));
+      }
+    } finally {
+      clients.shutdown();
+    }
+  }
+
+  @Test
+  public void repeatedGameIsAnsweredFromTheCache() throws IOException {
+    startServer(1, CalculationServer.DEFAULT_TIMEOUT_MILLIS,
+        new OutcomeCache(OutcomeCache.DEFAULT_BYTE_BUDGET));
+
+    List<String> responses = request("7d 8d 9d\n" + "Td Jd", "7s 8s 9s\n" + "Ts Js");
+
+    assertThat(responses.get(1), equalTo(responses.get(0)));
+    assertThat(server.getCache().getMissCount(), equalTo(1L));
+    assertThat(server.getCache().getHitCount(), equalTo(1L));
+  }
+
+  @Test
+  public void slowCalculationTimesOut() throws IOException {
+    startServer(1, 1000, new BlockingCache(true));
+    String fastGameState = "Ah Kh Qh Jh Th\n" + "2c 3c";
+
+    List<String> responses = request(PREFLOP_GAME_STATE, fastGameState);
+
+    assertThat(responses.get(0), equalTo(CalculationServer.MSG_TIMEOUT + "\n"));
+    // The only worker moved on to the fast game, so the blocked calculation was abandoned
+    assertThat(responses.get(1),
+        equalTo(Application.formatGame(TestUtils.createGameState(fastGameState))));
+  }
+
+  // Without a bound on the wait for a worker, this test would hang rather than fail
+  @Test(timeout = 10000)
+  public void requestWaitingForABusyWorkerTimesOut() throws IOException {
+    BlockingCache cache = new BlockingCache(false);
+    startServer(1, 100, cache);
+
+    try {
+      // The only worker stays blocked after the first request times out
+      List<String> responses = request(PREFLOP_GAME_STATE, "Ah Kh Qh Jh Th\n" + "2c 3c");
+
+      assertThat(responses.get(0), equalTo(CalculationServer.MSG_TIMEOUT + "\n"));
+      assertThat(responses.get(1), equalTo(CalculationServer.MSG_TIMEOUT + "\n"));
+    } finally {
+      cache.release.countDown();
+    }
+  }
+}
@@ -4,6 +4,10 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.GameStateFactory;
+import com.skraylabs.poker.model.PokerFormatException;
+
 /**
  * Collection of useful Test Helpers.
  */
@@ -36,4 +40,17 @@ class TestUtils {
     assertAbort(testClass, Application.ERROR_CODE_BAD_ARGS, errorMessage);
   }
 
+  /**
+   * Create a {@link GameState} from input that is known to be formatted correctly.
+   *
+   * @param input string representation of a GameState
+   * @return a GameState created from {@code input}
+   */
+  static GameState createGameState(String input) {
+    try {
+      return GameStateFactory.createGameStateFromString(input);
+    } catch (PokerFormatException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
 }
@@ -0,0 +1,130 @@
+package com.skraylabs.poker.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+public class CardSetTest {
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void cardOccupiesBitGivenByCardNumber() {
+    for (int i = 0; i < CardSet.DECK_SIZE; ++i) {
+      Card card = CardUtils.cardFromNumber(i);
+
+      long cards = CardSet.of(card);
+
+      assertThat(cards, equalTo(1L << i));
+    }
+  }
+
+  @Test
+  public void fullDeckRoundTripsThroughCards() {
+    Collection<Card> deck = CardSet.toCards(CardSet.FULL_DECK);
+
+    long cards = CardSet.fromCards(deck);
+
+    assertThat(deck.size(), is(CardSet.DECK_SIZE));
+    assertThat(cards, equalTo(CardSet.FULL_DECK));
+  }
+
+  @Test
+  public void duplicateCardsAreCountedOnce() {
+    Collection<Card> cards = new ArrayList<>();
+    cards.add(new Card(Rank.ACE, Suit.SPADES));
+    cards.add(new Card(Rank.ACE, Suit.SPADES));
+
+    long cardSet = CardSet.fromCards(cards);
+
+    assertThat(CardSet.size(cardSet), is(1));
+    assertThat(CardSet.contains(cardSet, new Card(Rank.ACE, Suit.SPADES)), is(true));
+    assertThat(CardSet.contains(cardSet, new Card(Rank.ACE, Suit.HEARTS)), is(false));
+  }
+
+  @Test
+  public void ranksOfSuitUsesRankOrdinals() {
+    Collection<Card> cards = new ArrayList<>();
+    cards.add(new Card(Rank.KING, Suit.DIAMONDS));
+    cards.add(new Card(Rank.TWO, Suit.DIAMONDS));
+    cards.add(new Card(Rank.TWO, Suit.CLUBS));
+
+    int ranks = CardSet.ranksOfSuit(CardSet.fromCards(cards), Suit.DIAMONDS.ordinal());
+
+    assertThat(ranks, equalTo((1 << Rank.KING.ordinal()) | (1 << Rank.TWO.ordinal())));
+  }
+
+  @Test
+  public void ranksWithCountFindsEachMultiplicity() {
+    Collection<Card> cards = new ArrayList<>();
+    cards.add(new Card(Rank.ACE, Suit.SPADES));
+    cards.add(new Card(Rank.ACE, Suit.HEARTS));
+    cards.add(new Card(Rank.ACE, Suit.DIAMONDS));
+    cards.add(new Card(Rank.FIVE, Suit.CLUBS));
+    cards.add(new Card(Rank.FIVE, Suit.HEARTS));
+    cards.add(new Card(Rank.NINE, Suit.CLUBS));
+    long cardSet = CardSet.fromCards(cards);
+    int ace = 1 << Rank.ACE.ordinal();
+    int five = 1 << Rank.FIVE.ordinal();
+    int nine = 1 << Rank.NINE.ordinal();
+
+    assertThat(CardSet.ranksWithCount(cardSet, 1), equalTo(ace | five | nine));
+    assertThat(CardSet.ranksWithCount(cardSet, 2), equalTo(ace | five));
+    assertThat(CardSet.ranksWithCount(cardSet, 3), equalTo(ace));
+    assertThat(CardSet.ranksWithCount(cardSet, 4), equalTo(0));
+  }
+
+  @Test
+  public void outOfRangeCountCausesException() {
+    exception.expect(IllegalArgumentException.class);
+
+    CardSet.ranksWithCount(CardSet.FULL_DECK, 5);
+  }
+
+  @Test
+  public void firstSuitPermutationLeavesCardsUnchanged() {
+    assertThat(CardSet.relabel(CardSet.FULL_DECK, 0), equalTo(CardSet.FULL_DECK));
+    assertThat(CardSet.relabel(0x1234567L, 0), equalTo(0x1234567L));
+  }
+
+  @Test
+  public void suitPermutationsAreDistinctAndKeepRanks() {
+    // Ace of Spades, King of Hearts, Queen of Diamonds and Jack of Clubs
+    long cards = (1L << 0) | (1L << 14) | (1L << 28) | (1L << 42);
+    Set<Long> relabelings = new HashSet<>();
+    for (int i = 0; i < CardSet.SUIT_PERMUTATION_COUNT; ++i) {
+      long relabeled = CardSet.relabel(cards, i);
+
+      assertThat(CardSet.size(relabeled), is(4));
+      assertThat(CardSet.ranksWithCount(relabeled, 1), equalTo(CardSet.ranksWithCount(cards, 1)));
+      relabelings.add(relabeled);
+    }
+    assertThat(relabelings.size(), is(CardSet.SUIT_PERMUTATION_COUNT));
+  }
+
+  @Test
+  public void parseReadsCardsSeparatedByWhitespace() throws CardFormatException {
+    long cards = CardSet.parse(" Ah  Kh\tQh ");
+
+    assertThat(cards, equalTo(CardSet.of(new Card(Rank.ACE, Suit.HEARTS))
+        | CardSet.of(new Card(Rank.KING, Suit.HEARTS)) | CardSet.of(new Card(Rank.QUEEN,
+            Suit.HEARTS))));
+    assertThat(CardSet.parse(""), equalTo(CardSet.EMPTY));
+  }
+
+  @Test
+  public void parseRejectsMalformedCard() throws CardFormatException {
+    exception.expect(CardFormatException.class);
+
+    CardSet.parse("Ah Kx");
+  }
+}
@@ -2,6 +2,7 @@ package com.skraylabs.poker.model;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import org.junit.Before;
@@ -9,6 +10,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class CardTest {
 
   @Rule
@@ -128,4 +132,39 @@ public class CardTest {
     // Verify
     assertThat(hashCode1, equalTo(hashCode2));
   }
+
+  @Test
+  public void testHashCode_distinctForEveryCard() {
+    // Set up
+    Set<Integer> hashCodes = new HashSet<>();
+    // Exercise
+    for (Suit suit : Suit.values()) {
+      for (Rank rank : Rank.values()) {
+        hashCodes.add(new Card(rank, suit).hashCode());
+      }
+    }
+    // Verify
+    assertThat(hashCodes.size(), is(CardSet.DECK_SIZE));
+  }
+
+  @Test
+  public void testOf_returnsSharedInstance() {
+    // Exercise
+    Card card1 = Card.of(fixedRank, fixedSuit);
+    Card card2 = Card.of(fixedRank, fixedSuit);
+    // Verify
+    assertThat(card1, is(sameInstance(card2)));
+    assertThat(card1, equalTo(fixedCard));
+  }
+
+  @Test
+  public void testOf_matchesCardFromNumber() {
+    for (int number = 0; number < CardSet.DECK_SIZE; ++number) {
+      // Exercise
+      Card card = CardUtils.cardFromNumber(number);
+      // Verify
+      assertThat(Card.of(card.getRank(), card.getSuit()), is(sameInstance(card)));
+      assertThat(card.hashCode(), is(number));
+    }
+  }
 }
@@ -0,0 +1,133 @@
+package com.skraylabs.poker.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CompactGameStateTest {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void fromGameStateKeepsBoardAndPockets() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("Ah Kh Qh Jh\n2d 7c\n\nAs Ad");
+
+    CompactGameState state = CompactGameState.fromGameState(game);
+
+    assertThat(state.getBoard(), equalTo(CardSet.parse("Ah Kh Qh Jh")));
+    assertThat(state.getBoardSize(), is(4));
+    assertThat(state.getPocket(0), equalTo(CardSet.parse("2d 7c")));
+    assertThat(state.getPocket(1), equalTo(CardSet.EMPTY));
+    assertThat(state.hasPocket(1), is(false));
+    assertThat(state.getPocket(2), equalTo(CardSet.parse("As Ad")));
+    assertThat(state.hasPocket(3), is(false));
+    assertThat(state.getDealtCards(), equalTo(CardSet.parse("Ah Kh Qh Jh 2d 7c As Ad")));
+  }
+
+  @Test
+  public void toGameStateRoundTrips() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("2c 7d 9h\nAs Ah\n\nKd Kc");
+    CompactGameState state = CompactGameState.fromGameState(game);
+
+    GameState copy = state.toGameState();
+
+    assertThat(CompactGameState.fromGameState(copy), equalTo(state));
+    assertThat(copy.getPockets()[1], is(nullValue()));
+    assertThat(copy.getPockets()[3], is(nullValue()));
+  }
+
+  @Test
+  public void deadCardsAreDealt() throws CardFormatException {
+    CompactGameState state =
+        CompactGameState.of(CardSet.EMPTY, new long[] {CardSet.parse("As Ks")}, CardSet.EMPTY);
+
+    CompactGameState withDeadCards = state.withDeadCards(CardSet.parse("2c 3c"));
+
+    assertThat(withDeadCards.getDeadCards(), equalTo(CardSet.parse("2c 3c")));
+    assertThat(withDeadCards.getDealtCards(), equalTo(CardSet.parse("As Ks 2c 3c")));
+    assertThat(withDeadCards, not(equalTo(state)));
+    assertThat(state.getDeadCards(), equalTo(CardSet.EMPTY));
+  }
+
+  @Test
+  public void changingPocketArrayDoesNotChangeState() throws CardFormatException {
+    long[] pockets = {CardSet.parse("As Ks")};
+    CompactGameState state = CompactGameState.of(CardSet.EMPTY, pockets, CardSet.EMPTY);
+
+    pockets[0] = CardSet.parse("2c 3c");
+
+    assertThat(state.getPocket(0), equalTo(CardSet.parse("As Ks")));
+  }
+
+  @Test
+  public void duplicateCardCausesException() throws CardFormatException {
+    exception.expect(IllegalArgumentException.class);
+
+    CompactGameState.of(CardSet.parse("As Kd Qh"), new long[] {CardSet.parse("As 2c")},
+        CardSet.EMPTY);
+  }
+
+  @Test
+  public void twoCardBoardCausesException() throws CardFormatException {
+    exception.expect(IllegalArgumentException.class);
+
+    CompactGameState.of(CardSet.parse("As Kd"), new long[] {CardSet.parse("2c 3c")}, CardSet.EMPTY);
+  }
+
+  @Test
+  public void threeCardPocketCausesException() throws CardFormatException {
+    exception.expect(IllegalArgumentException.class);
+
+    CompactGameState.of(CardSet.EMPTY, new long[] {CardSet.parse("2c 3c 4c")}, CardSet.EMPTY);
+  }
+
+  @Test
+  public void elevenPocketsCauseException() {
+    exception.expect(IllegalArgumentException.class);
+
+    CompactGameState.of(CardSet.EMPTY, new long[GameState.MAX_PLAYERS + 1], CardSet.EMPTY);
+  }
+
+  @Test
+  public void canonicalStateIgnoresSuitLabels() throws CardFormatException {
+    CompactGameState state = CompactGameState.of(CardSet.parse("Ah Kd 7h"),
+        new long[] {CardSet.parse("Qh Jh"), CardSet.parse("7s 7c")}, CardSet.parse("2d"));
+    CompactGameState relabeled = CompactGameState.of(CardSet.parse("As Kc 7s"),
+        new long[] {CardSet.parse("Qs Js"), CardSet.parse("7d 7h")}, CardSet.parse("2c"));
+
+    assertThat(state.canonical(), equalTo(relabeled.canonical()));
+    assertThat(state.canonical().canonical(), equalTo(state.canonical()));
+  }
+
+  @Test
+  public void canonicalStateKeepsPlayers() throws CardFormatException {
+    CompactGameState state = CompactGameState.of(CardSet.parse("Ah Kd 7h"),
+        new long[] {CardSet.parse("Qh Jh"), CardSet.EMPTY, CardSet.parse("7s 7c")}, CardSet.EMPTY);
+
+    CompactGameState canonical = state.canonical();
+
+    assertThat(canonical.getBoardSize(), equalTo(3));
+    assertThat(CardSet.size(canonical.getPocket(0)), equalTo(2));
+    assertThat(canonical.hasPocket(1), is(false));
+    assertThat(CardSet.size(canonical.getPocket(2)), equalTo(2));
+  }
+
+  @Test
+  public void canonicalStateTellsApartDifferentGames() throws CardFormatException {
+    CompactGameState suited = CompactGameState.of(CardSet.parse("Ah Kd 7h"),
+        new long[] {CardSet.parse("Qh Jh")}, CardSet.EMPTY);
+    CompactGameState offsuit = CompactGameState.of(CardSet.parse("Ah Kd 7h"),
+        new long[] {CardSet.parse("Qh Js")}, CardSet.EMPTY);
+
+    assertThat(suited.canonical(), not(equalTo(offsuit.canonical())));
+  }
+}
@@ -0,0 +1,107 @@
+package com.skraylabs.poker.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+public class GameStateGeneratorTest {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void sameSeedGivesSameGameStates() {
+    GameStateGenerator first = new GameStateGenerator(7);
+    GameStateGenerator second = new GameStateGenerator(7);
+
+    for (int i = 0; i < 20; ++i) {
+      assertThat(first.generate(3, 4, 1), equalTo(second.generate(3, 4, 1)));
+    }
+  }
+
+  @Test
+  public void differentSeedsGiveDifferentGameStates() {
+    assertThat(new GameStateGenerator(7).generate(5, 10, 0),
+        not(equalTo(new GameStateGenerator(8).generate(5, 10, 0))));
+  }
+
+  @Test
+  public void generatedGameStatesAreValid() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    GameStateGenerator generator = new GameStateGenerator(1);
+    int[] boardSizes = {0, 3, 4, 5};
+
+    for (int i = 0; i < 200; ++i) {
+      int boardSize = boardSizes[i % boardSizes.length];
+      int players = 1 + i % GameState.MAX_PLAYERS;
+      int unknownPockets = i % players;
+
+      GameState game =
+          GameStateFactory.createGameStateFromString(generator.generate(boardSize, players,
+              unknownPockets));
+
+      CompactGameState state = CompactGameState.fromGameState(game);
+      assertThat(state.getBoardSize(), equalTo(boardSize));
+      int known = 0;
+      for (int seat = 0; seat < GameState.MAX_PLAYERS; ++seat) {
+        known += state.hasPocket(seat) ? 1 : 0;
+      }
+      assertThat(known, equalTo(players - unknownPockets));
+      assertThat(CardSet.size(state.getDealtCards()), equalTo(boardSize + 2 * known));
+    }
+  }
+
+  @Test
+  public void unknownPocketsAreBlankLines() {
+    String game = new GameStateGenerator(3).generate(0, 3, 2);
+
+    assertThat(game.split("\n", -1).length, equalTo(4));
+    assertThat(game.replace("\n", "").length(), equalTo(5));
+  }
+
+  @Test
+  public void batchCanBeReadBack() throws IOException, CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    StringWriter output = new StringWriter();
+
+    new GameStateGenerator(5).writeBatch(output, 25, 4, 6, 2);
+
+    try (GameStateReader reader = new GameStateReader(new StringReader(output.toString()))) {
+      for (int i = 0; i < 25; ++i) {
+        assertThat(reader.next(), is(not(nullValue())));
+      }
+      assertThat(reader.next(), is(nullValue()));
+    }
+  }
+
+  @Test
+  public void twoCardBoardCausesException() {
+    exception.expect(IllegalArgumentException.class);
+
+    new GameStateGenerator(1).generate(2, 2, 0);
+  }
+
+  @Test
+  public void elevenPlayersCauseException() {
+    exception.expect(IllegalArgumentException.class);
+
+    new GameStateGenerator(1).generate(3, GameState.MAX_PLAYERS + 1, 0);
+  }
+
+  @Test
+  public void allPocketsUnknownCausesException() {
+    exception.expect(IllegalArgumentException.class);
+
+    new GameStateGenerator(1).generate(3, 2, 2);
+  }
+}
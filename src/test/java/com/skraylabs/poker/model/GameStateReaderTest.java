@@ -0,0 +1,66 @@
+package com.skraylabs.poker.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+public class GameStateReaderTest {
+
+  @Test
+  public void readsEachGameStateInTurn() throws Exception {
+    String input = "Ah Kh Qh\n" + "2d 7c\n" + "---\n" + "\n" + "As Ad\n" + "\n" + "Ks Kd\n";
+    try (GameStateReader reader = new GameStateReader(new StringReader(input))) {
+      GameState first = reader.next();
+      GameState second = reader.next();
+
+      assertThat(first.getBoard(), equalTo(GameStateFactory.parseBoard("Ah Kh Qh")));
+      assertThat(first.getPockets()[0], equalTo(GameStateFactory.parsePocket("2d 7c")));
+      assertThat(second.getPockets()[1], is(nullValue()));
+      assertThat(second.getPockets()[2], is(notNullValue()));
+      assertThat(reader.next(), is(nullValue()));
+      assertThat(reader.getCount(), equalTo(2));
+    }
+  }
+
+  @Test
+  public void trailingDelimiterIsOptional() throws Exception {
+    String input = "\n" + "As Ad\n" + "---\n";
+    try (GameStateReader reader = new GameStateReader(new StringReader(input))) {
+      assertThat(reader.next(), is(notNullValue()));
+      assertThat(reader.next(), is(nullValue()));
+    }
+  }
+
+  @Test
+  public void emptyStreamHoldsNoGameStates() throws Exception {
+    try (GameStateReader reader = new GameStateReader(new StringReader(""))) {
+      assertThat(reader.next(), is(nullValue()));
+      assertThat(reader.getCount(), equalTo(0));
+    }
+  }
+
+  @Test
+  public void malformedGameStateIsSkipped() throws IOException, CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    String input = "5h 7d Tr\n" + "2d 7c\n" + "---\n" + "\n" + "As Ad\n";
+    try (GameStateReader reader = new GameStateReader(new StringReader(input))) {
+      try {
+        reader.next();
+      } catch (CardFormatException e) {
+        // Expected
+      }
+
+      GameState next = reader.next();
+
+      assertThat(next.getPockets()[0], is(notNullValue()));
+      assertThat(reader.getCount(), equalTo(2));
+    }
+  }
+}
@@ -5,6 +5,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import org.junit.After;
@@ -108,16 +109,12 @@ public class GameStateTest {
     // Set up
     GameState game = new GameState();
     game.setBoard(new Board(cardA, cardB, cardC));
-    final Card expectedFlopCard1 = new Card(cardA);
     // Exercise
-    // Attempt to modify board card
     Board board = game.getBoard();
-    board.flopCard1.rank = Rank.TWO;
-    board.flopCard1.suit = Suit.CLUBS;
-    assertThat(board.flopCard1, not(expectedFlopCard1)); // guard assertion
     // Verify
-    assertThat(game.getBoard(), is(notNullValue()));
-    assertThat(game.getBoard().flopCard1, is(expectedFlopCard1));
+    // Cards are immutable, so copies of the board share them
+    assertThat(board, not(sameInstance(game.getBoard())));
+    assertThat(board.flopCard1, is(sameInstance(game.getBoard().flopCard1)));
   }
 
   @Test
@@ -175,6 +172,18 @@ public class GameStateTest {
     assertThat(pockets[9], equalTo(expectedPocket));
   }
 
+  @Test
+  public void testGetPlayerCount_countsUnknownPockets() {
+    // Set up
+    GameState game = new GameState();
+    // Exercise
+    game.setPocketForPlayer(0, new Pocket(cardA, cardB));
+    game.setPocketForPlayer(1, null);
+    game.setPocketForPlayer(2, null);
+    // Verify
+    assertThat(game.getPlayerCount(), is(3));
+  }
+
   @Test
   public void testGetPocket_readOnly1() {
     // Set up
@@ -206,13 +215,11 @@ public class GameStateTest {
     // Set up
     GameState game = new GameState();
     game.setPocketForPlayer(0, new Pocket(cardA, cardB));
-    final Card expectedCard1 = new Card(cardA);
     // Exercise
-    // Attempt to modify pocket card
     Pocket pocket = game.getPockets()[0];
-    pocket.card1.rank = Rank.NINE;
-    pocket.card1.suit = Suit.DIAMONDS;
     // Verify
-    assertThat(game.getPockets()[0].card1, is(expectedCard1));
+    // Cards are immutable, so copies of the pocket share them
+    assertThat(pocket, not(sameInstance(game.getPockets()[0])));
+    assertThat(pocket.card1, is(sameInstance(game.getPockets()[0].card1)));
   }
 }
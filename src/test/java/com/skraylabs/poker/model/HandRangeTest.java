@@ -0,0 +1,155 @@
+package com.skraylabs.poker.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class HandRangeTest {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void parsesPairsAndHandClasses() throws RangeFormatException {
+    assertThat(HandRange.parse("QQ").size(), equalTo(6));
+    assertThat(HandRange.parse("AKs").size(), equalTo(4));
+    assertThat(HandRange.parse("AKo").size(), equalTo(12));
+    assertThat(HandRange.parse("AK").size(), equalTo(16));
+    assertThat(HandRange.parse("KA").size(), equalTo(16));
+  }
+
+  @Test
+  public void parsesPlusRanges() throws RangeFormatException {
+    // QQ, KK, AA
+    assertThat(HandRange.parse("QQ+").size(), equalTo(18));
+    // ATs, AJs, AQs, AKs
+    assertThat(HandRange.parse("ATs+").size(), equalTo(16));
+    assertThat(HandRange.parse("AA+").size(), equalTo(6));
+  }
+
+  @Test
+  public void parsesDashRanges() throws RangeFormatException {
+    // QQ, JJ, TT, 99
+    assertThat(HandRange.parse("QQ-99").size(), equalTo(24));
+    assertThat(HandRange.parse("99-QQ").size(), equalTo(24));
+    // KTo, K9o, K8o
+    assertThat(HandRange.parse("KTo-K8o").size(), equalTo(36));
+    // 76s, 65s, 54s
+    assertThat(HandRange.parse("76s-54s").size(), equalTo(12));
+    // AKs, KQs, QJs
+    assertThat(HandRange.parse("AKs-QJs").size(), equalTo(12));
+  }
+
+  @Test
+  public void parsesSpecificCombo() throws RangeFormatException, CardFormatException {
+    HandRange range = HandRange.parse("AsKs");
+
+    long expected = CardSet.parse("As Ks");
+    assertThat(range.size(), equalTo(1));
+    assertThat(range.getCombo(0), equalTo(expected));
+    assertThat(range.getWeight(0), equalTo(HandRange.WEIGHT_UNITS));
+  }
+
+  @Test
+  public void parsesListWithWeights() throws RangeFormatException {
+    HandRange range = HandRange.parse(" QQ+, AKs, KQo:0.5, 76s-54s ");
+
+    assertThat(range.size(), equalTo(18 + 4 + 12 + 12));
+    assertThat(range.getWeightedSize(), equalTo(18.0 + 4.0 + 6.0 + 12.0));
+  }
+
+  @Test
+  public void laterWeightOfComboWins() throws RangeFormatException {
+    HandRange range = HandRange.parse("AA, AsAh:0, AdAc:0.25");
+
+    assertThat(range.size(), equalTo(5));
+    assertThat(range.getWeightedSize(), equalTo(4.25));
+  }
+
+  @Test
+  public void withoutRemovesCombosHoldingCards() throws RangeFormatException, CardFormatException {
+    HandRange range = HandRange.parse("AA, KK");
+
+    HandRange result = range.without(CardSet.of(CardFactory.createCardFromString("As")));
+
+    assertThat(result.size(), equalTo(9));
+    assertThat(range.size(), equalTo(12));
+  }
+
+  @Test
+  public void ofHoldsSingleCombo() throws CardFormatException {
+    long pocket = CardSet.parse("2c 7d");
+
+    HandRange range = HandRange.of(pocket);
+
+    assertThat(range.getCombos(), equalTo(new long[] {pocket}));
+    assertThat(range.getWeights(), equalTo(new int[] {HandRange.WEIGHT_UNITS}));
+  }
+
+  @Test
+  public void givenUnknownSuffixThrowsException() throws RangeFormatException {
+    exception.expect(RangeFormatException.class);
+    exception.expectMessage(String.format(RangeFormatException.MSG_WITH_INVALID_STRING, "AKx"));
+
+    HandRange.parse("QQ+, AKx");
+  }
+
+  @Test
+  public void givenSuitedPairThrowsException() throws RangeFormatException {
+    exception.expect(RangeFormatException.class);
+
+    HandRange.parse("AAs");
+  }
+
+  @Test
+  public void givenMismatchedDashRangeThrowsException() throws RangeFormatException {
+    exception.expect(RangeFormatException.class);
+
+    HandRange.parse("AKs-QTs");
+  }
+
+  @Test
+  public void givenWeightAboveOneThrowsException() throws RangeFormatException {
+    exception.expect(RangeFormatException.class);
+
+    HandRange.parse("AKs:2");
+  }
+
+  @Test
+  public void givenRepeatedCardThrowsException() throws RangeFormatException {
+    exception.expect(RangeFormatException.class);
+
+    HandRange.parse("AsAs");
+  }
+
+  @Test
+  public void givenEmptyRangeThrowsException() throws RangeFormatException {
+    exception.expect(RangeFormatException.class);
+
+    HandRange.parse("AA:0");
+  }
+
+  @Test
+  public void givenNullThrowsException() throws RangeFormatException {
+    exception.expect(RangeFormatException.class);
+    exception.expectMessage(RangeFormatException.MSG_DEFAULT);
+
+    HandRange.parse(null);
+  }
+
+  @Test
+  public void givenTrailingCommaThrowsException() throws RangeFormatException {
+    exception.expect(RangeFormatException.class);
+
+    HandRange.parse("AA,");
+  }
+
+  @Test
+  public void weightedSizeCountsWeights() throws RangeFormatException {
+    assertThat(HandRange.parse("AA:0.5").getWeightedSize(), is(3.0));
+  }
+}
@@ -0,0 +1,52 @@
+package com.skraylabs.poker.model;
+
+import static com.skraylabs.poker.model.PokerFormatExceptionTest.assertMessageAndInvalidString;
+
+import org.junit.Test;
+
+public class RangeFormatExceptionTest {
+
+  @Test
+  public void testDefaultConstructor() {
+    // Exercise
+    RangeFormatException exception = new RangeFormatException();
+    // Verify
+    assertMessageAndInvalidString(exception, RangeFormatException.MSG_DEFAULT, null);
+  }
+
+  @Test
+  public void testInitializingConstructor() {
+    // Exercise
+    RangeFormatException exception = new RangeFormatException("AKx");
+    // Verify
+    String expectedMessage = String.format(RangeFormatException.MSG_WITH_INVALID_STRING, "AKx");
+    assertMessageAndInvalidString(exception, expectedMessage, "AKx");
+  }
+
+  @Test
+  public void testInitializingConstructor_nullInvalidString() {
+    // Exercise
+    RangeFormatException exception = new RangeFormatException(null);
+    // Verify
+    assertMessageAndInvalidString(exception, RangeFormatException.MSG_DEFAULT, null);
+  }
+
+  @Test
+  public void testInitializingConstructor_emptyInvalidString() {
+    // Exercise
+    RangeFormatException exception = new RangeFormatException("");
+    // Verify
+    String expectedMessage = String.format(RangeFormatException.MSG_WITH_INVALID_STRING, "");
+    assertMessageAndInvalidString(exception, expectedMessage, "");
+  }
+
+  @Test
+  public void testInitializingConstructor_blankInvalidString() {
+    // Exercise
+    RangeFormatException exception = new RangeFormatException(" ");
+    // Verify
+    String expectedMessage = String.format(RangeFormatException.MSG_WITH_INVALID_STRING, " ");
+    assertMessageAndInvalidString(exception, expectedMessage, " ");
+  }
+
+}
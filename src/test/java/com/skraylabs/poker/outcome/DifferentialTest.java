@@ -0,0 +1,191 @@
+package com.skraylabs.poker.outcome;
+
+import static org.junit.Assert.assertTrue;
+
+import com.skraylabs.poker.model.Card;
+import com.skraylabs.poker.model.CardFactory;
+import com.skraylabs.poker.model.CardSet;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Differential tests of every fast outcome evaluator against the reference predicates,
+ * {@link OutcomeChecker#hasOutcome(Outcome)}.
+ *
+ * <p>
+ * Each evaluator is run on every 5-card hand, and on a seeded sample of 6- and 7-card hands. An
+ * evaluator that reports every outcome a hand contains must agree with the reference on every
+ * {@link Outcome#flag()}; one that reports only a hand's category must agree on the strongest
+ * outcome. To test a new evaluator, add it to {@link #evaluators()}.
+ */
+@RunWith(Parameterized.class)
+public class DifferentialTest {
+
+  private static final int SAMPLE_SIZE = 500000;
+  private static final int MAX_REPORTED_MISMATCHES = 20;
+  private static final Outcome[] OUTCOMES = Outcome.values();
+
+  /**
+   * Evaluators under test. Each one maps a {@link CardSet} to a bitmask of {@link Outcome#flag()}
+   * values.
+   *
+   * @return name, evaluator, and whether the evaluator reports every outcome rather than only the
+   *         strongest one
+   */
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> evaluators() {
+    LongToIntFunction outcomeFlags = OutcomeChecker::outcomeFlags;
+    LongToIntFunction checkerFlags = cards -> new OutcomeChecker(cards).getOutcomeFlags();
+    LongToIntFunction handEvaluator = DifferentialTest::handEvaluatorFlags;
+    return Arrays.asList(new Object[][] {
+        {"OutcomeChecker.outcomeFlags", outcomeFlags, true},
+        {"OutcomeChecker.getOutcomeFlags", checkerFlags, true},
+        {"HandEvaluator", handEvaluator, false}});
+  }
+
+  private final LongToIntFunction evaluator;
+  private final boolean reportsEveryOutcome;
+  private final List<String> mismatches = new ArrayList<>();
+  private long mismatchCount;
+
+  /**
+   * Initializing constructor.
+   *
+   * @param name name of the evaluator, for reports
+   * @param evaluator evaluator under test
+   * @param reportsEveryOutcome whether to compare every outcome rather than the strongest one
+   */
+  public DifferentialTest(String name, LongToIntFunction evaluator, boolean reportsEveryOutcome) {
+    this.evaluator = evaluator;
+    this.reportsEveryOutcome = reportsEveryOutcome;
+  }
+
+  @Test
+  public void everyFiveCardHandAgrees() {
+    for (int a = 0; a < CardSet.DECK_SIZE; ++a) {
+      for (int b = a + 1; b < CardSet.DECK_SIZE; ++b) {
+        for (int c = b + 1; c < CardSet.DECK_SIZE; ++c) {
+          for (int d = c + 1; d < CardSet.DECK_SIZE; ++d) {
+            for (int e = d + 1; e < CardSet.DECK_SIZE; ++e) {
+              compare((1L << a) | (1L << b) | (1L << c) | (1L << d) | (1L << e));
+            }
+          }
+        }
+      }
+    }
+
+    assertNoMismatches();
+  }
+
+  @Test
+  public void sampledSixCardHandsAgree() {
+    compareSample(6, 6);
+
+    assertNoMismatches();
+  }
+
+  @Test
+  public void sampledSevenCardHandsAgree() {
+    compareSample(7, 7);
+
+    assertNoMismatches();
+  }
+
+  /**
+   * Helper method that compares the evaluator with the reference on random hands.
+   *
+   * @param handSize number of cards in each hand
+   * @param seed seed of the sample
+   */
+  private void compareSample(int handSize, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    for (int i = 0; i < SAMPLE_SIZE; ++i) {
+      long cards = CardSet.EMPTY;
+      while (CardSet.size(cards) < handSize) {
+        cards |= 1L << random.nextInt(CardSet.DECK_SIZE);
+      }
+      compare(cards);
+    }
+  }
+
+  /**
+   * Helper method that compares the evaluator with the reference on one hand, and records a
+   * mismatch.
+   *
+   * @param cards {@link CardSet} of the hand
+   */
+  private void compare(long cards) {
+    int expected = referenceFlags(cards);
+    int actual = evaluator.applyAsInt(cards);
+    boolean agrees = reportsEveryOutcome ? actual == expected
+        : Integer.highestOneBit(actual) == Integer.highestOneBit(expected);
+    if (!agrees) {
+      if (++mismatchCount <= MAX_REPORTED_MISMATCHES) {
+        mismatches.add(String.format("%s: expected %s but was %s", cardStrings(cards),
+            outcomeNames(expected), outcomeNames(actual)));
+      }
+    }
+  }
+
+  private void assertNoMismatches() {
+    assertTrue(String.format("%d mismatches, including:%n%s", mismatchCount,
+        String.join(System.lineSeparator(), mismatches)), mismatchCount == 0);
+  }
+
+  /**
+   * Helper method that checks a hand for every outcome with the reference predicates.
+   *
+   * @param cards {@link CardSet} of the hand
+   * @return bitmask of {@link Outcome#flag()} values, one for each outcome that is present
+   */
+  private static int referenceFlags(long cards) {
+    OutcomeChecker checker = new OutcomeChecker(cards);
+    int result = 0;
+    for (Outcome outcome : OUTCOMES) {
+      if (checker.hasOutcome(outcome)) {
+        result |= outcome.flag();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Helper method that adapts {@link HandEvaluator} to report its category as a flag.
+   *
+   * @param cards {@link CardSet} of the hand
+   * @return {@link Outcome#flag()} of the hand's category; 0 for a High Card
+   */
+  private static int handEvaluatorFlags(long cards) {
+    Outcome outcome = HandEvaluator.outcomeOf(HandEvaluator.evaluate(cards));
+    return outcome == null ? 0 : outcome.flag();
+  }
+
+  private static String cardStrings(long cards) {
+    StringJoiner result = new StringJoiner(" ");
+    for (Card card : CardSet.toCards(cards)) {
+      result.add(CardFactory.createStringFromCard(card));
+    }
+    return result.toString();
+  }
+
+  private static String outcomeNames(int flags) {
+    List<Outcome> result = new ArrayList<>();
+    for (Outcome outcome : OUTCOMES) {
+      if ((flags & outcome.flag()) != 0) {
+        result.add(outcome);
+      }
+    }
+    return result.toString();
+  }
+}
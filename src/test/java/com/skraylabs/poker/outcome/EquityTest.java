@@ -0,0 +1,109 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.BoardFormatException;
+import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.GameStateFactory;
+import com.skraylabs.poker.model.GameStateFormatException;
+import com.skraylabs.poker.model.PocketFormatException;
+
+import org.junit.Test;
+
+public class EquityTest {
+
+  @Test
+  public void givenMadeRoyalFlushReturnsFullEquity() throws BoardFormatException,
+      PocketFormatException, GameStateFormatException, CardFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("Ah Kh Qh Jh 2c\n Th 3d\n As Ad");
+    OutcomeCalculator calculator = new OutcomeCalculator(game);
+
+    Equity[] equities = calculator.equityForAllPlayers();
+
+    assertThat(equities[0].getWinPercentage(), equalTo(1.0));
+    assertThat(equities[0].getPotShare(), equalTo(1.0));
+    assertThat(equities[1].getWinPercentage(), equalTo(0.0));
+    assertThat(equities[1].getPotShare(), equalTo(0.0));
+  }
+
+  @Test
+  public void givenBoardPlaysForEveryoneReturnsSplitPot() throws BoardFormatException,
+      PocketFormatException, GameStateFormatException, CardFormatException {
+    GameState game =
+        GameStateFactory.createGameStateFromString("Ah Kh Qh Jh Th\n 2c 3d\n 4c 5d\n 6c 7d");
+    OutcomeCalculator calculator = new OutcomeCalculator(game);
+
+    Equity[] equities = calculator.equityForAllPlayers();
+
+    for (int i = 0; i < 3; ++i) {
+      assertThat(equities[i].getWins(), equalTo(0L));
+      assertThat(equities[i].getTiePercentage(), equalTo(1.0));
+      assertThat(equities[i].getPotShare(), equalTo(1.0 / 3.0));
+    }
+  }
+
+  @Test
+  public void givenTwoOutsOnTheTurnReturnsCorrectEquity() throws BoardFormatException,
+      PocketFormatException, GameStateFormatException, CardFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("2c 7d 9h Ks\n As Ah\n Kd Kc");
+    OutcomeCalculator calculator = new OutcomeCalculator(game);
+
+    Equity[] equities = calculator.equityForAllPlayers();
+
+    assertThat(equities[0].getCountTotal(), equalTo(44L));
+    assertThat(equities[0].getWins(), equalTo(2L));
+    assertThat(equities[1].getWins(), equalTo(42L));
+    assertThat(equities[0].getTies(), equalTo(0L));
+  }
+
+  @Test
+  public void potSharesOfAllPlayersSumToOne() throws BoardFormatException,
+      PocketFormatException, GameStateFormatException, CardFormatException {
+    GameState game =
+        GameStateFactory.createGameStateFromString("8s 9s 2d\n Ts Js\n 8h 8d\n Ac 9c\n 5c 6c");
+    OutcomeCalculator calculator = new OutcomeCalculator(game);
+
+    Equity[] equities = calculator.equityForAllPlayers();
+
+    double sum = 0;
+    for (int i = 0; i < 4; ++i) {
+      assertThat(equities[i].getCountTotal(), equalTo(820L));
+      sum += equities[i].getPotShare();
+    }
+    assertThat(Math.abs(sum - 1.0) < 1e-9, is(true));
+  }
+
+  @Test
+  public void playersWithoutPocketsHaveNoEquity() throws BoardFormatException,
+      PocketFormatException, GameStateFormatException, CardFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("2c 7d 9h Ks\n As Ah\n Kd Kc");
+    OutcomeCalculator calculator = new OutcomeCalculator(game);
+
+    Equity[] equities = calculator.equityForAllPlayers();
+
+    assertThat(equities.length, is(GameState.MAX_PLAYERS));
+    for (int i = 2; i < GameState.MAX_PLAYERS; ++i) {
+      assertThat(equities[i], is(nullValue()));
+    }
+  }
+
+  @Test
+  public void parallelEquityMatchesSequentialEquity() throws BoardFormatException,
+      PocketFormatException, GameStateFormatException, CardFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("\n As Kd\n Qh Qc\n 7s 6s");
+
+    Equity[] expected = new OutcomeCalculator(game).equityForAllPlayers();
+    Equity[] equities = new OutcomeCalculator(game, 4).equityForAllPlayers();
+
+    for (int i = 0; i < 3; ++i) {
+      assertThat(equities[i].getCountTotal(), equalTo(expected[i].getCountTotal()));
+      assertThat(equities[i].getWins(), equalTo(expected[i].getWins()));
+      assertThat(equities[i].getTies(), equalTo(expected[i].getTies()));
+      assertThat(equities[i].getPotShare(), equalTo(expected[i].getPotShare()));
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.CardSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.BitSet;
+import java.util.Random;
+
+public class HandEvaluatorTest {
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  private static Outcome strongestOutcome(long cards) {
+    int flags = OutcomeChecker.outcomeFlags(cards);
+    Outcome result = null;
+    for (Outcome outcome : Outcome.values()) {
+      if ((flags & outcome.flag()) != 0) {
+        result = outcome;
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void royalFlushIsStrongest() throws CardFormatException {
+    int strength = HandEvaluator.evaluate(CardSet.parse("As Ks Qs Js Ts"));
+
+    assertThat(strength, is(HandEvaluator.HAND_STRENGTHS));
+  }
+
+  @Test
+  public void sevenHighIsWeakest() throws CardFormatException {
+    int strength = HandEvaluator.evaluate(CardSet.parse("7s 5h 4d 3c 2s"));
+
+    assertThat(strength, is(1));
+  }
+
+  @Test
+  public void sixHighStraightBeatsWheel() throws CardFormatException {
+    int wheel = HandEvaluator.evaluate(CardSet.parse("5s 4h 3d 2c As"));
+    int sixHigh = HandEvaluator.evaluate(CardSet.parse("6s 5h 4d 3c 2s"));
+
+    assertThat(sixHigh > wheel, is(true));
+  }
+
+  @Test
+  public void kickerBreaksTie() throws CardFormatException {
+    int kingKicker = HandEvaluator.evaluate(CardSet.parse("As Ah Kd 7c 2s"));
+    int queenKicker = HandEvaluator.evaluate(CardSet.parse("Ac Ad Qd 7h 2h"));
+
+    assertThat(kingKicker > queenKicker, is(true));
+  }
+
+  @Test
+  public void equivalentHandsTie() throws CardFormatException {
+    int spades = HandEvaluator.evaluate(CardSet.parse("Ks Kh 9s 9h 3s 2d 4c"));
+    int clubs = HandEvaluator.evaluate(CardSet.parse("Kc Kd 9c 9d 3d 2h 4s"));
+
+    assertThat(spades, equalTo(clubs));
+  }
+
+  @Test
+  public void everyFiveCardHandFallsIntoOneOfTheStrengthClasses() {
+    BitSet strengths = new BitSet();
+    for (int a = 0; a < CardSet.DECK_SIZE; ++a) {
+      for (int b = a + 1; b < CardSet.DECK_SIZE; ++b) {
+        for (int c = b + 1; c < CardSet.DECK_SIZE; ++c) {
+          for (int d = c + 1; d < CardSet.DECK_SIZE; ++d) {
+            for (int e = d + 1; e < CardSet.DECK_SIZE; ++e) {
+              long cards = (1L << a) | (1L << b) | (1L << c) | (1L << d) | (1L << e);
+              strengths.set(HandEvaluator.evaluate(cards));
+            }
+          }
+        }
+      }
+    }
+
+    assertThat(strengths.cardinality(), is(HandEvaluator.HAND_STRENGTHS));
+    assertThat(strengths.nextSetBit(0), is(1));
+  }
+
+  @Test
+  public void sevenCardHandIsRankedByBestFiveCards() {
+    Random random = new Random(7462);
+    for (int i = 0; i < 10000; ++i) {
+      long cards = CardSet.EMPTY;
+      while (CardSet.size(cards) < HandEvaluator.MAX_HAND_SIZE) {
+        cards |= 1L << random.nextInt(CardSet.DECK_SIZE);
+      }
+      // Drop each pair of cards in turn
+      int best = 0;
+      for (long first = cards; first != 0; first &= first - 1) {
+        for (long second = first & (first - 1); second != 0; second &= second - 1) {
+          long fiveCards = cards & ~Long.lowestOneBit(first) & ~Long.lowestOneBit(second);
+          best = Math.max(best, HandEvaluator.evaluate(fiveCards));
+        }
+      }
+
+      assertThat(HandEvaluator.evaluate(cards), is(best));
+    }
+  }
+
+  @Test
+  public void outcomeAgreesWithOutcomeChecker() {
+    Random random = new Random(9);
+    for (int i = 0; i < 100000; ++i) {
+      long cards = CardSet.EMPTY;
+      int size = HandEvaluator.MIN_HAND_SIZE + i % 3;
+      while (CardSet.size(cards) < size) {
+        cards |= 1L << random.nextInt(CardSet.DECK_SIZE);
+      }
+
+      Outcome outcome = HandEvaluator.outcomeOf(HandEvaluator.evaluate(cards));
+
+      assertThat(outcome, is(strongestOutcome(cards)));
+    }
+  }
+
+  @Test
+  public void highCardHasNoOutcome() throws CardFormatException {
+    int strength = HandEvaluator.evaluate(CardSet.parse("Ks Jh 9d 4c 2s"));
+
+    Outcome outcome = HandEvaluator.outcomeOf(strength);
+
+    assertThat(outcome, is(nullValue()));
+  }
+
+  @Test
+  public void tooFewCardsCausesException() throws CardFormatException {
+    exception.expect(IllegalArgumentException.class);
+
+    HandEvaluator.evaluate(CardSet.parse("As Ks Qs Js"));
+  }
+
+  @Test
+  public void tooManyCardsCausesException() throws CardFormatException {
+    exception.expect(IllegalArgumentException.class);
+
+    HandEvaluator.evaluate(CardSet.parse("As Ks Qs Js Ts 9s 8s 7s"));
+  }
+
+  @Test
+  public void outOfRangeStrengthCausesException() {
+    exception.expect(IllegalArgumentException.class);
+
+    HandEvaluator.outcomeOf(HandEvaluator.HAND_STRENGTHS + 1);
+  }
+}
@@ -0,0 +1,134 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.CompactGameState;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.GameStateFactory;
+import com.skraylabs.poker.model.PokerFormatException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class OpponentEquityCalculatorTest {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void countsUnknownPocketsAsOpponents() throws PokerFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("\nAs Ad\n\n2c 3c\n\n");
+
+    OpponentEquityCalculator calculator = new OpponentEquityCalculator(game, 0L);
+
+    assertThat(calculator.getOpponents(), equalTo(2));
+  }
+
+  @Test
+  public void givenNoOpponentsReturnsSameEquityAsCalculator() throws PokerFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("2c 7d 9h\nAs Ah\nKd Kc");
+    CompactGameState state = CompactGameState.fromGameState(game);
+    OpponentEquityCalculator calculator = new OpponentEquityCalculator(state, 0,
+        OpponentEquityCalculator.DEFAULT_EXACT_LIMIT, 1L, 0L);
+
+    Equity[] equities = calculator.equityForKnownPlayers();
+    Equity[] expected = new OutcomeCalculator(game).equityForAllPlayers();
+
+    assertThat(calculator.isExact(), is(true));
+    for (int i = 0; i < 2; ++i) {
+      assertThat(equities[i].getWins(), equalTo(expected[i].getWins()));
+      assertThat(equities[i].getTies(), equalTo(expected[i].getTies()));
+      assertThat(equities[i].getCountTotal(), equalTo(expected[i].getCountTotal()));
+      assertThat(equities[i].getPotShare(), equalTo(expected[i].getPotShare()));
+    }
+    assertThat(equities[2], is(nullValue()));
+  }
+
+  @Test
+  public void givenBoardPlaysForEveryoneSplitsPotWithEveryOpponent() throws PokerFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("Ah Kh Qh Jh Th\n2c 3d\n\n\n");
+    OpponentEquityCalculator calculator = new OpponentEquityCalculator(game, 0L);
+
+    Equity[] equities = calculator.equityForKnownPlayers();
+
+    // Every pair of distinct pockets from the 45 undealt cards
+    assertThat(calculator.isExact(), is(true));
+    assertThat(equities[0].getCountTotal(), equalTo(990L * 903L / 2L));
+    assertThat(equities[0].getTiePercentage(), equalTo(1.0));
+    assertThat(equities[0].getPotShare(), equalTo(1.0 / 3.0));
+  }
+
+  @Test
+  public void givenRiverCountsEveryOpponentPocket() throws PokerFormatException {
+    // Player 1 has a Four Of A Kind; only the Straight Flush 9h Th (or Th 9h) beats it
+    GameState game = GameStateFactory.createGameStateFromString("As Ad Jh Qh Kh\nAc Ah\n");
+    OpponentEquityCalculator calculator = new OpponentEquityCalculator(
+        CompactGameState.fromGameState(game), 1, OpponentEquityCalculator.DEFAULT_EXACT_LIMIT, 1L,
+        0L);
+
+    Equity[] equities = calculator.equityForKnownPlayers();
+
+    assertThat(equities[0].getCountTotal(), equalTo(990L));
+    assertThat(equities[0].getWins(), equalTo(989L));
+    assertThat(equities[0].getTies(), equalTo(0L));
+  }
+
+  @Test
+  public void sampledEquityIsCloseToExactEquity() throws PokerFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("Js Tc 4h\n9s 8s\n");
+    CompactGameState state = CompactGameState.fromGameState(game);
+    OpponentEquityCalculator exact = new OpponentEquityCalculator(state, 1,
+        OpponentEquityCalculator.DEFAULT_EXACT_LIMIT, 1L, 0L);
+    OpponentEquityCalculator sampled = new OpponentEquityCalculator(state, 1, 0L, 200000L, 7L);
+
+    assertThat(exact.isExact(), is(true));
+    assertThat(sampled.isExact(), is(false));
+
+    Equity exactEquity = exact.equityForKnownPlayers()[0];
+    Equity sampledEquity = sampled.equityForKnownPlayers()[0];
+
+    assertThat(sampledEquity.getCountTotal(), equalTo(200000L));
+    assertThat(Math.abs(sampledEquity.getPotShare() - exactEquity.getPotShare()) < 0.01,
+        is(true));
+  }
+
+  @Test
+  public void givenPocketAcesPreflopSamplesKnownEquity() throws PokerFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("\nAs Ad\n\n");
+    OpponentEquityCalculator calculator = new OpponentEquityCalculator(game, 11L);
+
+    Equity equity = calculator.equityForKnownPlayers()[0];
+
+    // Pocket Aces take about 85.2% of the pot against one random hand
+    assertThat(calculator.isExact(), is(false));
+    assertThat(Math.abs(equity.getPotShare() - 0.852) < 0.005, is(true));
+  }
+
+  @Test
+  public void samplingIsSeeded() throws PokerFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("\nKs Qs\n");
+    CompactGameState state = CompactGameState.fromGameState(game);
+
+    Equity first = new OpponentEquityCalculator(state, 2, 0L, 10000L, 3L)
+        .equityForKnownPlayers()[0];
+    Equity second = new OpponentEquityCalculator(state, 2, 0L, 10000L, 3L)
+        .equityForKnownPlayers()[0];
+
+    assertThat(first.getWins(), equalTo(second.getWins()));
+    assertThat(first.getTies(), equalTo(second.getTies()));
+  }
+
+  @Test
+  public void givenTooManyPlayersThrowsException() throws PokerFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("\nKs Qs\n2c 2d");
+    CompactGameState state = CompactGameState.fromGameState(game);
+    exception.expect(IllegalArgumentException.class);
+    exception.expectMessage("Parameter \"opponents\" must be in range [0, 8].");
+
+    new OpponentEquityCalculator(state, 9, 0L, 1L, 0L);
+  }
+}
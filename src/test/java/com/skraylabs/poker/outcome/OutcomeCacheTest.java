@@ -0,0 +1,147 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.BoardFormatException;
+import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.CompactGameState;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.GameStateFactory;
+import com.skraylabs.poker.model.GameStateFormatException;
+import com.skraylabs.poker.model.PocketFormatException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class OutcomeCacheTest {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  private static CompactGameState createState(String input) throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    return CompactGameState.fromGameState(GameStateFactory.createGameStateFromString(input));
+  }
+
+  @Test
+  public void negativeByteBudgetCausesException() {
+    exception.expect(IllegalArgumentException.class);
+
+    new OutcomeCache(-1);
+  }
+
+  @Test
+  public void cachedResultsEqualCalculatedResults() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("Ah Kd 7h\n" + "Qh Jh\n" + "7s 7c");
+    List<Map<Outcome, Double>> expected = new OutcomeCalculator(game).allOutcomesForAllPlayers();
+    OutcomeCache cache = new OutcomeCache(OutcomeCache.DEFAULT_BYTE_BUDGET);
+
+    List<Map<Outcome, Double>> miss =
+        cache.allOutcomesForAllPlayers(CompactGameState.fromGameState(game));
+    List<Map<Outcome, Double>> hit =
+        cache.allOutcomesForAllPlayers(CompactGameState.fromGameState(game));
+
+    assertThat(miss, equalTo(expected));
+    assertThat(hit, equalTo(expected));
+    assertThat(cache.getMissCount(), equalTo(1L));
+    assertThat(cache.getHitCount(), equalTo(1L));
+  }
+
+  @Test
+  public void relabeledSuitsAreAHit() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    OutcomeCache cache = new OutcomeCache(OutcomeCache.DEFAULT_BYTE_BUDGET);
+    List<Map<Outcome, Double>> first =
+        cache.allOutcomesForAllPlayers(createState("Ah Kd 7h\n" + "Qh Jh\n" + "7s 7c"));
+
+    List<Map<Outcome, Double>> second =
+        cache.allOutcomesForAllPlayers(createState("As Kc 7s\n" + "Qs Js\n" + "7d 7h"));
+
+    assertThat(second, equalTo(first));
+    assertThat(cache.getHitCount(), equalTo(1L));
+    assertThat(cache.getEntryCount(), equalTo(1));
+  }
+
+  @Test
+  public void changingAResultDoesNotChangeTheCache() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    OutcomeCache cache = new OutcomeCache(OutcomeCache.DEFAULT_BYTE_BUDGET);
+    CompactGameState state = createState("Ah Kd 7h\n" + "Qh Jh");
+
+    cache.allOutcomesForAllPlayers(state).get(0).put(Outcome.FLUSH, 2.0);
+
+    assertThat(cache.allOutcomesForAllPlayers(state).get(0).get(Outcome.FLUSH) <= 1.0, is(true));
+  }
+
+  @Test
+  public void leastRecentlyUsedEntryIsEvicted() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    long entryBytes = OutcomeCache.ENTRY_BYTES + OutcomeCache.PLAYER_BYTES;
+    OutcomeCache cache = new OutcomeCache(2 * entryBytes);
+    CompactGameState first = createState("Ah Kd 7h 2c 3c\n" + "Qh Jh");
+    CompactGameState second = createState("Ah Kd 7h 2c 4c\n" + "Qh Jh");
+    CompactGameState third = createState("Ah Kd 7h 2c 5c\n" + "Qh Jh");
+
+    cache.allOutcomesForAllPlayers(first);
+    cache.allOutcomesForAllPlayers(second);
+    cache.allOutcomesForAllPlayers(first);
+    cache.allOutcomesForAllPlayers(third);
+    cache.allOutcomesForAllPlayers(first);
+    cache.allOutcomesForAllPlayers(second);
+
+    assertThat(cache.getHitCount(), equalTo(2L));
+    assertThat(cache.getMissCount(), equalTo(4L));
+    assertThat(cache.getEvictionCount(), equalTo(2L));
+    assertThat(cache.getEntryCount(), equalTo(2));
+    assertThat(cache.getByteCount(), equalTo(2 * entryBytes));
+  }
+
+  @Test
+  public void zeroByteBudgetCachesNothing() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    OutcomeCache cache = new OutcomeCache(0);
+    CompactGameState state = createState("Ah Kd 7h 2c 3c\n" + "Qh Jh");
+
+    cache.allOutcomesForAllPlayers(state);
+    cache.allOutcomesForAllPlayers(state);
+
+    assertThat(cache.getMissCount(), equalTo(2L));
+    assertThat(cache.getEntryCount(), equalTo(0));
+    assertThat(cache.getByteCount(), equalTo(0L));
+  }
+
+  @Test
+  public void cacheCanBeSharedBetweenThreads() throws Exception {
+    OutcomeCache cache = new OutcomeCache(OutcomeCache.DEFAULT_BYTE_BUDGET);
+    // One game under four suit relabelings
+    String[] games = {"Ah Kd 7h 2c\n" + "Qh Jh\n" + "\n" + "9d 9s",
+        "As Kc 7s 2d\n" + "Qs Js\n" + "\n" + "9c 9h", "Ad Kh 7d 2s\n" + "Qd Jd\n" + "\n" + "9h 9c",
+        "Ac Ks 7c 2h\n" + "Qc Jc\n" + "\n" + "9s 9d"};
+    ExecutorService threads = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<List<Map<Outcome, Double>>>> results = new ArrayList<>();
+      for (int i = 0; i < 40; ++i) {
+        String game = games[i % games.length];
+        results.add(threads.submit(() -> cache.allOutcomesForAllPlayers(createState(game))));
+      }
+
+      for (Future<List<Map<Outcome, Double>>> result : results) {
+        assertThat(result.get(), equalTo(results.get(0).get()));
+      }
+      assertThat(cache.getHitCount() + cache.getMissCount(), equalTo(40L));
+    } finally {
+      threads.shutdown();
+    }
+  }
+}
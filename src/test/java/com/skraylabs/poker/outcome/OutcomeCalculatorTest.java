@@ -3,13 +3,18 @@ package com.skraylabs.poker.outcome;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import com.skraylabs.poker.model.BoardFormatException;
 import com.skraylabs.poker.model.Card;
+import com.skraylabs.poker.model.CardFactory;
 import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.CardSet;
 import com.skraylabs.poker.model.CardUtils;
+import com.skraylabs.poker.model.CompactGameState;
 import com.skraylabs.poker.model.GameState;
 import com.skraylabs.poker.model.GameStateFactory;
 import com.skraylabs.poker.model.GameStateFormatException;
@@ -24,7 +29,9 @@ import org.junit.rules.ExpectedException;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 
 public class OutcomeCalculatorTest {
@@ -142,6 +149,24 @@ public class OutcomeCalculatorTest {
     assertThat(probabilities.get(Outcome.TWO_OF_A_KIND), is(notNullValue()));
   }
 
+  @Test
+  public void allPlayersOutcomesMatchEachPlayersOutcomes() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    GameState state = GameStateFactory
+        .createGameStateFromString("Ah Kh Qh\n" + "2d 7c\n" + "7h 7d\n" + "Ad Kc\n" + "8c 8d");
+    OutcomeCalculator calculator = new OutcomeCalculator(state);
+
+    List<Map<Outcome, Double>> probabilities = calculator.allOutcomesForAllPlayers();
+
+    assertThat(probabilities.size(), equalTo(GameState.MAX_PLAYERS));
+    for (int i = 0; i < 4; ++i) {
+      assertThat(probabilities.get(i), equalTo(calculator.allOutcomesForAPlayer(i)));
+    }
+    for (int i = 4; i < GameState.MAX_PLAYERS; ++i) {
+      assertThat(probabilities.get(i), is(nullValue()));
+    }
+  }
+
   @Test
   public void tenChooseTwoYieldsFortyFiveCombinations() {
     Card[] cards = new Card[15];
@@ -169,4 +194,128 @@ public class OutcomeCalculatorTest {
     WinLossCounter count = counts.get(arbitraryOutcome);
     assertThat(count.getCountTotal(), equalTo(45));
   }
+
+  @Test
+  public void enumeratingDeckArrayCountsEveryCombinationOnce() {
+    long[] deck = OutcomeCalculator.makeDeckOfUndealtCards(CardSet.FULL_DECK & ~0x3FFL);
+    int outcomes = Outcome.TWO_OF_A_KIND.flag() | Outcome.FLUSH.flag();
+    long[] wins = new long[Outcome.values().length];
+
+    long total = OutcomeCalculator.countOutcomes(outcomes, 0L, deck, 0, 5, wins);
+
+    // 10 Spades (Ace to Five) choose 5
+    assertThat(total, equalTo(252L));
+    assertThat(wins[Outcome.FLUSH.ordinal()], equalTo(252L));
+    assertThat(wins[Outcome.TWO_OF_A_KIND.ordinal()], equalTo(0L));
+  }
+
+  @Test
+  public void givenPocketPairEveryBoardMakesTwoOfAKind() {
+    long pocket = 0x1L | (0x1L << CardSet.RANKS_PER_SUIT);
+    long[] deck = OutcomeCalculator.makeDeckOfUndealtCards(pocket);
+    long[] wins = new long[Outcome.values().length];
+
+    long total = OutcomeCalculator.countOutcomes(Outcome.TWO_OF_A_KIND.flag(), pocket, deck, 0, 5,
+        wins);
+
+    // 50 choose 5
+    assertThat(total, equalTo(2118760L));
+    assertThat(wins[Outcome.TWO_OF_A_KIND.ordinal()], equalTo(total));
+  }
+
+  @Test
+  public void countingOneOutcomeMatchesCountingAllOutcomes() {
+    long hand = 0x3L | (0x1L << (2 * CardSet.RANKS_PER_SUIT + 4))
+        | (0x1L << (3 * CardSet.RANKS_PER_SUIT + 9));
+    long[] deck = OutcomeCalculator.makeDeckOfUndealtCards(hand);
+    int allOutcomes = (1 << Outcome.values().length) - 1;
+    long[] allWins = new long[Outcome.values().length];
+    OutcomeCalculator.countOutcomes(allOutcomes, hand, deck, 0, 3, allWins);
+
+    for (Outcome outcome : Outcome.values()) {
+      long[] wins = new long[Outcome.values().length];
+
+      OutcomeCalculator.countOutcomes(outcome.flag(), hand, deck, 0, 3, wins);
+
+      assertThat(wins[outcome.ordinal()], equalTo(allWins[outcome.ordinal()]));
+    }
+  }
+
+  @Test
+  public void nonPositiveParallelismCausesException() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    exception.expect(IllegalArgumentException.class);
+    GameState state = GameStateFactory.createGameStateFromString("Ah Kh Qh\n" + "2d 7c");
+
+    new OutcomeCalculator(state, 0);
+  }
+
+  @Test
+  public void parallelOutcomesMatchSequentialOutcomes() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    // A flop board, so that outcomes are enumerated rather than looked up in PreflopOutcomes
+    GameState state = GameStateFactory.createGameStateFromString("Js Tc 4h\n" + "9s 8s");
+    OutcomeCalculator sequential = new OutcomeCalculator(state);
+    OutcomeCalculator parallel = new OutcomeCalculator(state, 4);
+
+    Map<Outcome, Double> expected = sequential.allOutcomesForAPlayer(0);
+    Map<Outcome, Double> probabilities = parallel.allOutcomesForAPlayer(0);
+
+    assertThat(probabilities, equalTo(expected));
+  }
+
+  @Test
+  public void calculatorsOfTheSameParallelismShareAPool() {
+    assertThat(ParallelEnumeration.poolFor(3), is(sameInstance(ParallelEnumeration.poolFor(3))));
+    assertThat(ParallelEnumeration.poolFor(3).getParallelism(), is(3));
+  }
+
+  @Test
+  public void parallelOutcomesForAllPlayersMatchSequentialOutcomes() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    GameState state =
+        GameStateFactory.createGameStateFromString("\n" + "2d 7c\n" + "7h 7d\n" + "Ad Kc");
+    OutcomeCalculator sequential = new OutcomeCalculator(state);
+    OutcomeCalculator parallel = new OutcomeCalculator(state, 3);
+
+    List<Map<Outcome, Double>> expected = sequential.allOutcomesForAllPlayers();
+    List<Map<Outcome, Double>> probabilities = parallel.allOutcomesForAllPlayers();
+
+    assertThat(probabilities, equalTo(expected));
+  }
+
+  @Test
+  public void interruptedCalculationIsAbandoned() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    GameState state =
+        GameStateFactory.createGameStateFromString("Js Tc 4h\n" + "9s 8s\n" + "Ad Kc");
+    for (int parallelism : new int[] {1, 3}) {
+      OutcomeCalculator calculator = new OutcomeCalculator(state, parallelism);
+      boolean cancelled = false;
+
+      Thread.currentThread().interrupt();
+      try {
+        calculator.allOutcomesForAllPlayers();
+      } catch (CancellationException e) {
+        cancelled = true;
+      }
+      boolean interrupted = Thread.interrupted();
+
+      assertThat(cancelled, is(true));
+      assertThat(interrupted, is(true));
+    }
+  }
+
+  @Test
+  public void deadCardsAreNeverDealt() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("Ah Kh Qh Jh\n" + "2d 7c");
+    long tenOfHearts = CardSet.of(CardFactory.createCardFromString("Th"));
+    CompactGameState state = CompactGameState.fromGameState(game).withDeadCards(tenOfHearts);
+
+    Map<Outcome, Double> probabilities = new OutcomeCalculator(state).allOutcomesForAPlayer(0);
+
+    assertThat(probabilities.get(Outcome.ROYAL_FLUSH), equalTo(0.0));
+    assertThat(probabilities.get(Outcome.FLUSH), equalTo(8.0 / 45.0));
+  }
 }
@@ -4,6 +4,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import com.skraylabs.poker.model.Card;
+import com.skraylabs.poker.model.CardSet;
 import com.skraylabs.poker.model.Rank;
 import com.skraylabs.poker.model.Suit;
 import com.skraylabs.poker.outcome.OutcomeChecker;
@@ -13,9 +14,13 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Random;
 
 public class OutcomeCheckerTest {
 
+  private static final int ALL_OUTCOMES = (1 << Outcome.values().length) - 1;
+
   private Collection<Card> cards;
   private OutcomeChecker checker;
 
@@ -387,4 +392,173 @@ public class OutcomeCheckerTest {
 
     assertThat(result, is(true));
   }
+
+  /* CardSet constructor test methods */
+
+  @Test
+  public void givenCardSetHasOutcomeMatchesCollectionChecker() {
+    cards.add(new Card(Rank.SEVEN, Suit.HEARTS));
+    cards.add(new Card(Rank.SEVEN, Suit.SPADES));
+    cards.add(new Card(Rank.SEVEN, Suit.CLUBS));
+    cards.add(new Card(Rank.FOUR, Suit.HEARTS));
+    cards.add(new Card(Rank.FOUR, Suit.DIAMONDS));
+    cards.add(new Card(Rank.SIX, Suit.HEARTS));
+    cards.add(new Card(Rank.FIVE, Suit.HEARTS));
+    checker = new OutcomeChecker(cards);
+    OutcomeChecker cardSetChecker = new OutcomeChecker(CardSet.fromCards(cards));
+
+    for (Outcome outcome : Outcome.values()) {
+      assertThat(cardSetChecker.hasOutcome(outcome), is(checker.hasOutcome(outcome)));
+    }
+  }
+
+  @Test
+  public void givenFourOfAKindWithoutPairHasFullHouseReturnsFalse() {
+    cards.add(new Card(Rank.NINE, Suit.CLUBS));
+    cards.add(new Card(Rank.NINE, Suit.SPADES));
+    cards.add(new Card(Rank.NINE, Suit.HEARTS));
+    cards.add(new Card(Rank.NINE, Suit.DIAMONDS));
+    cards.add(new Card(Rank.KING, Suit.CLUBS));
+    checker = new OutcomeChecker(cards);
+
+    boolean result = checker.hasFullHouse();
+
+    assertThat(result, is(false));
+  }
+
+  /* getOutcomeFlags() test methods */
+
+  @Test
+  public void givenRoyalFlushOutcomeFlagsIncludeImpliedOutcomes() {
+    cards.add(new Card(Rank.ACE, Suit.CLUBS));
+    cards.add(new Card(Rank.KING, Suit.CLUBS));
+    cards.add(new Card(Rank.QUEEN, Suit.CLUBS));
+    cards.add(new Card(Rank.JACK, Suit.CLUBS));
+    cards.add(new Card(Rank.TEN, Suit.CLUBS));
+    checker = new OutcomeChecker(cards);
+
+    int flags = checker.getOutcomeFlags();
+
+    int expectedFlags = Outcome.ROYAL_FLUSH.flag() | Outcome.STRAIGHT_FLUSH.flag()
+        | Outcome.FLUSH.flag() | Outcome.STRAIGHT.flag();
+    assertThat(flags, is(expectedFlags));
+  }
+
+  @Test
+  public void givenFullHouseOutcomeFlagsIncludeImpliedOutcomes() {
+    cards.add(new Card(Rank.ACE, Suit.CLUBS));
+    cards.add(new Card(Rank.ACE, Suit.SPADES));
+    cards.add(new Card(Rank.ACE, Suit.HEARTS));
+    cards.add(new Card(Rank.EIGHT, Suit.CLUBS));
+    cards.add(new Card(Rank.EIGHT, Suit.DIAMONDS));
+    cards.add(new Card(Rank.TWO, Suit.CLUBS));
+    checker = new OutcomeChecker(cards);
+
+    int flags = checker.getOutcomeFlags();
+
+    int expectedFlags = Outcome.FULL_HOUSE.flag() | Outcome.THREE_OF_A_KIND.flag()
+        | Outcome.TWO_PAIR.flag() | Outcome.TWO_OF_A_KIND.flag();
+    assertThat(flags, is(expectedFlags));
+  }
+
+  @Test
+  public void outcomeFlagsAgreeWithEachPredicate() {
+    cards.add(new Card(Rank.NINE, Suit.HEARTS));
+    cards.add(new Card(Rank.EIGHT, Suit.HEARTS));
+    cards.add(new Card(Rank.SEVEN, Suit.HEARTS));
+    cards.add(new Card(Rank.SIX, Suit.HEARTS));
+    cards.add(new Card(Rank.FIVE, Suit.SPADES));
+    cards.add(new Card(Rank.FIVE, Suit.CLUBS));
+    cards.add(new Card(Rank.TWO, Suit.HEARTS));
+    checker = new OutcomeChecker(cards);
+
+    int flags = checker.getOutcomeFlags();
+
+    for (Outcome outcome : Outcome.values()) {
+      assertThat((flags & outcome.flag()) != 0, is(checker.hasOutcome(outcome)));
+    }
+  }
+
+  /* reachableFlags() test methods */
+
+  @Test
+  public void givenOneCardToAddRoyalFlushIsOnlyReachableWithItsMissingCard() {
+    cards.add(new Card(Rank.ACE, Suit.HEARTS));
+    cards.add(new Card(Rank.KING, Suit.HEARTS));
+    cards.add(new Card(Rank.QUEEN, Suit.HEARTS));
+    cards.add(new Card(Rank.JACK, Suit.HEARTS));
+    long hand = CardSet.fromCards(cards);
+    long tenOfHearts = CardSet.fromCards(Collections.singleton(new Card(Rank.TEN, Suit.HEARTS)));
+    long available = CardSet.FULL_DECK & ~hand;
+
+    int withTen = OutcomeChecker.reachableFlags(hand, available, 1, Outcome.ROYAL_FLUSH.flag());
+    int withoutTen = OutcomeChecker.reachableFlags(hand, available & ~tenOfHearts, 1,
+        Outcome.ROYAL_FLUSH.flag());
+
+    assertThat(withTen, is(Outcome.ROYAL_FLUSH.flag()));
+    assertThat(withoutTen, is(0));
+  }
+
+  @Test
+  public void givenTwoCardsToAddFourOfAKindNeedsAPair() {
+    cards.add(new Card(Rank.ACE, Suit.HEARTS));
+    cards.add(new Card(Rank.KING, Suit.HEARTS));
+    cards.add(new Card(Rank.QUEEN, Suit.CLUBS));
+    long hand = CardSet.fromCards(cards);
+    long available = CardSet.FULL_DECK & ~hand;
+
+    int flags = OutcomeChecker.reachableFlags(hand, available, 2, Outcome.FOUR_OF_A_KIND.flag());
+    cards.add(new Card(Rank.ACE, Suit.SPADES));
+    long pairedHand = CardSet.fromCards(cards);
+    int pairedFlags = OutcomeChecker.reachableFlags(pairedHand, available & ~pairedHand, 2,
+        Outcome.FOUR_OF_A_KIND.flag());
+
+    assertThat(flags, is(0));
+    assertThat(pairedFlags, is(Outcome.FOUR_OF_A_KIND.flag()));
+  }
+
+  @Test
+  public void reachableFlagsIncludeOutcomesAlreadyMade() {
+    cards.add(new Card(Rank.ACE, Suit.HEARTS));
+    cards.add(new Card(Rank.ACE, Suit.CLUBS));
+    cards.add(new Card(Rank.ACE, Suit.SPADES));
+    long hand = CardSet.fromCards(cards);
+
+    int flags = OutcomeChecker.reachableFlags(hand, CardSet.EMPTY, 0, ALL_OUTCOMES);
+
+    assertThat(flags, is(OutcomeChecker.outcomeFlags(hand)));
+  }
+
+  @Test
+  public void reachableFlagsOnlyChecksRequestedOutcomes() {
+    long hand = CardSet.EMPTY;
+    long available = CardSet.FULL_DECK;
+
+    int flags = OutcomeChecker.reachableFlags(hand, available, 5,
+        Outcome.FLUSH.flag() | Outcome.TWO_PAIR.flag());
+
+    assertThat(flags, is(Outcome.FLUSH.flag() | Outcome.TWO_PAIR.flag()));
+  }
+
+  @Test
+  public void reachableFlagsNeverLeaveOutAnOutcomeThatIsMade() {
+    Random random = new Random(8);
+    for (int i = 0; i < 2000; ++i) {
+      long held = CardSet.EMPTY;
+      while (CardSet.size(held) < 2 + i % 6) {
+        held |= 1L << random.nextInt(CardSet.DECK_SIZE);
+      }
+      int cardsToAdd = 7 - CardSet.size(held);
+      long hand = held;
+      while (CardSet.size(hand) < 7) {
+        hand |= 1L << random.nextInt(CardSet.DECK_SIZE);
+      }
+
+      int flags = OutcomeChecker.reachableFlags(held, CardSet.FULL_DECK & ~held, cardsToAdd,
+          ALL_OUTCOMES);
+
+      int made = OutcomeChecker.outcomeFlags(hand);
+      assertThat(made & ~flags, is(0));
+    }
+  }
 }
@@ -0,0 +1,142 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.BoardFormatException;
+import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.GameStateFactory;
+import com.skraylabs.poker.model.GameStateFormatException;
+import com.skraylabs.poker.model.PocketFormatException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.List;
+import java.util.Map;
+
+public class OutcomeSamplerTest {
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void negativeStandardErrorCausesException() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    exception.expect(IllegalArgumentException.class);
+    GameState state = GameStateFactory.createGameStateFromString("Ah Kh Qh\n" + "2d 7c");
+
+    new OutcomeSampler(state, -0.01, 1000, 1);
+  }
+
+  @Test
+  public void zeroSampleBudgetCausesException() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    exception.expect(IllegalArgumentException.class);
+    GameState state = GameStateFactory.createGameStateFromString("Ah Kh Qh\n" + "2d 7c");
+
+    new OutcomeSampler(state, 0.01, 0, 1);
+  }
+
+  @Test
+  public void givenCompleteBoardEstimatesAreExact() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    GameState state = GameStateFactory.createGameStateFromString("Ah Kh Qh Jh Jd\n" + "2d 7c");
+    OutcomeSampler sampler = new OutcomeSampler(state, 1);
+
+    Map<Outcome, Estimate> estimates = sampler.estimatesForAPlayer(0);
+
+    assertThat(estimates.get(Outcome.TWO_OF_A_KIND).getSampleCount(), equalTo(1L));
+    assertThat(estimates.get(Outcome.TWO_OF_A_KIND).getProbability(), equalTo(1.0));
+    assertThat(estimates.get(Outcome.FLUSH).getProbability(), equalTo(0.0));
+  }
+
+  @Test
+  public void samplingStopsAtTheBudget() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    GameState state = GameStateFactory.createGameStateFromString("\n" + "9s 8s");
+    OutcomeSampler sampler = new OutcomeSampler(state, 0, 5000, 1);
+
+    Map<Outcome, Estimate> estimates = sampler.estimatesForAPlayer(0);
+
+    assertThat(estimates.get(Outcome.STRAIGHT).getSampleCount(), equalTo(5000L));
+  }
+
+  @Test
+  public void samplingStopsAtTheTargetStandardError() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    GameState state = GameStateFactory.createGameStateFromString("\n" + "9s 8s");
+    OutcomeSampler sampler = new OutcomeSampler(state, 0.005, 10000000L, 1);
+
+    Map<Outcome, Estimate> estimates = sampler.estimatesForAPlayer(0);
+
+    long samples = estimates.get(Outcome.STRAIGHT).getSampleCount();
+    assertThat(samples < 10000000L, is(true));
+    for (Estimate estimate : estimates.values()) {
+      assertThat(estimate.getStandardError() <= 0.005, is(true));
+    }
+  }
+
+  @Test
+  public void estimatesAgreeWithExactProbabilities() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    GameState state = GameStateFactory.createGameStateFromString("8s 9s 2d\n" + "Ts Js");
+    Map<Outcome, Double> exact = new OutcomeCalculator(state).allOutcomesForAPlayer(0);
+    OutcomeSampler sampler = new OutcomeSampler(state, 0.002, 10000000L, 42);
+
+    Map<Outcome, Estimate> estimates = sampler.estimatesForAPlayer(0);
+
+    for (Outcome outcome : Outcome.values()) {
+      // Five standard errors, so that a correct sampler essentially never fails
+      Estimate estimate = estimates.get(outcome);
+      double error = Math.abs(estimate.getProbability() - exact.get(outcome));
+      assertThat(error <= 5 * Math.max(estimate.getStandardError(), 0.001), is(true));
+    }
+  }
+
+  @Test
+  public void sameSeedGivesSameEstimates() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    GameState state = GameStateFactory.createGameStateFromString("\n" + "As Kd\n" + "7h 7c");
+
+    List<Map<Outcome, Double>> first = new OutcomeSampler(state, 0.01, 100000, 7)
+        .allOutcomesForAllPlayers();
+    List<Map<Outcome, Double>> second = new OutcomeSampler(state, 0.01, 100000, 7)
+        .allOutcomesForAllPlayers();
+
+    assertThat(first, equalTo(second));
+    assertThat(first.get(2), is(nullValue()));
+  }
+
+  @Test
+  public void enginesAreInterchangeable() throws CardFormatException, BoardFormatException,
+      PocketFormatException, GameStateFormatException {
+    GameState state = GameStateFactory.createGameStateFromString("Ah Kh Qh Jh\n" + "Th 7c");
+    OutcomeEngine exact = new OutcomeCalculator(state);
+    OutcomeEngine sampled = new OutcomeSampler(state, 1);
+
+    double exactRoyalFlush = exact.allOutcomesForAPlayer(0).get(Outcome.ROYAL_FLUSH);
+    double sampledRoyalFlush = sampled.allOutcomesForAPlayer(0).get(Outcome.ROYAL_FLUSH);
+
+    assertThat(sampledRoyalFlush, equalTo(exactRoyalFlush));
+  }
+
+  @Test
+  public void confidenceIntervalContainsEstimate() {
+    Estimate estimate = new Estimate(30, 1000);
+
+    assertThat(estimate.getLowerBound() < 0.03, is(true));
+    assertThat(estimate.getUpperBound() > 0.03, is(true));
+  }
+
+  @Test
+  public void confidenceIntervalOfUnseenEventIsNotEmpty() {
+    Estimate estimate = new Estimate(0, 1000);
+
+    assertThat(estimate.getLowerBound(), equalTo(0.0));
+    assertThat(estimate.getUpperBound() > 0, is(true));
+  }
+}
@@ -0,0 +1,104 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.CardSet;
+import com.skraylabs.poker.model.GameStateFactory;
+import com.skraylabs.poker.model.PokerFormatException;
+
+import org.junit.Test;
+
+public class PreflopEquitiesTest {
+
+  @Test
+  public void indexOfAPocketIsTheInverseOfPocketOf() {
+    for (int i = 0; i < PreflopEquities.POCKET_COUNT; ++i) {
+      long pocket = PreflopEquities.pocketOf(i);
+
+      assertThat(CardSet.size(pocket), is(2));
+      assertThat(PreflopEquities.indexOf(pocket), is(i));
+    }
+  }
+
+  @Test
+  public void keyIsUnchangedByRelabelingSuits() {
+    // Ace of Spades and King of Hearts against Seven of Spades and Seven of Clubs
+    long pocket = card(0, 0) | card(1, 1);
+    long otherPocket = card(0, 7) | card(3, 7);
+    // Same hands with Spades and Diamonds, and Hearts and Clubs, swapped
+    long relabeled = card(2, 0) | card(3, 1);
+    long otherRelabeled = card(2, 7) | card(1, 7);
+
+    assertThat(PreflopEquities.keyOf(relabeled, otherRelabeled),
+        equalTo(PreflopEquities.keyOf(pocket, otherPocket)));
+  }
+
+  @Test
+  public void swappingPocketsSwapsTheirKey() {
+    long pocket = card(0, 0) | card(1, 1);
+    long otherPocket = card(0, 7) | card(3, 7);
+
+    int key = PreflopEquities.keyOf(pocket, otherPocket);
+    int swappedKey = PreflopEquities.keyOf(otherPocket, pocket);
+
+    assertThat(key < 0 != swappedKey < 0, is(true));
+    assertThat(key < 0 ? -key - 1 : key, equalTo(swappedKey < 0 ? -swappedKey - 1 : swappedKey));
+  }
+
+  @Test
+  public void everyPairOfPocketsFallsIntoOneOfTheClasses() {
+    assertThat(PreflopEquities.keys().length, is(PreflopEquities.CLASS_COUNT));
+  }
+
+  @Test
+  public void tableMatchesEnumeration() {
+    long[][] matchups = {
+        {card(0, 0) | card(2, 0), card(1, 1) | card(1, 2)},
+        {card(0, 0) | card(1, 1), card(0, 7) | card(3, 7)},
+        {card(2, 12) | card(3, 7), card(0, 12) | card(1, 7)},
+        {card(1, 4) | card(1, 5), card(0, 0) | card(3, 0)}};
+    for (long[] hands : matchups) {
+      long[] counts = PreflopEquities.countsFor(hands[0], hands[1]);
+
+      long[] wins = new long[2];
+      long[] ties = new long[2];
+      long[] shares = new long[2];
+      long dealt = hands[0] | hands[1];
+      long total = OutcomeCalculator.countShowdowns(CardSet.EMPTY, hands,
+          OutcomeCalculator.makeDeckOfUndealtCards(dealt), 0, 5,
+          OutcomeCalculator.symmetryOf(dealt, CardSet.EMPTY, hands), wins, ties, shares);
+
+      assertThat(counts, is(notNullValue()));
+      assertThat(total, equalTo(PreflopEquities.BOARD_COUNT));
+      assertThat(counts, equalTo(new long[] {wins[0], wins[1], ties[0]}));
+    }
+  }
+
+  @Test
+  public void calculatorAnswersHeadsUpPreflopFromTable() throws PokerFormatException {
+    Equity[] equities = new OutcomeCalculator(
+        GameStateFactory.createGameStateFromString("\nAs Kd\n7c 7h")).equityForAllPlayers();
+    // Ace of Spades and King of Diamonds against Seven of Clubs and Seven of Hearts
+    long[] counts = PreflopEquities.countsFor(card(0, 0) | card(2, 1), card(3, 7) | card(1, 7));
+
+    for (int i = 0; i < 2; ++i) {
+      assertThat(equities[i].getCountTotal(), equalTo(PreflopEquities.BOARD_COUNT));
+      assertThat(equities[i].getWins(), equalTo(counts[i]));
+      assertThat(equities[i].getTies(), equalTo(counts[2]));
+    }
+    assertThat(equities[0].getPotShare() + equities[1].getPotShare(), equalTo(1.0));
+  }
+
+  /**
+   * Helper method that makes the {@link CardSet} of one card.
+   *
+   * @param suit {@link com.skraylabs.poker.model.Suit#ordinal()}
+   * @param rank {@link com.skraylabs.poker.model.Rank#ordinal()}
+   */
+  private static long card(int suit, int rank) {
+    return 1L << (suit * CardSet.RANKS_PER_SUIT + rank);
+  }
+}
@@ -0,0 +1,89 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.BoardFormatException;
+import com.skraylabs.poker.model.CardFormatException;
+import com.skraylabs.poker.model.CardSet;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.GameStateFactory;
+import com.skraylabs.poker.model.GameStateFormatException;
+import com.skraylabs.poker.model.PocketFormatException;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+public class PreflopOutcomesTest {
+
+  @Test
+  public void everyPocketFallsIntoOneOfTheStartingHandClasses() {
+    int[] pockets = new int[PreflopOutcomes.CLASS_COUNT];
+    for (int first = 0; first < CardSet.DECK_SIZE; ++first) {
+      for (int second = first + 1; second < CardSet.DECK_SIZE; ++second) {
+        ++pockets[PreflopOutcomes.classOf((1L << first) | (1L << second))];
+      }
+    }
+
+    int pairs = 0;
+    int suited = 0;
+    int offsuit = 0;
+    for (int count : pockets) {
+      pairs += count == 6 ? 1 : 0;
+      suited += count == 4 ? 1 : 0;
+      offsuit += count == 12 ? 1 : 0;
+    }
+    assertThat(pairs, is(13));
+    assertThat(suited, is(78));
+    assertThat(offsuit, is(78));
+  }
+
+  @Test
+  public void pocketOfAClassFallsIntoThatClass() {
+    for (int i = 0; i < PreflopOutcomes.CLASS_COUNT; ++i) {
+      assertThat(PreflopOutcomes.classOf(PreflopOutcomes.pocketOf(i)), is(i));
+    }
+  }
+
+  @Test
+  public void tableMatchesEnumeration() {
+    for (int i = 0; i < PreflopOutcomes.CLASS_COUNT; i += 17) {
+      long[] wins = PreflopOutcomes.winsFor(PreflopOutcomes.pocketOf(i));
+
+      assertThat(wins, is(notNullValue()));
+      assertThat(wins, equalTo(PreflopOutcomes.count(i)));
+    }
+  }
+
+  @Test
+  public void suitsOfAPocketDoNotChangeItsCounts() {
+    // Seven of Clubs and Two of Diamonds, enumerated without any suit symmetry
+    long pocket = (1L << (3 * CardSet.RANKS_PER_SUIT + 7))
+        | (1L << (2 * CardSet.RANKS_PER_SUIT + 12));
+    long[] wins = new long[Outcome.values().length];
+    long total = OutcomeCalculator.countOutcomes((1 << Outcome.values().length) - 1, pocket,
+        OutcomeCalculator.makeDeckOfUndealtCards(pocket), 0, 5, wins);
+
+    assertThat(total, equalTo(PreflopOutcomes.BOARD_COUNT));
+    assertThat(PreflopOutcomes.winsFor(pocket), equalTo(wins));
+  }
+
+  @Test
+  public void calculatorAnswersLonePocketFromTable() throws CardFormatException,
+      BoardFormatException, PocketFormatException, GameStateFormatException {
+    GameState state = GameStateFactory.createGameStateFromString("\n" + "Kh Qh");
+    // King and Queen of Hearts
+    long pocket = (1L << (CardSet.RANKS_PER_SUIT + 1)) | (1L << (CardSet.RANKS_PER_SUIT + 2));
+    long[] wins = PreflopOutcomes.count(PreflopOutcomes.classOf(pocket));
+
+    Map<Outcome, Double> probabilities = new OutcomeCalculator(state).allOutcomesForAPlayer(0);
+
+    for (Outcome outcome : Outcome.values()) {
+      double expected = ((double) wins[outcome.ordinal()]) / PreflopOutcomes.BOARD_COUNT;
+      assertThat(probabilities.get(outcome), equalTo(expected));
+    }
+  }
+}
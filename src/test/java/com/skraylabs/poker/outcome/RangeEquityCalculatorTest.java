@@ -0,0 +1,146 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.CardSet;
+import com.skraylabs.poker.model.CompactGameState;
+import com.skraylabs.poker.model.GameState;
+import com.skraylabs.poker.model.GameStateFactory;
+import com.skraylabs.poker.model.HandRange;
+import com.skraylabs.poker.model.PokerFormatException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class RangeEquityCalculatorTest {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void givenTwoHandsReturnsSameEquityAsCalculator() throws PokerFormatException {
+    GameState game = GameStateFactory.createGameStateFromString("2c 7d 9h\nAs Ah\nKd Kc");
+    CompactGameState state = CompactGameState.fromGameState(game);
+    RangeEquityCalculator calculator = new RangeEquityCalculator(game.getBoard(), 0L);
+
+    Equity[] equities = calculator.equity(HandRange.of(state.getPocket(0)), state.getPocket(1));
+    Equity[] expected = new OutcomeCalculator(game).equityForAllPlayers();
+
+    long units = (long) HandRange.WEIGHT_UNITS * HandRange.WEIGHT_UNITS;
+    for (int i = 0; i < 2; ++i) {
+      assertThat(equities[i].getWins(), equalTo(expected[i].getWins() * units));
+      assertThat(equities[i].getTies(), equalTo(expected[i].getTies() * units));
+      assertThat(equities[i].getCountTotal(), equalTo(expected[i].getCountTotal() * units));
+    }
+  }
+
+  @Test
+  public void givenRangesReturnsWeightedSumOfEveryPairOfCombos() throws PokerFormatException {
+    long board = CardSet.parse("Qs 7d 2c");
+    HandRange hero = HandRange.parse("AA, KK:0.5, Q7s, AsQh");
+    HandRange villain = HandRange.parse("QQ, 77:0.25, AKs, KcKd");
+    RangeEquityCalculator calculator = new RangeEquityCalculator(board, CardSet.EMPTY,
+        RangeEquityCalculator.DEFAULT_EXACT_LIMIT, 1L, 0L);
+
+    Equity[] equities = calculator.equity(hero, villain);
+
+    // Settle every pair of combos on its own
+    long wins = 0;
+    long ties = 0;
+    long shares = 0;
+    long total = 0;
+    for (int i = 0; i < hero.size(); ++i) {
+      for (int j = 0; j < villain.size(); ++j) {
+        long pockets = hero.getCombo(i) | villain.getCombo(j);
+        if (CardSet.size(pockets) < 4 || (pockets & board) != 0) {
+          continue;
+        }
+        CompactGameState state = CompactGameState.of(board,
+            new long[] {hero.getCombo(i), villain.getCombo(j)}, CardSet.EMPTY);
+        Equity equity = new OutcomeCalculator(state).equityForAllPlayers()[0];
+        long weight = (long) hero.getWeight(i) * villain.getWeight(j);
+        wins += weight * equity.getWins();
+        ties += weight * equity.getTies();
+        shares += weight * Math.round(equity.getPotShare() * equity.getCountTotal()
+            * Equity.SHARE_UNITS);
+        total += weight * equity.getCountTotal();
+      }
+    }
+    assertThat(calculator.isExact(hero, villain), is(true));
+    assertThat(equities[0].getWins(), equalTo(wins));
+    assertThat(equities[0].getTies(), equalTo(ties));
+    assertThat(equities[0].getCountTotal(), equalTo(total));
+    assertThat(equities[0].getPotShare(), equalTo(((double) shares) / Equity.SHARE_UNITS / total));
+    assertThat(equities[1].getWins(), equalTo(total - wins - ties));
+  }
+
+  @Test
+  public void potSharesAddUpToOne() throws PokerFormatException {
+    RangeEquityCalculator calculator = new RangeEquityCalculator(CardSet.parse("Ah Th 5c 2d"),
+        CardSet.EMPTY, RangeEquityCalculator.DEFAULT_EXACT_LIMIT, 1L, 0L);
+
+    Equity[] equities =
+        calculator.equity(HandRange.parse("22+, A2s+, KQ"), HandRange.parse("TT+, AT+, 54s"));
+
+    assertThat(Math.abs(equities[0].getPotShare() + equities[1].getPotShare() - 1.0) < 1e-9,
+        is(true));
+  }
+
+  @Test
+  public void sampledEquityIsCloseToExactEquity() throws PokerFormatException {
+    long board = CardSet.parse("Js Tc 4h");
+    HandRange hero = HandRange.parse("QQ+, AK, 98s");
+    HandRange villain = HandRange.parse("JJ-88, AJs+, KQ");
+    RangeEquityCalculator exact = new RangeEquityCalculator(board, CardSet.EMPTY,
+        RangeEquityCalculator.DEFAULT_EXACT_LIMIT, 1L, 0L);
+    RangeEquityCalculator sampled =
+        new RangeEquityCalculator(board, CardSet.EMPTY, 0L, 200000L, 5L);
+    assertThat(exact.isExact(hero, villain), is(true));
+    assertThat(sampled.isExact(hero, villain), is(false));
+
+    double exactShare = exact.equity(hero, villain)[0].getPotShare();
+    Equity sampledEquity = sampled.equity(hero, villain)[0];
+
+    assertThat(sampledEquity.getCountTotal(), equalTo(200000L));
+    assertThat(Math.abs(sampledEquity.getPotShare() - exactShare) < 0.01, is(true));
+  }
+
+  @Test
+  public void givenPreflopRangesSamplesKnownEquity() throws PokerFormatException {
+    RangeEquityCalculator calculator = new RangeEquityCalculator(CardSet.EMPTY, CardSet.EMPTY,
+        RangeEquityCalculator.DEFAULT_EXACT_LIMIT, 400000L, 9L);
+    HandRange aces = HandRange.parse("AA");
+    HandRange kings = HandRange.parse("KK");
+
+    Equity equity = calculator.equity(aces, kings)[0];
+
+    // Aces take about 82% of the pot against Kings
+    assertThat(calculator.isExact(aces, kings), is(false));
+    assertThat(Math.abs(equity.getPotShare() - 0.82) < 0.01, is(true));
+  }
+
+  @Test
+  public void deadCardsRemoveCombos() throws PokerFormatException {
+    long board = CardSet.parse("2c 7d 9h Ks 3s");
+    RangeEquityCalculator calculator = new RangeEquityCalculator(board, CardSet.parse("Ac Ad Ah"),
+        RangeEquityCalculator.DEFAULT_EXACT_LIMIT, 1L, 0L);
+
+    // Three Aces are dead, so no combo of Aces is left
+    exception.expect(IllegalArgumentException.class);
+
+    calculator.equity(HandRange.parse("AA"), HandRange.parse("QQ"));
+  }
+
+  @Test
+  public void givenConflictingHandsThrowsException() throws PokerFormatException {
+    RangeEquityCalculator calculator = new RangeEquityCalculator(CardSet.parse("2c 7d 9h"),
+        CardSet.EMPTY, RangeEquityCalculator.DEFAULT_EXACT_LIMIT, 1L, 0L);
+    exception.expect(IllegalArgumentException.class);
+
+    calculator.equity(HandRange.parse("AsKs"), CardSet.parse("As Qd"));
+  }
+
+}
@@ -0,0 +1,111 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+public class SevenCardTableTest {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Tear down test fixture.
+   */
+  @After
+  public void tearDown() {
+    SevenCardTable.unload();
+  }
+
+  @Test
+  public void firstAndLastHandsHaveFirstAndLastRanks() {
+    long first = (1L << SevenCardTable.HAND_SIZE) - 1;
+    long last = first << (52 - SevenCardTable.HAND_SIZE);
+
+    assertThat(SevenCardTable.rankOf(first), is(0));
+    assertThat(SevenCardTable.rankOf(last), is(SevenCardTable.HAND_COUNT - 1));
+  }
+
+  @Test
+  public void nextHandHasNextRank() {
+    Random random = new Random(5);
+    for (int i = 0; i < 1000; ++i) {
+      long cards = randomHand(random);
+      long next = SevenCardTable.nextHand(cards);
+
+      assertThat(Long.bitCount(next), is(SevenCardTable.HAND_SIZE));
+      assertThat(next > cards, is(true));
+      assertThat(SevenCardTable.rankOf(next), is(SevenCardTable.rankOf(cards) + 1));
+    }
+  }
+
+  @Test
+  public void withoutTableHandsAreComputed() {
+    Random random = new Random(6);
+    for (int i = 0; i < 1000; ++i) {
+      long cards = randomHand(random);
+
+      assertThat(SevenCardTable.isLoaded(), is(false));
+      assertThat(SevenCardTable.outcomeFlags(cards), equalTo(OutcomeChecker.outcomeFlags(cards)));
+      assertThat(SevenCardTable.evaluate(cards), equalTo(HandEvaluator.evaluate(cards)));
+    }
+  }
+
+  @Test
+  public void loadedTableIsReadForSevenCardHands() throws IOException {
+    Random random = new Random(7);
+    long written = randomHand(random);
+    // Sparse file of the size of a table, holding a single entry
+    File file = folder.newFile("seven-card-table.bin");
+    try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+      output.setLength(SevenCardTable.HAND_COUNT * 4L);
+      output.seek(SevenCardTable.rankOf(written) * 4L);
+      output.writeInt(SevenCardTable.entryOf(written));
+    }
+
+    SevenCardTable.load(file.getPath());
+
+    assertThat(SevenCardTable.isLoaded(), is(true));
+    assertThat(SevenCardTable.outcomeFlags(written), equalTo(OutcomeChecker.outcomeFlags(written)));
+    assertThat(SevenCardTable.evaluate(written), equalTo(HandEvaluator.evaluate(written)));
+    // The blank entry shows that the hand was looked up rather than computed
+    long unwritten = randomHand(random);
+    assertThat(SevenCardTable.evaluate(unwritten), is(0));
+    // Hands of other sizes are still computed
+    long sixCards = unwritten & (unwritten - 1);
+    assertThat(SevenCardTable.evaluate(sixCards), equalTo(HandEvaluator.evaluate(sixCards)));
+  }
+
+  @Test
+  public void givenFileOfWrongSizeThrowsException() throws IOException {
+    File file = folder.newFile("short-table.bin");
+    exception.expect(IOException.class);
+
+    SevenCardTable.load(file.getPath());
+  }
+
+  /**
+   * Helper method that deals seven random cards.
+   */
+  private static long randomHand(Random random) {
+    long cards = 0;
+    while (Long.bitCount(cards) < SevenCardTable.HAND_SIZE) {
+      cards |= 1L << random.nextInt(52);
+    }
+    return cards;
+  }
+}
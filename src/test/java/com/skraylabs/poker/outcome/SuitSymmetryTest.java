@@ -0,0 +1,100 @@
+package com.skraylabs.poker.outcome;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.skraylabs.poker.model.CardSet;
+import com.skraylabs.poker.model.Rank;
+
+import org.junit.Test;
+
+public class SuitSymmetryTest {
+
+  private static long card(Rank rank, int suit) {
+    return 1L << (suit * CardSet.RANKS_PER_SUIT + rank.ordinal());
+  }
+
+  /**
+   * Helper method that enumerates boards the way {@link OutcomeCalculator} does, and sums their
+   * weights.
+   */
+  private static long countBoards(long cards, long[] deck, int start, int cardsToDeal,
+      SuitSymmetry symmetry) {
+    if (cardsToDeal == 0) {
+      return symmetry.weight(cards);
+    }
+    long total = 0;
+    for (int i = start; i <= deck.length - cardsToDeal; ++i) {
+      if (symmetry.admits(cards, deck[i])) {
+        total += countBoards(cards | deck[i], deck, i + 1, cardsToDeal - 1, symmetry);
+      }
+    }
+    return total;
+  }
+
+  @Test
+  public void noneIsTrivial() {
+    assertThat(SuitSymmetry.NONE.isTrivial(), is(true));
+    assertThat(SuitSymmetry.NONE.weight(CardSet.FULL_DECK), equalTo(1L));
+  }
+
+  @Test
+  public void givenCardsInEverySuitSymmetryIsTrivial() {
+    long cards = card(Rank.ACE, 0) | card(Rank.KING, 1) | card(Rank.QUEEN, 2) | card(Rank.JACK, 3);
+
+    SuitSymmetry symmetry = SuitSymmetry.of(cards);
+
+    assertThat(symmetry.isTrivial(), is(true));
+  }
+
+  @Test
+  public void outOfOrderSuitFieldIsRejected() {
+    SuitSymmetry symmetry = SuitSymmetry.of(CardSet.EMPTY);
+    long spadeKing = card(Rank.KING, 0);
+
+    assertThat(symmetry.admits(spadeKing, card(Rank.ACE, 1)), is(false));
+    assertThat(symmetry.admits(spadeKing, card(Rank.KING, 1)), is(true));
+    assertThat(symmetry.admits(spadeKing, card(Rank.QUEEN, 1)), is(true));
+  }
+
+  @Test
+  public void weightCountsDistinctRelabelings() {
+    SuitSymmetry symmetry = SuitSymmetry.of(CardSet.EMPTY);
+
+    // Four Aces are their own group; one Ace can be any of four
+    long fourAces = card(Rank.ACE, 0) | card(Rank.ACE, 1) | card(Rank.ACE, 2) | card(Rank.ACE, 3);
+    assertThat(symmetry.weight(fourAces), equalTo(1L));
+    assertThat(symmetry.weight(card(Rank.ACE, 0)), equalTo(4L));
+    assertThat(symmetry.weight(card(Rank.ACE, 0) | card(Rank.KING, 1)), equalTo(12L));
+  }
+
+  @Test
+  public void canonicalBoardWeightsSumToEveryBoard() {
+    long pocket = card(Rank.ACE, 0) | card(Rank.KING, 1);
+    long[] deck = OutcomeCalculator.makeDeckOfUndealtCards(pocket);
+
+    long total = countBoards(pocket, deck, 0, 3, SuitSymmetry.of(pocket));
+
+    // 50 choose 3
+    assertThat(total, equalTo(19600L));
+  }
+
+  @Test
+  public void freeSuitsCutEnumeratedBoards() {
+    long pocket = card(Rank.ACE, 0) | card(Rank.KING, 0);
+    long[] deck = OutcomeCalculator.makeDeckOfUndealtCards(pocket);
+    SuitSymmetry symmetry = SuitSymmetry.of(pocket);
+    long[] wins = new long[Outcome.values().length];
+    long[] expectedWins = new long[Outcome.values().length];
+    int outcomes = (1 << Outcome.values().length) - 1;
+
+    long total = OutcomeCalculator.countOutcomes(outcomes, pocket, deck, 0, 3, symmetry, wins);
+    long expectedTotal =
+        OutcomeCalculator.countOutcomes(outcomes, pocket, deck, 0, 3, expectedWins);
+
+    assertThat(symmetry.isTrivial(), is(false));
+    assertThat(total, equalTo(expectedTotal));
+    assertThat(wins, equalTo(expectedWins));
+  }
+}